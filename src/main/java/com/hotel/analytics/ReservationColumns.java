@@ -0,0 +1,307 @@
+package com.hotel.analytics;
+
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReservationStatus;
+import com.hotel.domain.RoomType;
+import com.hotel.storage.OffHeapReservationStore;
+import com.hotel.storage.ReservationView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Immutable struct-of-arrays snapshot of reservations for reporting scans. Each
+// column is a primitive array indexed by row, so filters and aggregates are plain
+// counted loops the JIT can unroll and vectorize. Days are inclusive epoch days.
+public class ReservationColumns {
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+    
+    private final int size;
+    private final long[] ids;
+    private final int[] startDays;
+    private final int[] endDays;
+    private final int[] roomTypeOrdinals;
+    private final byte[] statuses;
+    private final List<RoomType> roomTypes;
+    
+    private ReservationColumns(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.startDays = Arrays.copyOf(builder.startDays, size);
+        this.endDays = Arrays.copyOf(builder.endDays, size);
+        this.roomTypeOrdinals = Arrays.copyOf(builder.roomTypeOrdinals, size);
+        this.statuses = Arrays.copyOf(builder.statuses, size);
+        this.roomTypes = List.copyOf(builder.roomTypes);
+    }
+    
+    // Snapshot of the chain's live and archived reservations. Off-heap records are read
+    // field by field through the store's flyweight, so they cost no heap objects per row.
+    public static ReservationColumns snapshot(HotelChain hotelChain) {
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        List<Reservation> live = hotelChain.getReservations();
+        OffHeapReservationStore store = hotelChain.getArchiveStore();
+        Builder builder = new Builder(live.size() + (store == null ? 0 : store.size()));
+        for (Reservation reservation : live) {
+            builder.add(reservation);
+        }
+        hotelChain.scanArchive(builder::add, new StoredRows(builder));
+        return builder.build();
+    }
+    
+    public static Builder builder(int expectedRows) {
+        return new Builder(expectedRows);
+    }
+    
+    // Filters: each takes an optional input selection (null means every row) and
+    // returns the matching row indexes in ascending order
+    public Selection overlapping(Selection input, int firstDay, int lastDay) {
+        int[] out = new int[input == null ? size : input.size()];
+        int matched = 0;
+        if (input == null) {
+            for (int row = 0; row < size; row++) {
+                out[matched] = row;
+                matched += (startDays[row] <= lastDay & endDays[row] >= firstDay) ? 1 : 0;
+            }
+        } else {
+            int[] rows = input.rows;
+            for (int i = 0; i < input.size; i++) {
+                int row = rows[i];
+                out[matched] = row;
+                matched += (startDays[row] <= lastDay & endDays[row] >= firstDay) ? 1 : 0;
+            }
+        }
+        return new Selection(out, matched);
+    }
+    
+    public Selection withRoomType(Selection input, RoomType roomType) {
+        int ordinal = roomTypeOrdinal(roomType);
+        int[] out = new int[input == null ? size : input.size()];
+        int matched = 0;
+        if (input == null) {
+            for (int row = 0; row < size; row++) {
+                out[matched] = row;
+                matched += roomTypeOrdinals[row] == ordinal ? 1 : 0;
+            }
+        } else {
+            int[] rows = input.rows;
+            for (int i = 0; i < input.size; i++) {
+                int row = rows[i];
+                out[matched] = row;
+                matched += roomTypeOrdinals[row] == ordinal ? 1 : 0;
+            }
+        }
+        return new Selection(out, matched);
+    }
+    
+    public Selection withStatus(Selection input, ReservationStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        byte wanted = (byte) status.ordinal();
+        int[] out = new int[input == null ? size : input.size()];
+        int matched = 0;
+        if (input == null) {
+            for (int row = 0; row < size; row++) {
+                out[matched] = row;
+                matched += statuses[row] == wanted ? 1 : 0;
+            }
+        } else {
+            int[] rows = input.rows;
+            for (int i = 0; i < input.size; i++) {
+                int row = rows[i];
+                out[matched] = row;
+                matched += statuses[row] == wanted ? 1 : 0;
+            }
+        }
+        return new Selection(out, matched);
+    }
+    
+    // Aggregates over whole columns, no selection vector needed
+    public int countOverlapping(int firstDay, int lastDay) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            count += (startDays[row] <= lastDay & endDays[row] >= firstDay) ? 1 : 0;
+        }
+        return count;
+    }
+    
+    public long roomNights() {
+        long nights = 0;
+        for (int row = 0; row < size; row++) {
+            nights += endDays[row] - startDays[row] + 1;
+        }
+        return nights;
+    }
+    
+    public int[] countByStatus() {
+        int[] counts = new int[STATUSES.length];
+        for (int row = 0; row < size; row++) {
+            counts[statuses[row]]++;
+        }
+        return counts;
+    }
+    
+    // Aggregates over a selection
+    public long roomNights(Selection selection) {
+        long nights = 0;
+        int[] rows = selection.rows;
+        for (int i = 0; i < selection.size; i++) {
+            int row = rows[i];
+            nights += endDays[row] - startDays[row] + 1;
+        }
+        return nights;
+    }
+    
+    // Room nights per room type ordinal; see getRoomTypes for the ordinals
+    public long[] roomNightsByRoomType(Selection selection) {
+        long[] nights = new long[roomTypes.size()];
+        int[] rows = selection.rows;
+        for (int i = 0; i < selection.size; i++) {
+            int row = rows[i];
+            nights[roomTypeOrdinals[row]] += endDays[row] - startDays[row] + 1;
+        }
+        return nights;
+    }
+    
+    public int roomTypeOrdinal(RoomType roomType) {
+        return roomTypes.indexOf(roomType);
+    }
+    
+    public ReservationStatus statusAt(int row) {
+        return STATUSES[statuses[row]];
+    }
+    
+    // Getters
+    public int size() { return size; }
+    public long idAt(int row) { return ids[row]; }
+    public int startDayAt(int row) { return startDays[row]; }
+    public int endDayAt(int row) { return endDays[row]; }
+    public RoomType roomTypeAt(int row) { return roomTypes.get(roomTypeOrdinals[row]); }
+    public List<RoomType> getRoomTypes() { return roomTypes; }
+    
+    // Row indexes produced by a filter; only the first size entries are meaningful
+    public static class Selection {
+        private final int[] rows;
+        private final int size;
+        
+        private Selection(int[] rows, int size) {
+            this.rows = rows;
+            this.size = size;
+        }
+        
+        public int size() { return size; }
+        public int rowAt(int i) { return rows[i]; }
+    }
+    
+    public static class Builder {
+        private int size;
+        private long[] ids;
+        private int[] startDays;
+        private int[] endDays;
+        private int[] roomTypeOrdinals;
+        private byte[] statuses;
+        private final List<RoomType> roomTypes;
+        private final Map<RoomType, Integer> ordinals;
+        
+        private Builder(int expectedRows) {
+            if (expectedRows < 0) {
+                throw new IllegalArgumentException("Expected rows cannot be negative");
+            }
+            int capacity = Math.max(expectedRows, 16);
+            this.ids = new long[capacity];
+            this.startDays = new int[capacity];
+            this.endDays = new int[capacity];
+            this.roomTypeOrdinals = new int[capacity];
+            this.statuses = new byte[capacity];
+            this.roomTypes = new ArrayList<>();
+            this.ordinals = new HashMap<>();
+        }
+        
+        public Builder add(Reservation reservation) {
+            if (reservation == null) {
+                throw new IllegalArgumentException("Reservation cannot be null");
+            }
+            return add(OffHeapReservationStore.parseId(reservation.getNumber()),
+                       reservation.getStartDate().epochDay(),
+                       reservation.getEndDate().epochDay(),
+                       reservation.getRoomType(), reservation.getStatus());
+        }
+        
+        public Builder add(long id, int startDay, int endDay, RoomType roomType, ReservationStatus status) {
+            if (roomType == null) throw new IllegalArgumentException("Room type cannot be null");
+            if (status == null) throw new IllegalArgumentException("Status cannot be null");
+            if (startDay > endDay) {
+                throw new IllegalArgumentException("Start date must be before end date");
+            }
+            return addRow(id, startDay, endDay, ordinalOf(roomType), status);
+        }
+        
+        private int ordinalOf(RoomType roomType) {
+            Integer ordinal = ordinals.get(roomType);
+            if (ordinal == null) {
+                ordinal = roomTypes.size();
+                roomTypes.add(roomType);
+                ordinals.put(roomType, ordinal);
+            }
+            return ordinal;
+        }
+        
+        private Builder addRow(long id, int startDay, int endDay, int ordinal, ReservationStatus status) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            startDays[size] = startDay;
+            endDays[size] = endDay;
+            roomTypeOrdinals[size] = ordinal;
+            statuses[size] = (byte) status.ordinal();
+            size++;
+            return this;
+        }
+        
+        public ReservationColumns build() {
+            return new ReservationColumns(this);
+        }
+        
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            roomTypeOrdinals = Arrays.copyOf(roomTypeOrdinals, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+    }
+    
+    // Maps the store's room type ordinals to the builder's once each, so a stored row
+    // is copied from primitive fields without hashing its room type
+    private static final class StoredRows implements Consumer<ReservationView> {
+        private final Builder builder;
+        private int[] builderOrdinals = new int[0];
+        
+        StoredRows(Builder builder) {
+            this.builder = builder;
+        }
+        
+        @Override
+        public void accept(ReservationView view) {
+            int stored = view.getRoomTypeOrdinal();
+            if (stored >= builderOrdinals.length) {
+                int previous = builderOrdinals.length;
+                builderOrdinals = Arrays.copyOf(builderOrdinals, Math.max(stored + 1, previous * 2));
+                Arrays.fill(builderOrdinals, previous, builderOrdinals.length, -1);
+            }
+            if (builderOrdinals[stored] < 0) {
+                builderOrdinals[stored] = builder.ordinalOf(view.getRoomType());
+            }
+            builder.addRow(view.getId(), view.getStartDay(), view.getEndDay(), builderOrdinals[stored],
+                           view.getStatus());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.hotel.async;
+
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.HowMany;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Non-blocking facade over a set of hotels. Every call returns immediately with a
+// future; the work runs on the hotel's own single-writer lane.
+public class AsyncReservationService implements AutoCloseable {
+    private static final CompletableFuture<OperationResult> CLOSED =
+        CompletableFuture.completedFuture(OperationResult.closed());
+    
+    private final int queueCapacity;
+    private final Map<String, HotelLane> lanes;
+    private volatile boolean closed;
+    
+    public AsyncReservationService(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.lanes = new ConcurrentHashMap<>();
+    }
+    
+    public void register(HotelChain hotelChain) {
+        if (hotelChain == null || hotelChain.getHotel() == null) {
+            throw new IllegalArgumentException("Hotel chain must have a hotel");
+        }
+        if (closed) {
+            throw new IllegalStateException("Service is closed");
+        }
+        String hotelName = hotelChain.getHotel().getName();
+        if (lanes.putIfAbsent(hotelName, new HotelLane(hotelChain, queueCapacity)) != null) {
+            throw new IllegalArgumentException("Duplicate hotel: " + hotelName);
+        }
+    }
+    
+    public CompletableFuture<OperationResult> makeReservation(String hotelName, RoomType roomType,
+                                                              BookingDate startDate, BookingDate endDate,
+                                                              HowMany howMany) {
+        return submit(hotelName, hotelChain -> {
+            Reservation reservation = hotelChain.tryMakeReservation(roomType, startDate, endDate, howMany);
+            return reservation == null
+                ? OperationResult.failure(ReservationOutcome.NO_AVAILABILITY, "No available room")
+                : OperationResult.success(reservation);
+        });
+    }
+    
+    public CompletableFuture<OperationResult> cancelReservation(String hotelName, String reservationNumber) {
+        return submit(hotelName, hotelChain -> hotelChain.cancelReservation(reservationNumber)
+            ? OperationResult.success(null)
+            : OperationResult.failure(ReservationOutcome.REJECTED, "Reservation cannot be cancelled"));
+    }
+    
+    public CompletableFuture<OperationResult> checkInGuest(String hotelName, String reservationNumber) {
+        return submit(hotelName, hotelChain -> OperationResult.of(hotelChain.tryCheckInGuest(reservationNumber)));
+    }
+    
+    public CompletableFuture<OperationResult> checkOutGuest(String hotelName, String reservationNumber) {
+        return submit(hotelName, hotelChain -> OperationResult.of(hotelChain.tryCheckOutGuest(reservationNumber)));
+    }
+    
+    public int queuedOperations(String hotelName) {
+        HotelLane lane = lanes.get(hotelName);
+        return lane == null ? 0 : lane.queuedOperations();
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        for (HotelLane lane : lanes.values()) {
+            lane.close();
+        }
+    }
+    
+    private CompletableFuture<OperationResult> submit(String hotelName,
+                                                      Function<HotelChain, OperationResult> operation) {
+        if (closed) return CLOSED;
+        HotelLane lane = hotelName == null ? null : lanes.get(hotelName);
+        if (lane == null) {
+            return CompletableFuture.completedFuture(
+                OperationResult.failure(ReservationOutcome.UNKNOWN_HOTEL, "Unknown hotel: " + hotelName));
+        }
+        return lane.submit(operation);
+    }
+}
\ No newline at end of file
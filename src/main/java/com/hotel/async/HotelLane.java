@@ -0,0 +1,66 @@
+package com.hotel.async;
+
+import com.hotel.domain.HotelChain;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Single writer for one hotel: one thread drains a bounded queue, so the hotel's
+// state is never contended. A full queue completes the caller's future with BUSY
+// straight away instead of blocking or throwing.
+class HotelLane {
+    private final HotelChain hotelChain;
+    private final ThreadPoolExecutor writer;
+    
+    HotelLane(HotelChain hotelChain, int queueCapacity) {
+        this.hotelChain = hotelChain;
+        String hotelName = hotelChain.getHotel().getName();
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "hotel-writer-" + hotelName);
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> ((Command) runnable).future.complete(
+                executor.isShutdown() ? OperationResult.closed() : OperationResult.busy()));
+    }
+    
+    CompletableFuture<OperationResult> submit(Function<HotelChain, OperationResult> operation) {
+        Command command = new Command(operation);
+        writer.execute(command);
+        return command.future;
+    }
+    
+    int queuedOperations() {
+        return writer.getQueue().size();
+    }
+    
+    void close() {
+        writer.shutdown();
+    }
+    
+    private class Command implements Runnable {
+        private final Function<HotelChain, OperationResult> operation;
+        private final CompletableFuture<OperationResult> future;
+        
+        private Command(Function<HotelChain, OperationResult> operation) {
+            this.operation = operation;
+            this.future = new CompletableFuture<>();
+        }
+        
+        @Override
+        public void run() {
+            try {
+                future.complete(operation.apply(hotelChain));
+            } catch (IllegalArgumentException e) {
+                future.complete(OperationResult.failure(ReservationOutcome.INVALID, e.getMessage()));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
\ No newline at end of file
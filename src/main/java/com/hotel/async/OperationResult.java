@@ -0,0 +1,44 @@
+package com.hotel.async;
+
+import com.hotel.domain.Reservation;
+import com.hotel.domain.TransitionResult;
+
+// Typed outcome of an async operation; failures are values, never exceptions
+public record OperationResult(ReservationOutcome outcome, Reservation reservation, String message) {
+    private static final OperationResult SUCCESS = new OperationResult(ReservationOutcome.SUCCESS, null, null);
+    private static final OperationResult BUSY = new OperationResult(ReservationOutcome.BUSY, null, "Hotel queue is full");
+    private static final OperationResult CLOSED = new OperationResult(ReservationOutcome.CLOSED, null, "Service is closed");
+    
+    public OperationResult {
+        if (outcome == null) throw new IllegalArgumentException("Outcome cannot be null");
+    }
+    
+    public static OperationResult success(Reservation reservation) {
+        return reservation == null ? SUCCESS : new OperationResult(ReservationOutcome.SUCCESS, reservation, null);
+    }
+    
+    public static OperationResult failure(ReservationOutcome outcome, String message) {
+        return new OperationResult(outcome, null, message);
+    }
+    
+    public static OperationResult busy() {
+        return BUSY;
+    }
+    
+    public static OperationResult closed() {
+        return CLOSED;
+    }
+    
+    public static OperationResult of(TransitionResult result) {
+        return switch (result) {
+            case APPLIED -> SUCCESS;
+            case CONFLICT -> failure(ReservationOutcome.CONFLICT, "Changed concurrently");
+            case NOT_FOUND -> failure(ReservationOutcome.NOT_FOUND, "Reservation not found");
+            case REJECTED -> failure(ReservationOutcome.REJECTED, "Transition not allowed");
+        };
+    }
+    
+    public boolean isSuccess() {
+        return outcome == ReservationOutcome.SUCCESS;
+    }
+}
\ No newline at end of file
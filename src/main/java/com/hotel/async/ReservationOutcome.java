@@ -0,0 +1,16 @@
+package com.hotel.async;
+
+public enum ReservationOutcome {
+    SUCCESS,
+    NO_AVAILABILITY,
+    // Another caller changed the state first
+    CONFLICT,
+    // Not allowed from the current state or business rules
+    REJECTED,
+    NOT_FOUND,
+    INVALID,
+    UNKNOWN_HOTEL,
+    // The hotel's queue was full; retry later
+    BUSY,
+    CLOSED
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.hotel.currency;
+
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.valueobjects.Money;
+
+import java.util.Currency;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Holds the current rate table. A new table replaces the old one in a single swap,
+// and every conversion or report reads one table, so none of them mixes versions.
+public class CurrencyConverter {
+    private final AtomicReference<FxRateTable> rates;
+    
+    public CurrencyConverter(FxRateTable initial) {
+        if (initial == null) {
+            throw new IllegalArgumentException("Rate table cannot be null");
+        }
+        this.rates = new AtomicReference<>(initial);
+    }
+    
+    // Returns false when a table of the same or a later version is already live
+    public boolean publish(FxRateTable next) {
+        if (next == null) {
+            throw new IllegalArgumentException("Rate table cannot be null");
+        }
+        while (true) {
+            FxRateTable current = rates.get();
+            if (next.getVersion() <= current.getVersion()) return false;
+            if (rates.compareAndSet(current, next)) return true;
+        }
+    }
+    
+    public Money convert(Money money, Currency target) {
+        return rates.get().convert(money, target);
+    }
+    
+    public RevenueReport revenue(Iterable<HotelChain> hotelChains, Currency base) {
+        return RevenueReport.compute(hotelChains, rates.get(), base);
+    }
+    
+    public FxRateTable current() {
+        return rates.get();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.hotel.currency;
+
+import com.hotel.domain.valueobjects.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Immutable, versioned set of exchange rates. Every pairwise factor is precomputed
+// in minor units as a fixed-point long, so converting an amount is one multiply and
+// one divide; BigDecimal is only used to build the table and at the Money edges.
+public final class FxRateTable {
+    public static final long SCALE = 1_000_000_000L;
+    
+    private final long version;
+    private final Currency pivot;
+    private final Currency[] currencies;
+    private final Map<Currency, Integer> indexes;
+    // factors[from][to]: minor units of "to" per minor unit of "from", times SCALE
+    private final long[][] factors;
+    
+    private FxRateTable(long version, Currency pivot, Map<Currency, BigDecimal> pivotRates) {
+        this.version = version;
+        this.pivot = pivot;
+        this.currencies = pivotRates.keySet().toArray(new Currency[0]);
+        this.indexes = new HashMap<>();
+        for (int i = 0; i < currencies.length; i++) {
+            indexes.put(currencies[i], i);
+        }
+        this.factors = new long[currencies.length][currencies.length];
+        for (int from = 0; from < currencies.length; from++) {
+            for (int to = 0; to < currencies.length; to++) {
+                BigDecimal major = pivotRates.get(currencies[from])
+                    .divide(pivotRates.get(currencies[to]), 18, RoundingMode.HALF_EVEN);
+                BigDecimal minor = major.movePointRight(fractionDigits(currencies[to]) - fractionDigits(currencies[from]));
+                factors[from][to] = minor.multiply(BigDecimal.valueOf(SCALE)).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+            }
+        }
+    }
+    
+    public static Builder builder(long version, Currency pivot) {
+        return new Builder(version, pivot);
+    }
+    
+    private static int fractionDigits(Currency currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+    
+    public int indexOf(Currency currency) {
+        Integer index = indexes.get(currency);
+        if (index == null) {
+            throw new IllegalArgumentException("No exchange rate for " + currency);
+        }
+        return index;
+    }
+    
+    // Hot path for aggregation loops: whole minor units in, whole minor units out
+    public long convertMinor(long amountMinor, int from, int to) {
+        if (amountMinor < 0) {
+            throw new IllegalArgumentException("Amount must be non-negative");
+        }
+        if (from == to) return amountMinor;
+        long factor = factors[from][to];
+        long product = amountMinor * factor;
+        if (Math.multiplyHigh(amountMinor, factor) == 0 && product >= 0) {
+            try {
+                return Math.addExact(product, SCALE / 2) / SCALE;
+            } catch (ArithmeticException e) {
+                // Within half a unit of Long.MAX_VALUE; the slow road rounds it
+            }
+        }
+        // Too large for 64 bits; rare enough to take the slow road. Same factor, so an
+        // amount rounds the same whichever road it takes.
+        return BigDecimal.valueOf(amountMinor).multiply(BigDecimal.valueOf(factor))
+            .divide(BigDecimal.valueOf(SCALE), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+    
+    public Money convert(Money money, Currency target) {
+        if (money == null) {
+            throw new IllegalArgumentException("Money cannot be null");
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        if (money.currency().equals(target)) return money;
+        return fromMinor(convertMinor(toMinor(money), indexOf(money.currency()), indexOf(target)), target);
+    }
+    
+    public static long toMinor(Money money) {
+        return money.amount().movePointRight(fractionDigits(money.currency()))
+            .setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+    
+    public static Money fromMinor(long amountMinor, Currency currency) {
+        return new Money(BigDecimal.valueOf(amountMinor, fractionDigits(currency)), currency);
+    }
+    
+    public boolean supports(Currency currency) {
+        return indexes.containsKey(currency);
+    }
+    
+    // Getters
+    public long getVersion() { return version; }
+    public Currency getPivot() { return pivot; }
+    public int size() { return currencies.length; }
+    public Currency currencyAt(int index) { return currencies[index]; }
+    
+    public static class Builder {
+        private final long version;
+        private final Currency pivot;
+        private final Map<Currency, BigDecimal> pivotRates;
+        
+        private Builder(long version, Currency pivot) {
+            if (pivot == null) {
+                throw new IllegalArgumentException("Pivot currency cannot be null");
+            }
+            this.version = version;
+            this.pivot = pivot;
+            this.pivotRates = new LinkedHashMap<>();
+            this.pivotRates.put(pivot, BigDecimal.ONE);
+        }
+        
+        // One unit of the currency is worth this many units of the pivot
+        public Builder rate(Currency currency, BigDecimal pivotPerUnit) {
+            if (currency == null) {
+                throw new IllegalArgumentException("Currency cannot be null");
+            }
+            if (pivotPerUnit == null || pivotPerUnit.signum() <= 0) {
+                throw new IllegalArgumentException("Rate must be positive");
+            }
+            if (currency.equals(pivot)) {
+                throw new IllegalArgumentException("Pivot currency rate is always 1");
+            }
+            pivotRates.put(currency, pivotPerUnit);
+            return this;
+        }
+        
+        public FxRateTable build() {
+            return new FxRateTable(version, pivot, pivotRates);
+        }
+    }
+}
\ No newline at end of file
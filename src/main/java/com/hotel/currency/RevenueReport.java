@@ -0,0 +1,163 @@
+package com.hotel.currency;
+
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReservationStatus;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.Money;
+import com.hotel.storage.ReservationView;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Room revenue of booked, in-house and completed stays, per hotel and in total, in
+// one base currency. Each hotel is summed in minor units per source currency and
+// converted once, so the row loop does no BigDecimal work. Off-heap archive records
+// are read through the store's flyweight rather than rebuilt as reservations.
+public final class RevenueReport {
+    private final Currency base;
+    private final long rateVersion;
+    private final Money total;
+    private final Map<String, Money> byHotel;
+    private final int stays;
+    
+    private RevenueReport(Currency base, long rateVersion, Money total, Map<String, Money> byHotel, int stays) {
+        this.base = base;
+        this.rateVersion = rateVersion;
+        this.total = total;
+        this.byHotel = byHotel;
+        this.stays = stays;
+    }
+    
+    public static RevenueReport compute(Iterable<HotelChain> hotelChains, FxRateTable rates, Currency base) {
+        if (hotelChains == null) {
+            throw new IllegalArgumentException("Hotel chains cannot be null");
+        }
+        if (rates == null) {
+            throw new IllegalArgumentException("Rate table cannot be null");
+        }
+        int baseIndex = rates.indexOf(base);
+        Map<RoomType, NightlyRate> nightlyRates = new IdentityHashMap<>();
+        Map<String, Long> minorByHotel = new LinkedHashMap<>();
+        long totalMinor = 0;
+        int stays = 0;
+        
+        for (HotelChain hotelChain : hotelChains) {
+            if (hotelChain.getHotel() == null) continue;
+            long[] perCurrency = new long[rates.size()];
+            stays += accumulate(hotelChain.getReservations(), rates, nightlyRates, perCurrency);
+            StoredStays stored = new StoredStays(rates, nightlyRates, perCurrency);
+            hotelChain.scanArchive(stored::add, stored);
+            stays += stored.counted;
+            
+            long hotelMinor = 0;
+            for (int currency = 0; currency < perCurrency.length; currency++) {
+                if (perCurrency[currency] != 0) {
+                    hotelMinor = Math.addExact(hotelMinor, rates.convertMinor(perCurrency[currency], currency, baseIndex));
+                }
+            }
+            minorByHotel.merge(hotelChain.getHotel().getName(), hotelMinor, Long::sum);
+            totalMinor = Math.addExact(totalMinor, hotelMinor);
+        }
+        
+        Map<String, Money> byHotel = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : minorByHotel.entrySet()) {
+            byHotel.put(entry.getKey(), FxRateTable.fromMinor(entry.getValue(), base));
+        }
+        return new RevenueReport(base, rates.getVersion(), FxRateTable.fromMinor(totalMinor, base),
+                                 Collections.unmodifiableMap(byHotel), stays);
+    }
+    
+    private static int accumulate(List<Reservation> reservations, FxRateTable rates,
+                                  Map<RoomType, NightlyRate> nightlyRates, long[] perCurrency) {
+        int counted = 0;
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            if (!earns(reservation.getStatus())) continue;
+            
+            NightlyRate rate = rateOf(reservation.getRoomType(), rates, nightlyRates);
+            add(perCurrency, rate, reservation.getStartDate().nightsUntil(reservation.getEndDate()));
+            counted++;
+        }
+        return counted;
+    }
+    
+    private static boolean earns(ReservationStatus status) {
+        return status.holdsInventory() || status == ReservationStatus.CHECKED_OUT;
+    }
+    
+    private static NightlyRate rateOf(RoomType roomType, FxRateTable rates, Map<RoomType, NightlyRate> nightlyRates) {
+        NightlyRate rate = nightlyRates.get(roomType);
+        if (rate == null) {
+            rate = new NightlyRate(roomType, rates);
+            nightlyRates.put(roomType, rate);
+        }
+        return rate;
+    }
+    
+    private static void add(long[] perCurrency, NightlyRate rate, long nights) {
+        perCurrency[rate.currency] = Math.addExact(perCurrency[rate.currency], Math.multiplyExact(rate.minor, nights));
+    }
+    
+    // Getters
+    public Currency getBase() { return base; }
+    public long getRateVersion() { return rateVersion; }
+    public Money getTotal() { return total; }
+    public Map<String, Money> getByHotel() { return byHotel; }
+    public int getStays() { return stays; }
+    
+    private static final class NightlyRate {
+        private final int currency;
+        private final long minor;
+        
+        private NightlyRate(RoomType roomType, FxRateTable rates) {
+            this.currency = rates.indexOf(roomType.getCost().currency());
+            this.minor = FxRateTable.toMinor(roomType.getCost());
+        }
+    }
+    
+    // Archived stays of one hotel; off-heap records resolve their rate through the
+    // store's room type ordinal, so a row costs a few primitive reads
+    private static final class StoredStays implements Consumer<ReservationView> {
+        private final FxRateTable rates;
+        private final Map<RoomType, NightlyRate> nightlyRates;
+        private final long[] perCurrency;
+        private NightlyRate[] byStoredOrdinal = new NightlyRate[0];
+        private int counted;
+        
+        private StoredStays(FxRateTable rates, Map<RoomType, NightlyRate> nightlyRates, long[] perCurrency) {
+            this.rates = rates;
+            this.nightlyRates = nightlyRates;
+            this.perCurrency = perCurrency;
+        }
+        
+        void add(Reservation reservation) {
+            if (!earns(reservation.getStatus())) return;
+            RevenueReport.add(perCurrency, rateOf(reservation.getRoomType(), rates, nightlyRates),
+                              reservation.getStartDate().nightsUntil(reservation.getEndDate()));
+            counted++;
+        }
+        
+        @Override
+        public void accept(ReservationView view) {
+            if (!earns(view.getStatus())) return;
+            int stored = view.getRoomTypeOrdinal();
+            if (stored >= byStoredOrdinal.length) {
+                byStoredOrdinal = Arrays.copyOf(byStoredOrdinal, Math.max(stored + 1, byStoredOrdinal.length * 2));
+            }
+            NightlyRate rate = byStoredOrdinal[stored];
+            if (rate == null) {
+                rate = rateOf(view.getRoomType(), rates, nightlyRates);
+                byStoredOrdinal[stored] = rate;
+            }
+            RevenueReport.add(perCurrency, rate, view.getEndDay() - view.getStartDay() + 1);
+            counted++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.hotel.domain;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Bounded LRU of booked-room peaks per (hotel, RoomType, date range). A booking
+// change only drops the entries of its RoomType whose nights it overlaps.
+public class AvailabilityCache {
+    private final int maximumSize;
+    private final LinkedHashMap<CacheKey, CachedPeak> entries;
+    private final Map<TypeKey, Set<CacheKey>> keysByType;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private long totalServedAgeNanos;
+    private long maxServedAgeNanos;
+    
+    public AvailabilityCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be a positive integer");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.keysByType = new HashMap<>();
+    }
+    
+    // Returns the cached peak or -1 on a miss
+    public synchronized int getPeak(Hotel hotel, RoomType roomType, int startDay, int endDay) {
+        CachedPeak cached = entries.get(new CacheKey(hotel, roomType, startDay, endDay));
+        if (cached == null) {
+            misses++;
+            return -1;
+        }
+        hits++;
+        long age = System.nanoTime() - cached.cachedAtNanos();
+        totalServedAgeNanos += age;
+        maxServedAgeNanos = Math.max(maxServedAgeNanos, age);
+        return cached.peak();
+    }
+    
+    public synchronized void putPeak(Hotel hotel, RoomType roomType, int startDay, int endDay, int peak) {
+        CacheKey key = new CacheKey(hotel, roomType, startDay, endDay);
+        if (entries.put(key, new CachedPeak(peak, System.nanoTime())) == null) {
+            keysByType.computeIfAbsent(key.typeKey(), type -> new HashSet<>()).add(key);
+        }
+        if (entries.size() > maximumSize) {
+            Iterator<CacheKey> eldest = entries.keySet().iterator();
+            CacheKey evicted = eldest.next();
+            eldest.remove();
+            forget(evicted);
+            evictions++;
+        }
+    }
+    
+    public synchronized void invalidate(Hotel hotel, RoomType roomType, int startDay, int endDay) {
+        Set<CacheKey> keys = keysByType.get(new TypeKey(hotel, roomType));
+        if (keys == null) return;
+        
+        Iterator<CacheKey> iterator = keys.iterator();
+        while (iterator.hasNext()) {
+            CacheKey key = iterator.next();
+            if (key.startDay() <= endDay && key.endDay() >= startDay) {
+                iterator.remove();
+                entries.remove(key);
+                invalidations++;
+            }
+        }
+        if (keys.isEmpty()) {
+            keysByType.remove(new TypeKey(hotel, roomType));
+        }
+    }
+    
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+        keysByType.clear();
+    }
+    
+    private void forget(CacheKey key) {
+        Set<CacheKey> keys = keysByType.get(key.typeKey());
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByType.remove(key.typeKey());
+        }
+    }
+    
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size(),
+                              hits == 0 ? 0 : totalServedAgeNanos / hits, maxServedAgeNanos);
+    }
+    
+    public record CacheStats(long hits, long misses, long evictions, long invalidations, int size,
+                             long averageServedAgeNanos, long maxServedAgeNanos) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+    
+    private record TypeKey(Hotel hotel, RoomType roomType) {
+    }
+    
+    private record CacheKey(Hotel hotel, RoomType roomType, int startDay, int endDay) {
+        TypeKey typeKey() {
+            return new TypeKey(hotel, roomType);
+        }
+    }
+    
+    private record CachedPeak(int peak, long cachedAtNanos) {
+    }
+}
\ No newline at end of file
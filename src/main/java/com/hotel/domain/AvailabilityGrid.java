@@ -0,0 +1,41 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Free rooms per (RoomType, night) over a date window; row r is getRoomTypes().get(r)
+// and column n is the n-th night from the start date. Rows may carry one spare
+// trailing cell left over from the difference array; it is never handed out.
+public class AvailabilityGrid {
+    private final BookingDate startDate;
+    private final int nights;
+    private final List<RoomType> roomTypes;
+    private final int[][] freeRooms;
+    
+    AvailabilityGrid(BookingDate startDate, int nights, List<RoomType> roomTypes, int[][] freeRooms) {
+        this.startDate = startDate;
+        this.nights = nights;
+        this.roomTypes = List.copyOf(roomTypes);
+        this.freeRooms = freeRooms;
+    }
+    
+    public int freeRooms(int row, int night) {
+        if (night < 0 || night >= nights) {
+            throw new IndexOutOfBoundsException("Night " + night + " is outside the " + nights + "-night grid");
+        }
+        return freeRooms[row][night];
+    }
+    
+    // A copy of the type's row, or all zeros when the hotel has no such rooms
+    public int[] freeRooms(RoomType roomType) {
+        int row = roomTypes.indexOf(roomType);
+        return row < 0 ? new int[nights] : Arrays.copyOf(freeRooms[row], nights);
+    }
+    
+    // Getters
+    public BookingDate getStartDate() { return startDate; }
+    public int getNights() { return nights; }
+    public List<RoomType> getRoomTypes() { return roomTypes; }
+}
\ No newline at end of file
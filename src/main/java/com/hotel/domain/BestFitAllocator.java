@@ -0,0 +1,196 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.monitoring.RoomAllocationEvent;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Places each stay in the free gap that fits it most tightly, so rooms fill up
+// end to end instead of leaving one-night holes that can never be sold.
+// Free gaps are kept per hotel and RoomType ordered by length; the first gap from
+// the requested length upwards that contains the stay is the best fit. Finding
+// where to start is O(log g) in the type's gaps, but gaps long enough for the
+// stay that lie elsewhere in the calendar are stepped over one by one, so a pick
+// costs O(log g + skipped) rather than O(log rooms).
+public class BestFitAllocator implements RoomAllocationStrategy {
+    private static final int OPEN_START = Integer.MIN_VALUE;
+    private static final int OPEN_END = Integer.MAX_VALUE;
+    private static final Comparator<Room> ROOM_ORDER = Comparator
+        .comparing(Room::getRoomNumber)
+        .thenComparingInt(System::identityHashCode);
+    private static final Comparator<Gap> TIGHTEST_FIRST = Comparator
+        .comparingLong(Gap::length)
+        .thenComparingInt(Gap::from)
+        .thenComparing(Gap::room, Comparator.nullsFirst(ROOM_ORDER));
+    
+    // One allocator may serve several hotels, so the length index is per hotel.
+    // A room first seen through booked() has no known hotel until registerNewRooms
+    // meets it, and is indexed under null until then.
+    private final Map<Hotel, Map<RoomType, TreeSet<Gap>>> gapsByHotel;
+    private final Map<Room, TreeMap<Integer, Gap>> gapsByRoom;
+    private final Map<Room, Hotel> owners;
+    private final Map<Hotel, Integer> registeredRooms;
+    
+    public BestFitAllocator() {
+        this.gapsByHotel = new IdentityHashMap<>();
+        this.gapsByRoom = new HashMap<>();
+        this.owners = new IdentityHashMap<>();
+        this.registeredRooms = new IdentityHashMap<>();
+    }
+    
+    @Override
+    public RoomAllocationStrategy emptyCopy() {
+        return new BestFitAllocator();
+    }
+    
+    @Override
+    public Room allocate(Hotel hotel, RoomType roomType, BookingDate startDate, BookingDate endDate) {
+        if (hotel == null) return null;
+        RoomAllocationEvent event = RoomAllocationEvent.start();
+        registerNewRooms(hotel);
+        int startDay = startDate.epochDay();
+        int endDay = endDate.epochDay();
+        
+        Room allocated = null;
+        int scanned = 0;
+        TreeSet<Gap> gaps = gapsByHotel.getOrDefault(hotel, Map.of()).get(roomType);
+        if (gaps != null) {
+            Gap probe = new Gap(null, OPEN_START, OPEN_START + (endDay - startDay), endDay - startDay + 1L);
+            for (Gap gap : gaps.tailSet(probe, true)) {
+                scanned++;
+                if (gap.contains(startDay, endDay) && !gap.room().isOccupied()) {
+                    allocated = gap.room();
+                    break;
+                }
+            }
+        }
+        RoomAllocationEvent.commit(event, "BestFit", roomType, startDay, endDay, scanned, allocated);
+        return allocated;
+    }
+    
+    @Override
+    public boolean isFree(Hotel hotel, Room room, int startDay, int endDay) {
+        if (hotel != null) registerNewRooms(hotel);
+        TreeMap<Integer, Gap> roomGaps = gapsByRoom.get(room);
+        if (roomGaps == null) return true;
+        Map.Entry<Integer, Gap> entry = roomGaps.floorEntry(startDay);
+        return entry != null && entry.getValue().contains(startDay, endDay);
+    }
+    
+    @Override
+    public void booked(Reservation reservation) {
+        Room room = reservation.getRoom();
+        TreeMap<Integer, Gap> roomGaps = gapsByRoom.get(room);
+        if (roomGaps == null) {
+            roomGaps = registerRoom(room, null);
+        }
+        int startDay = reservation.getStartDate().epochDay();
+        int endDay = reservation.getEndDate().epochDay();
+        Map.Entry<Integer, Gap> entry = roomGaps.floorEntry(startDay);
+        if (entry == null || !entry.getValue().contains(startDay, endDay)) return;
+        
+        Gap gap = entry.getValue();
+        removeGap(gap);
+        if (gap.from() < startDay) addGap(Gap.of(room, gap.from(), startDay - 1));
+        if (gap.to() > endDay) addGap(Gap.of(room, endDay + 1, gap.to()));
+    }
+    
+    @Override
+    public void released(Reservation reservation) {
+        Room room = reservation.getRoom();
+        TreeMap<Integer, Gap> roomGaps = gapsByRoom.get(room);
+        if (roomGaps == null) return;
+        
+        int from = reservation.getStartDate().epochDay();
+        int to = reservation.getEndDate().epochDay();
+        Map.Entry<Integer, Gap> before = roomGaps.floorEntry(from);
+        if (before != null && before.getValue().to() >= from) return;
+        if (before != null && before.getValue().to() == from - 1) {
+            from = before.getValue().from();
+            removeGap(before.getValue());
+        }
+        Gap after = roomGaps.get(to + 1);
+        if (after != null) {
+            to = after.to();
+            removeGap(after);
+        }
+        addGap(Gap.of(room, from, to));
+    }
+    
+    // A free day ends where its gap does; a day outside every gap is booked
+    @Override
+    public int nextBookedDay(Room room, int fromDay) {
+        TreeMap<Integer, Gap> roomGaps = gapsByRoom.get(room);
+        if (roomGaps == null) return Integer.MAX_VALUE;
+        Map.Entry<Integer, Gap> entry = roomGaps.floorEntry(fromDay);
+        if (entry == null || entry.getValue().to() < fromDay) return fromDay;
+        int to = entry.getValue().to();
+        return to >= Integer.MAX_VALUE - 1 ? Integer.MAX_VALUE : to + 1;
+    }
+    
+    // Rooms are added to the hotel directly, so pick up any new ones before allocating
+    private void registerNewRooms(Hotel hotel) {
+        int registered = registeredRooms.getOrDefault(hotel, 0);
+        int count = hotel.getRoomCount();
+        for (int i = registered; i < count; i++) {
+            Room room = hotel.roomAt(i);
+            if (!gapsByRoom.containsKey(room)) {
+                registerRoom(room, hotel);
+            } else if (owners.get(room) == null) {
+                adoptRoom(room, hotel);
+            }
+        }
+        registeredRooms.put(hotel, count);
+    }
+    
+    private TreeMap<Integer, Gap> registerRoom(Room room, Hotel hotel) {
+        TreeMap<Integer, Gap> roomGaps = new TreeMap<>();
+        gapsByRoom.put(room, roomGaps);
+        owners.put(room, hotel);
+        addGap(Gap.of(room, OPEN_START, OPEN_END));
+        return roomGaps;
+    }
+    
+    // Moves a room booked before its hotel was known into that hotel's index
+    private void adoptRoom(Room room, Hotel hotel) {
+        TreeSet<Gap> unowned = gapsOf(room);
+        for (Gap gap : gapsByRoom.get(room).values()) {
+            unowned.remove(gap);
+        }
+        owners.put(room, hotel);
+        TreeSet<Gap> owned = gapsOf(room);
+        owned.addAll(gapsByRoom.get(room).values());
+    }
+    
+    private TreeSet<Gap> gapsOf(Room room) {
+        return gapsByHotel.computeIfAbsent(owners.get(room), owner -> new HashMap<>())
+            .computeIfAbsent(room.getRoomType(), type -> new TreeSet<>(TIGHTEST_FIRST));
+    }
+    
+    private void addGap(Gap gap) {
+        gapsByRoom.get(gap.room()).put(gap.from(), gap);
+        gapsOf(gap.room()).add(gap);
+    }
+    
+    private void removeGap(Gap gap) {
+        gapsByRoom.get(gap.room()).remove(gap.from());
+        gapsOf(gap.room()).remove(gap);
+    }
+    
+    // Lengths stay long: an open gap's span does not fit in an int
+    private record Gap(Room room, int from, int to, long length) {
+        static Gap of(Room room, int from, int to) {
+            boolean open = from == OPEN_START || to == OPEN_END;
+            return new Gap(room, from, to, open ? Long.MAX_VALUE : (long) to - from + 1);
+        }
+        
+        boolean contains(int startDay, int endDay) {
+            return from <= startDay && endDay <= to;
+        }
+    }
+}
\ No newline at end of file
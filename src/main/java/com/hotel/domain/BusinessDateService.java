@@ -0,0 +1,50 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Each hotel trades on its own business date, which only moves when the night
+// audit closes the day - not when the wall clock passes midnight
+public class BusinessDateService {
+    private final Clock clock;
+    private final Map<Hotel, BookingDate> businessDates;
+    
+    public BusinessDateService(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        this.businessDates = new ConcurrentHashMap<>();
+    }
+    
+    // The clock is only consulted the first time a hotel is seen
+    public BookingDate getBusinessDate(Hotel hotel) {
+        if (hotel == null) {
+            return new BookingDate(LocalDate.now(clock));
+        }
+        // Plain get first: the capturing lambda would otherwise be allocated on every call
+        BookingDate businessDate = businessDates.get(hotel);
+        if (businessDate != null) return businessDate;
+        return businessDates.computeIfAbsent(hotel, h -> new BookingDate(LocalDate.now(clock)));
+    }
+    
+    public void setBusinessDate(Hotel hotel, BookingDate businessDate) {
+        if (hotel == null) {
+            throw new IllegalArgumentException("Hotel cannot be null");
+        }
+        if (businessDate == null) {
+            throw new IllegalArgumentException("Business date cannot be null");
+        }
+        businessDates.put(hotel, businessDate);
+    }
+    
+    public BookingDate advance(Hotel hotel) {
+        BookingDate next = new BookingDate(getBusinessDate(hotel).localDate().plusDays(1));
+        setBusinessDate(hotel, next);
+        return next;
+    }
+}
\ No newline at end of file
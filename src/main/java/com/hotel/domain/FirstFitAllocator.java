@@ -0,0 +1,72 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.monitoring.RoomAllocationEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Picks the first room in hotel order whose calendar is free for the stay
+public class FirstFitAllocator implements RoomAllocationStrategy {
+    private final Map<Room, RoomCalendar> calendars;
+    
+    public FirstFitAllocator() {
+        this.calendars = new HashMap<>();
+    }
+    
+    @Override
+    public RoomAllocationStrategy emptyCopy() {
+        return new FirstFitAllocator();
+    }
+    
+    @Override
+    public Room allocate(Hotel hotel, RoomType roomType, BookingDate startDate, BookingDate endDate) {
+        if (hotel == null) return null;
+        RoomAllocationEvent event = RoomAllocationEvent.start();
+        int startDay = startDate.epochDay();
+        int endDay = endDate.epochDay();
+        
+        // Indexed walk so allocating doesn't copy the room list
+        Room allocated = null;
+        int scanned = 0;
+        for (int i = 0; i < hotel.getRoomCount() && allocated == null; i++) {
+            Room room = hotel.roomAt(i);
+            if (room.isOccupied() || !room.getRoomType().equals(roomType)) continue;
+            scanned++;
+            RoomCalendar calendar = calendars.get(room);
+            if (calendar == null || calendar.isFree(startDay, endDay)) {
+                allocated = room;
+            }
+        }
+        RoomAllocationEvent.commit(event, "FirstFit", roomType, startDay, endDay, scanned, allocated);
+        return allocated;
+    }
+    
+    @Override
+    public boolean isFree(Hotel hotel, Room room, int startDay, int endDay) {
+        RoomCalendar calendar = calendars.get(room);
+        return calendar == null || calendar.isFree(startDay, endDay);
+    }
+    
+    @Override
+    public void booked(Reservation reservation) {
+        calendars.computeIfAbsent(reservation.getRoom(), room -> new RoomCalendar())
+            .book(reservation.getStartDate().epochDay(), reservation.getEndDate().epochDay());
+    }
+    
+    @Override
+    public void released(Reservation reservation) {
+        RoomCalendar calendar = calendars.get(reservation.getRoom());
+        if (calendar == null) return;
+        calendar.release(reservation.getStartDate().epochDay(), reservation.getEndDate().epochDay());
+        if (calendar.isEmpty()) {
+            calendars.remove(reservation.getRoom());
+        }
+    }
+    
+    @Override
+    public int nextBookedDay(Room room, int fromDay) {
+        RoomCalendar calendar = calendars.get(room);
+        return calendar == null ? Integer.MAX_VALUE : calendar.nextBookedDay(fromDay);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.util.List;
+
+// Rooms booked together in one all-or-nothing step; each room is an ordinary reservation
+public class GroupReservation {
+    private final String groupNumber;
+    private final BookingDate startDate;
+    private final BookingDate endDate;
+    private final List<Reservation> reservations;
+    
+    public GroupReservation(String groupNumber, BookingDate startDate, BookingDate endDate,
+                            List<Reservation> reservations) {
+        if (groupNumber == null || groupNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Group number cannot be null or empty");
+        }
+        if (reservations == null || reservations.isEmpty()) {
+            throw new IllegalArgumentException("Group reservations cannot be null or empty");
+        }
+        this.groupNumber = groupNumber;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.reservations = List.copyOf(reservations);
+    }
+    
+    // Getters
+    public String getGroupNumber() { return groupNumber; }
+    public BookingDate getStartDate() { return startDate; }
+    public BookingDate getEndDate() { return endDate; }
+    public List<Reservation> getReservations() { return reservations; }
+    public int getRoomCount() { return reservations.size(); }
+}
\ No newline at end of file
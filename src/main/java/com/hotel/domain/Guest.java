@@ -15,6 +15,17 @@ public class Guest {
         this.guestId = generateGuestId();
     }
     
+    // Restores a stored guest under its original id
+    public Guest(String guestId, Name name, Address addressDetails) {
+        validateParameters(name, addressDetails);
+        if (guestId == null || guestId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Guest id cannot be null or empty");
+        }
+        this.name = name;
+        this.addressDetails = addressDetails;
+        this.guestId = guestId;
+    }
+    
     private void validateParameters(Name name, Address addressDetails) {
         if (name == null) {
             throw new IllegalArgumentException("Name cannot be null");
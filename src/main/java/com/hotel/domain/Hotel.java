@@ -23,23 +23,41 @@ public class Hotel {
     }
     
     public List<Room> getAvailableRooms() {
-        List<Room> available = new ArrayList<>();
+        List<Room> available = new ArrayList<>(rooms.size());
         for (Room room : rooms) {
-            if (!room.isOccupied()) {
+            if (room.isReadyForArrival()) {
                 available.add(room);
             }
         }
         return available;
     }
     
+    public int countAvailableRooms(RoomType roomType) {
+        int count = 0;
+        for (Room room : rooms) {
+            if (!room.isOccupied() && room.getRoomType().equals(roomType)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
     public Room findRoomByNumber(String roomNumber) {
-        return rooms.stream()
-            .filter(room -> room.getRoomNumber().equals(roomNumber))
-            .findFirst()
-            .orElse(null);
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            if (room.getRoomNumber().equals(roomNumber)) {
+                return room;
+            }
+        }
+        return null;
+    }
+    
+    Room roomAt(int index) {
+        return rooms.get(index);
     }
     
     // Getters
     public String getName() { return name; }
+    public int getRoomCount() { return rooms.size(); }
     public List<Room> getRooms() { return new ArrayList<>(rooms); }
 }
\ No newline at end of file
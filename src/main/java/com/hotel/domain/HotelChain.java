@@ -3,20 +3,73 @@ package com.hotel.domain;
 import com.hotel.domain.valueobjects.Name;
 import com.hotel.domain.valueobjects.BookingDate;
 import com.hotel.domain.valueobjects.CreditCardId;
+import com.hotel.domain.valueobjects.Money;
+import com.hotel.events.ReservationEventBus;
+import com.hotel.events.ReservationEventType;
+import com.hotel.housekeeping.HousekeepingScheduler;
+import com.hotel.monitoring.AvailabilityCheckEvent;
+import com.hotel.monitoring.ReservationOperationEvent;
+import com.hotel.payments.PaymentResult;
+import com.hotel.payments.PaymentStatus;
+import com.hotel.payments.SettlementPipeline;
+import com.hotel.storage.OffHeapReservationStore;
+import com.hotel.storage.ReservationView;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 public class HotelChain {
+    // Millisecond-seeded so numbers stay unique across chains and restarts
+    private static final AtomicLong RESERVATION_IDS = new AtomicLong(System.currentTimeMillis() * 1000);
+    
     private final Name name;
     private Hotel hotel;
     private final List<Reservation> reservations;
+    private final List<Reservation> archivedReservations;
     private ReservePayer reservePayer;
+    private final PayerRegistry payers;
+    private SettlementPipeline settlement;
+    private final Waitlist waitlist;
+    private WaitlistListener waitlistListener;
+    private ReservationEventBus eventBus;
+    private BusinessDateService businessDateService;
+    private RoomAllocationStrategy allocationStrategy;
+    private AvailabilityCache availabilityCache;
+    private OffHeapReservationStore archiveStore;
+    private IdempotencyCache idempotencyCache;
+    private HousekeepingScheduler housekeeping;
+    // Bookings, cancellations and modifications change the indexes under the write lock;
+    // lookups share the read lock, and check-ins and check-outs race on the reservation
+    // and room CAS under it, with a check-out's winner taking the write lock afterwards
+    private final ReentrantReadWriteLock lock;
     
     public HotelChain(Name name) {
         validateName(name);
         this.name = name;
         this.reservations = new ArrayList<>();
+        this.archivedReservations = new ArrayList<>();
+        this.businessDateService = new BusinessDateService(Clock.systemDefaultZone());
+        this.allocationStrategy = new FirstFitAllocator();
+        this.waitlist = new Waitlist();
+        this.payers = new PayerRegistry();
+        this.lock = new ReentrantReadWriteLock();
+        this.idempotencyCache = new IdempotencyCache(10_000, Duration.ofHours(24), Clock.systemUTC());
     }
     
     private void validateName(Name name) {
@@ -28,56 +81,354 @@ public class HotelChain {
     // Public methods exactly as in UML
     public Reservation makeReservation(RoomType roomType, BookingDate startDate, 
                                       BookingDate endDate, HowMany howMany) {
+        ReservationOperationEvent event = ReservationOperationEvent.start();
+        Reservation reservation = null;
+        lock.writeLock().lock();
+        try {
+            reservation = placeReservation(roomType, startDate, endDate, howMany);
+            return reservation;
+        } finally {
+            lock.writeLock().unlock();
+            ReservationOperationEvent.commit(event, "makeReservation", roomType, startDate, endDate,
+                                             reservation != null ? "MADE" : "FAILED");
+        }
+    }
+    
+    private Reservation placeReservation(RoomType roomType, BookingDate startDate,
+                                         BookingDate endDate, HowMany howMany) {
         validateReservationParameters(roomType, startDate, endDate, howMany);
         
         if (!canMakeReservation(roomType, startDate, endDate)) {
             throw new IllegalStateException("Cannot make reservation - conflicts detected");
         }
         
-        Room availableRoom = findAvailableRoom(roomType);
-        if (availableRoom == null) {
+        Reservation reservation = createReservation(roomType, startDate, endDate, howMany);
+        if (reservation == null) {
             throw new IllegalStateException("No available room of type: " + roomType.getKind());
         }
+        return reservation;
+    }
+    
+    // A retry with the same key returns the original reservation without re-checking availability
+    public Reservation makeReservation(String idempotencyKey, RoomType roomType, BookingDate startDate,
+                                      BookingDate endDate, HowMany howMany) {
+        Reservation reservation = idempotencyCache.getOrCreate(idempotencyKey,
+            () -> makeReservation(roomType, startDate, endDate, howMany));
+        if (!reservation.getRoomType().equals(roomType) || !reservation.getStartDate().equals(startDate)
+                || !reservation.getEndDate().equals(endDate)
+                || howMany == null || !reservation.getHowMany().getNumber().equals(howMany.getNumber())) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different request");
+        }
+        return reservation;
+    }
+    
+    // Same checks as makeReservation, but no availability comes back as null rather than an exception
+    public Reservation tryMakeReservation(RoomType roomType, BookingDate startDate,
+                                          BookingDate endDate, HowMany howMany) {
+        validateReservationParameters(roomType, startDate, endDate, howMany);
         
-        Reservation reservation = new Reservation(
-            new BookingDate(java.time.LocalDate.now()),
-            startDate,
-            endDate,
-            generateReservationNumber(),
-            availableRoom,
-            roomType,
-            howMany
-        );
+        lock.writeLock().lock();
+        try {
+            if (!canMakeReservation(roomType, startDate, endDate)) {
+                return null;
+            }
+            return createReservation(roomType, startDate, endDate, howMany);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // All-or-nothing block booking across room types: every type is checked and its
+    // rooms chosen before anything is reserved, so a shortfall anywhere books nothing
+    public GroupReservation makeGroupReservation(Map<RoomType, HowMany> rooms, BookingDate startDate,
+                                                 BookingDate endDate) {
+        if (rooms == null || rooms.isEmpty()) {
+            throw new IllegalArgumentException("Group rooms cannot be null or empty");
+        }
+        lock.writeLock().lock();
+        try {
+            return placeGroupReservation(rooms, startDate, endDate);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private GroupReservation placeGroupReservation(Map<RoomType, HowMany> rooms, BookingDate startDate,
+                                                   BookingDate endDate) {
+        Map<RoomType, List<Room>> blocks = new LinkedHashMap<>();
+        for (Map.Entry<RoomType, HowMany> request : rooms.entrySet()) {
+            RoomType roomType = request.getKey();
+            validateStay(roomType, startDate, endDate);
+            if (request.getValue() == null) throw new IllegalArgumentException("HowMany cannot be null");
+            int count = request.getValue().getNumber();
+            
+            // Pooled per-night check first, so a sold-out type fails without walking rooms
+            List<Room> block = null;
+            if (hotel != null && hotel.countAvailableRooms(roomType)
+                    - peakBookedOfType(roomType, startDate.epochDay(), endDate.epochDay()) >= count) {
+                block = findRoomBlock(roomType, startDate, endDate, count);
+            }
+            if (block == null) {
+                throw new IllegalStateException("Not enough rooms of type: " + roomType.getKind());
+            }
+            blocks.put(roomType, block);
+        }
         
-        reservations.add(reservation);
-        return reservation;
+        List<Reservation> made = new ArrayList<>();
+        try {
+            for (Map.Entry<RoomType, List<Room>> block : blocks.entrySet()) {
+                for (Room room : block.getValue()) {
+                    made.add(reserveRoom(room, block.getKey(), startDate, endDate, new HowMany(1)));
+                }
+            }
+        } catch (RuntimeException e) {
+            for (Reservation reservation : made) {
+                reservation.transitionTo(ReservationStatus.CANCELLED);
+                reservations.remove(reservation);
+                releaseInventory(reservation);
+            }
+            throw e;
+        }
+        for (Reservation reservation : made) {
+            publishEvent(ReservationEventType.MADE, reservation);
+        }
+        return new GroupReservation("GRP_" + RESERVATION_IDS.incrementAndGet(), startDate, endDate, made);
     }
     
     public boolean cancelReservation(String reservationNumber) {
-        Reservation reservation = findReservation(reservationNumber);
+        ReservationOperationEvent event = ReservationOperationEvent.start();
+        Reservation reservation;
+        boolean cancelled;
+        lock.writeLock().lock();
+        try {
+            reservation = findReservation(reservationNumber);
+            cancelled = cancel(reservation);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ReservationOperationEvent.commit(event, "cancelReservation", reservation, cancelled ? "CANCELLED" : "REJECTED");
+        return cancelled;
+    }
+    
+    private boolean cancel(Reservation reservation) {
         if (reservation == null || !canCancelReservation(reservation)) {
             return false;
         }
+        if (reservation.transitionTo(ReservationStatus.CANCELLED) != TransitionResult.APPLIED) {
+            return false;
+        }
         reservations.remove(reservation);
+        releaseInventory(reservation);
+        releasePayer(reservation);
+        publishEvent(ReservationEventType.CANCELLED, reservation);
+        promoteFromWaitlist(reservation.getRoomType(), reservation.getStartDate().epochDay(),
+                            reservation.getEndDate().epochDay());
         return true;
     }
     
     public boolean checkInGuest(String reservationNumber) {
-        Reservation reservation = findReservation(reservationNumber);
-        if (reservation == null || !canCheckInGuest(reservation)) {
-            return false;
-        }
-        reservation.getRoom().occupy(reservation.getGuest());
-        return true;
+        return tryCheckInGuest(reservationNumber) == TransitionResult.APPLIED;
     }
     
     public boolean checkOutGuest(String reservationNumber) {
-        Reservation reservation = findReservation(reservationNumber);
-        if (reservation == null || !canCheckOutGuest(reservation)) {
-            return false;
+        return tryCheckOutGuest(reservationNumber) == TransitionResult.APPLIED;
+    }
+    
+    // Check-ins share the read lock, so they run alongside each other and only exclude
+    // writers that reshape the reservation list; the room CAS then picks a single
+    // winner among terminals checking in to the same room
+    public TransitionResult tryCheckInGuest(String reservationNumber) {
+        ReservationOperationEvent event = ReservationOperationEvent.start();
+        Reservation reservation;
+        TransitionResult result;
+        lock.readLock().lock();
+        try {
+            reservation = findReservation(reservationNumber);
+            result = checkIn(reservation);
+        } finally {
+            lock.readLock().unlock();
+        }
+        ReservationOperationEvent.commit(event, "checkInGuest", reservation, result.name());
+        return result;
+    }
+    
+    private TransitionResult checkIn(Reservation reservation) {
+        if (reservation == null) return TransitionResult.NOT_FOUND;
+        if (!canCheckInGuest(reservation)) {
+            return reservation.getRoom().isOccupied() ? TransitionResult.CONFLICT : TransitionResult.REJECTED;
+        }
+        
+        Guest guest = reservation.getGuest();
+        TransitionResult occupied = reservation.getRoom().tryOccupy(guest);
+        if (occupied != TransitionResult.APPLIED) return occupied;
+        
+        TransitionResult checkedIn = reservation.transitionTo(ReservationStatus.CHECKED_IN);
+        if (checkedIn != TransitionResult.APPLIED) {
+            reservation.getRoom().tryVacate(guest);
+            return checkedIn;
+        }
+        publishEvent(ReservationEventType.CHECKED_IN, reservation);
+        return TransitionResult.APPLIED;
+    }
+    
+    // Like check-in, the reservation and room CAS decide among competing check-outs
+    // under the read lock, so a loser gets CONFLICT without waiting for writers. Only
+    // the winner then takes the write lock: releasing the stay changes the allocator
+    // calendars, availability cache and waitlist, which are shared and not safe to
+    // change concurrently. Until then the stay still counts as booked, which can only
+    // under-sell, never double-sell.
+    public TransitionResult tryCheckOutGuest(String reservationNumber) {
+        ReservationOperationEvent event = ReservationOperationEvent.start();
+        Reservation reservation;
+        TransitionResult result;
+        lock.readLock().lock();
+        try {
+            reservation = findReservation(reservationNumber);
+            result = checkOut(reservation);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (result == TransitionResult.APPLIED) {
+            lock.writeLock().lock();
+            try {
+                releaseCheckedOut(reservation);
+                promoteFromWaitlist(reservation.getRoomType());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ReservationOperationEvent.commit(event, "checkOutGuest", reservation, result.name());
+        return result;
+    }
+    
+    private TransitionResult checkOut(Reservation reservation) {
+        if (reservation == null) return TransitionResult.NOT_FOUND;
+        if (!canCheckOutGuest(reservation)) return TransitionResult.REJECTED;
+        
+        if (!vacate(reservation)) {
+            return reservation.getStatus() == ReservationStatus.CHECKED_OUT
+                ? TransitionResult.CONFLICT : TransitionResult.REJECTED;
+        }
+        return TransitionResult.APPLIED;
+    }
+    
+    public boolean modifyReservation(String reservationNumber, BookingDate startDate,
+                                     BookingDate endDate, RoomType roomType) {
+        return tryModifyReservation(reservationNumber, startDate, endDate, roomType) == TransitionResult.APPLIED;
+    }
+    
+    // Changes the dates and/or room type in place instead of cancel-and-rebook. With the
+    // same type only nights outside the old stay need capacity, the guest keeps the room
+    // while it is free for them, and only nights that changed are invalidated.
+    public TransitionResult tryModifyReservation(String reservationNumber, BookingDate startDate,
+                                                 BookingDate endDate, RoomType roomType) {
+        validateStay(roomType, startDate, endDate);
+        lock.writeLock().lock();
+        try {
+            return modify(findReservation(reservationNumber), startDate, endDate, roomType);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private TransitionResult modify(Reservation reservation, BookingDate startDate,
+                                    BookingDate endDate, RoomType roomType) {
+        if (reservation == null) return TransitionResult.NOT_FOUND;
+        
+        long version = reservation.getVersion();
+        ReservationStatus status = reservation.getStatus();
+        RoomType oldType = reservation.getRoomType();
+        boolean sameType = oldType.equals(roomType);
+        boolean sameStart = startDate.equals(reservation.getStartDate());
+        BookingDate today = getBusinessDate();
+        if (status == ReservationStatus.CHECKED_IN) {
+            // The guest is already in the room, so only the departure can move
+            if (!sameType || !sameStart || endDate.isBefore(today)) return TransitionResult.REJECTED;
+        } else if (status != ReservationStatus.BOOKED || (!sameStart && startDate.isBefore(today))) {
+            return TransitionResult.REJECTED;
+        }
+        
+        int oldStart = reservation.getStartDate().epochDay();
+        int oldEnd = reservation.getEndDate().epochDay();
+        int newStart = startDate.epochDay();
+        int newEnd = endDate.epochDay();
+        Room room = reservation.getRoom();
+        if (sameType) {
+            // A checked-in guest's own room is occupied and so missing from the pooled supply
+            int ownRoom = status == ReservationStatus.CHECKED_IN ? 1 : 0;
+            boolean keepRoom = true;
+            if (newStart < oldStart) {
+                int to = Math.min(newEnd, oldStart - 1);
+                if (!nightsAvailable(roomType, newStart, to, ownRoom)) return TransitionResult.CONFLICT;
+                keepRoom = roomFree(room, newStart, to);
+            }
+            if (newEnd > oldEnd) {
+                int from = Math.max(newStart, oldEnd + 1);
+                if (!nightsAvailable(roomType, from, newEnd, ownRoom)) return TransitionResult.CONFLICT;
+                keepRoom = keepRoom && roomFree(room, from, newEnd);
+            }
+            if (!keepRoom) {
+                if (status == ReservationStatus.CHECKED_IN) return TransitionResult.CONFLICT;
+                room = findAvailableRoom(roomType, startDate, endDate);
+                if (room == null) return TransitionResult.CONFLICT;
+            }
+        } else {
+            if (!canMakeReservation(roomType, startDate, endDate)) return TransitionResult.CONFLICT;
+            room = findAvailableRoom(roomType, startDate, endDate);
+            if (room == null) return TransitionResult.CONFLICT;
+        }
+        
+        allocationStrategy.released(reservation);
+        TransitionResult result = reservation.reschedule(version, startDate, endDate, room, roomType);
+        allocationStrategy.booked(reservation);
+        if (result != TransitionResult.APPLIED) return result;
+        
+        if (sameType) {
+            // Only the nights on either side that differ between the old and new stay
+            invalidateNights(roomType, Math.min(oldStart, newStart), Math.max(oldStart, newStart) - 1);
+            invalidateNights(roomType, Math.min(oldEnd, newEnd) + 1, Math.max(oldEnd, newEnd));
+        } else {
+            invalidateNights(oldType, oldStart, oldEnd);
+            invalidateNights(roomType, newStart, newEnd);
+        }
+        publishEvent(ReservationEventType.MODIFIED, reservation);
+        if (!sameType || newStart > oldStart || newEnd < oldEnd) {
+            promoteFromWaitlist(oldType, oldStart, oldEnd);
+        }
+        return TransitionResult.APPLIED;
+    }
+    
+    // Loads a reservation that was made earlier, e.g. from storage, without re-running availability checks
+    public void restoreReservation(Reservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            reservations.add(reservation);
+            if (reservation.getStatus().holdsInventory()) {
+                holdInventory(reservation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Loads a completed reservation from storage straight into the archive
+    public void restoreArchivedReservation(Reservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            if (archiveStore == null) {
+                archivedReservations.add(reservation);
+            } else {
+                archiveStore.append(reservation);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
-        reservation.getRoom().vacate();
-        return true;
     }
     
     public ReservePayer createReservePayer(CreditCardId creditCardDetails) {
@@ -88,80 +439,628 @@ public class HotelChain {
         return this.reservePayer;
     }
     
+    // Links a card to one reservation and, with a pipeline set, authorizes the stay in the
+    // background; the gateway's answer is recorded on the payer
+    public ReservePayer assignPayer(String reservationNumber, CreditCardId creditCardDetails) {
+        if (creditCardDetails == null) {
+            throw new IllegalArgumentException("Credit card details cannot be null");
+        }
+        Reservation reservation;
+        lock.readLock().lock();
+        try {
+            reservation = findReservation(reservationNumber);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (reservation == null) return null;
+        
+        ReservePayer payer = new ReservePayer(creditCardDetails);
+        payers.assign(reservation, payer);
+        if (settlement != null) {
+            authorize(reservation, payer);
+        }
+        return payer;
+    }
+    
+    public ReservePayer getPayer(String reservationNumber) {
+        return payers.payerOf(reservationNumber);
+    }
+    
+    public WaitlistEntry joinWaitlist(RoomType roomType, BookingDate startDate,
+                                      BookingDate endDate, HowMany howMany, int priority) {
+        validateReservationParameters(roomType, startDate, endDate, howMany);
+        lock.writeLock().lock();
+        try {
+            WaitlistEntry entry = new WaitlistEntry(roomType, startDate, endDate, howMany,
+                                                    priority, waitlist.nextSequence());
+            waitlist.add(entry);
+            return entry;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Puts a stored waitlist entry back in line under its original sequence
+    public void restoreWaitlistEntry(WaitlistEntry entry) {
+        if (entry == null) {
+            throw new IllegalArgumentException("Waitlist entry cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            waitlist.add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public boolean leaveWaitlist(WaitlistEntry entry) {
+        lock.writeLock().lock();
+        try {
+            return waitlist.remove(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void setWaitlistListener(WaitlistListener waitlistListener) {
+        this.waitlistListener = waitlistListener;
+    }
+    
+    public void setEventBus(ReservationEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    public void setBusinessDateService(BusinessDateService businessDateService) {
+        if (businessDateService == null) {
+            throw new IllegalArgumentException("Business date service cannot be null");
+        }
+        this.businessDateService = businessDateService;
+    }
+    
+    public int countAvailableRooms(RoomType roomType, BookingDate startDate, BookingDate endDate) {
+        validateStay(roomType, startDate, endDate);
+        if (hotel == null) return 0;
+        
+        lock.readLock().lock();
+        try {
+            return Math.max(0, hotel.countAvailableRooms(roomType)
+                - peakBookedOfType(roomType, startDate.epochDay(), endDate.epochDay()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Every room type and night of the window in one pass: each overlapping reservation
+    // adds +1/-1 to its type's difference array, and a prefix sum per row gives the nights
+    public AvailabilityGrid getAvailabilityGrid(BookingDate startDate, BookingDate endDate) {
+        if (startDate == null) throw new IllegalArgumentException("Start date cannot be null");
+        if (endDate == null) throw new IllegalArgumentException("End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        lock.readLock().lock();
+        try {
+            return buildAvailabilityGrid(startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private AvailabilityGrid buildAvailabilityGrid(BookingDate startDate, BookingDate endDate) {
+        int firstDay = startDate.epochDay();
+        int lastDay = endDate.epochDay();
+        int nights = lastDay - firstDay + 1;
+        
+        List<RoomType> roomTypes = new ArrayList<>();
+        Map<RoomType, Integer> rows = new HashMap<>();
+        int[] capacity = new int[8];
+        int roomCount = hotel == null ? 0 : hotel.getRoomCount();
+        for (int i = 0; i < roomCount; i++) {
+            Room room = hotel.roomAt(i);
+            Integer row = rows.get(room.getRoomType());
+            if (row == null) {
+                row = roomTypes.size();
+                roomTypes.add(room.getRoomType());
+                rows.put(room.getRoomType(), row);
+                if (row == capacity.length) capacity = Arrays.copyOf(capacity, row * 2);
+            }
+            if (!room.isOccupied()) capacity[row]++;
+        }
+        
+        int[][] grid = new int[roomTypes.size()][nights + 1];
+        for (Reservation r : reservations) {
+            if (!r.getStatus().holdsInventory()) continue;
+            int reservedFrom = r.getStartDate().epochDay();
+            int reservedTo = r.getEndDate().epochDay();
+            if (reservedTo < firstDay || reservedFrom > lastDay) continue;
+            Integer row = rows.get(r.getRoomType());
+            if (row == null) continue;
+            int[] changes = grid[row];
+            changes[Math.max(reservedFrom, firstDay) - firstDay]++;
+            changes[Math.min(reservedTo, lastDay) - firstDay + 1]--;
+        }
+        
+        for (int row = 0; row < grid.length; row++) {
+            int[] cells = grid[row];
+            int booked = 0;
+            for (int night = 0; night < nights; night++) {
+                booked += cells[night];
+                cells[night] = Math.max(0, capacity[row] - booked);
+            }
+        }
+        return new AvailabilityGrid(startDate, nights, roomTypes, grid);
+    }
+    
+    // Existing bookings are replayed so the new strategy starts with a full calendar
+    public void setAllocationStrategy(RoomAllocationStrategy allocationStrategy) {
+        if (allocationStrategy == null) {
+            throw new IllegalArgumentException("Allocation strategy cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            for (Reservation reservation : reservations) {
+                if (reservation.getStatus().holdsInventory()) {
+                    allocationStrategy.booked(reservation);
+                }
+            }
+            this.allocationStrategy = allocationStrategy;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void setAvailabilityCache(AvailabilityCache availabilityCache) {
+        lock.writeLock().lock();
+        try {
+            if (availabilityCache != null) {
+                availabilityCache.clear();
+            }
+            this.availabilityCache = availabilityCache;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Completed reservations go off-heap from now on; earlier ones stay in the list
+    public void setArchiveStore(OffHeapReservationStore archiveStore) {
+        this.archiveStore = archiveStore;
+    }
+    
+    public void setIdempotencyCache(IdempotencyCache idempotencyCache) {
+        if (idempotencyCache == null) {
+            throw new IllegalArgumentException("Idempotency cache cannot be null");
+        }
+        this.idempotencyCache = idempotencyCache;
+    }
+    
+    // Without a scheduler rooms are sellable again as soon as the guest leaves. Rooms
+    // already out of service, such as ones reloaded from storage, are queued with it.
+    public void setHousekeeping(HousekeepingScheduler housekeeping) {
+        lock.writeLock().lock();
+        try {
+            if (housekeeping != null && housekeeping != this.housekeeping && hotel != null) {
+                for (Room room : hotel.getRooms()) {
+                    if (room.getHousekeepingStatus() != HousekeepingStatus.INSPECTED) {
+                        housekeeping.resume(room, nextArrivalDay(room));
+                    }
+                }
+            }
+            this.housekeeping = housekeeping;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Check-out only queues the capture, so a slow gateway never holds up the desk
+    public void setSettlementPipeline(SettlementPipeline settlement) {
+        this.settlement = settlement;
+    }
+    
+    public BookingDate getBusinessDate() {
+        return businessDateService.getBusinessDate(hotel);
+    }
+    
     // Private validation methods exactly as in UML
     private boolean canMakeReservation(RoomType roomType, BookingDate startDate, BookingDate endDate) {
         if (hotel == null) return false;
         
-        List<Room> availableRooms = hotel.getAvailableRooms();
-        long availableOfType = availableRooms.stream()
-            .filter(room -> room.getRoomType().equals(roomType))
-            .count();
-            
-        long bookedOfType = reservations.stream()
-            .filter(r -> r.getRoomType().equals(roomType))
-            .filter(r -> datesOverlap(r.getStartDate(), r.getEndDate(), startDate, endDate))
-            .count();
-            
-        return availableOfType > bookedOfType;
+        int availableOfType = hotel.countAvailableRooms(roomType);
+        return availableOfType > peakBookedOfType(roomType, startDate.epochDay(), endDate.epochDay());
+    }
+    
+    // Rooms needed on the busiest night of the range; counting every overlapping
+    // reservation instead would reject stays that fit between existing bookings
+    private int peakBookedOfType(RoomType roomType, int firstDay, int lastDay) {
+        AvailabilityCheckEvent event = AvailabilityCheckEvent.start();
+        int peak = availabilityCache == null ? -1 : availabilityCache.getPeak(hotel, roomType, firstDay, lastDay);
+        boolean cacheHit = peak >= 0;
+        if (!cacheHit) {
+            peak = scanPeakBookedOfType(roomType, firstDay, lastDay);
+            if (availabilityCache != null) {
+                availabilityCache.putPeak(hotel, roomType, firstDay, lastDay, peak);
+            }
+        }
+        AvailabilityCheckEvent.commit(event, roomType, firstDay, lastDay,
+                                      cacheHit ? 0 : reservations.size(), cacheHit, peak);
+        return peak;
+    }
+    
+    private int scanPeakBookedOfType(RoomType roomType, int firstDay, int lastDay) {
+        int[] changes = new int[lastDay - firstDay + 2];
+        
+        for (Reservation r : reservations) {
+            if (!r.getStatus().holdsInventory() || !r.getRoomType().equals(roomType)) continue;
+            int reservedFrom = r.getStartDate().epochDay();
+            int reservedTo = r.getEndDate().epochDay();
+            if (reservedTo < firstDay || reservedFrom > lastDay) continue;
+            int from = Math.max(reservedFrom, firstDay);
+            int to = Math.min(reservedTo, lastDay);
+            changes[from - firstDay]++;
+            changes[to - firstDay + 1]--;
+        }
+        
+        int booked = 0;
+        int peak = 0;
+        for (int i = 0; i < changes.length - 1; i++) {
+            booked += changes[i];
+            peak = Math.max(peak, booked);
+        }
+        return peak;
     }
     
     private boolean canCancelReservation(Reservation reservation) {
-        BookingDate today = new BookingDate(java.time.LocalDate.now());
+        BookingDate today = getBusinessDate();
         return today.isBefore(reservation.getStartDate());
     }
     
     private boolean canCheckInGuest(Reservation reservation) {
-        BookingDate today = new BookingDate(java.time.LocalDate.now());
+        BookingDate today = getBusinessDate();
         boolean isCheckInDay = today.equals(reservation.getStartDate()) || 
                               today.isAfter(reservation.getStartDate());
         return isCheckInDay && reservation.getGuest() != null && 
-               !reservation.getRoom().isOccupied();
+               reservation.getRoom().isReadyForArrival();
     }
     
     private boolean canCheckOutGuest(Reservation reservation) {
-        BookingDate today = new BookingDate(java.time.LocalDate.now());
+        BookingDate today = getBusinessDate();
         boolean isCheckOutDay = today.equals(reservation.getEndDate()) || 
                                today.isAfter(reservation.getEndDate());
         return isCheckOutDay && reservation.getRoom().isOccupied();
     }
     
-    private boolean datesOverlap(BookingDate start1, BookingDate end1, 
-                                BookingDate start2, BookingDate end2) {
-        return !(end1.isBefore(start2) || start1.isAfter(end2));
+    private Room findAvailableRoom(RoomType roomType, BookingDate startDate, BookingDate endDate) {
+        return allocationStrategy.allocate(hotel, roomType, startDate, endDate);
     }
     
-    private Room findAvailableRoom(RoomType roomType) {
-        if (hotel == null) return null;
+    private Reservation createReservation(RoomType roomType, BookingDate startDate,
+                                          BookingDate endDate, HowMany howMany) {
+        Room availableRoom = findAvailableRoom(roomType, startDate, endDate);
+        if (availableRoom == null) return null;
         
-        return hotel.getAvailableRooms().stream()
-            .filter(room -> room.getRoomType().equals(roomType))
-            .findFirst()
-            .orElse(null);
+        Reservation reservation = reserveRoom(availableRoom, roomType, startDate, endDate, howMany);
+        publishEvent(ReservationEventType.MADE, reservation);
+        return reservation;
+    }
+    
+    private Reservation reserveRoom(Room room, RoomType roomType, BookingDate startDate,
+                                    BookingDate endDate, HowMany howMany) {
+        Reservation reservation = new Reservation(
+            getBusinessDate(),
+            startDate,
+            endDate,
+            generateReservationNumber(),
+            room,
+            roomType,
+            howMany
+        );
+        
+        reservations.add(reservation);
+        holdInventory(reservation);
+        return reservation;
+    }
+    
+    // One pass in hotel order: the first run of count free rooms with nothing in
+    // between wins, otherwise the first count free rooms wherever they are
+    private List<Room> findRoomBlock(RoomType roomType, BookingDate startDate, BookingDate endDate, int count) {
+        List<Room> free = new ArrayList<>(count);
+        int runStart = 0;
+        for (int i = 0; i < hotel.getRoomCount(); i++) {
+            Room room = hotel.roomAt(i);
+            if (room.isOccupied() || !room.getRoomType().equals(roomType)
+                    || !allocationStrategy.isFree(hotel, room, startDate, endDate)) {
+                runStart = free.size();
+                continue;
+            }
+            free.add(room);
+            if (free.size() - runStart == count) {
+                return new ArrayList<>(free.subList(runStart, free.size()));
+            }
+        }
+        return free.size() >= count ? new ArrayList<>(free.subList(0, count)) : null;
+    }
+    
+    private void publishEvent(ReservationEventType type, Reservation reservation) {
+        if (eventBus != null) {
+            eventBus.publish(type, reservation);
+        }
+    }
+    
+    // Night audit hooks - operate on the live list so a whole day is closed in one pass
+    Lock auditLock() {
+        return lock.writeLock();
+    }
+    
+    List<Reservation> activeReservations() {
+        return reservations;
+    }
+    
+    boolean completeCheckOut(Reservation reservation) {
+        if (!vacate(reservation)) return false;
+        releaseCheckedOut(reservation);
+        return true;
+    }
+    
+    // The CAS half of a check-out; safe under the read lock
+    private boolean vacate(Reservation reservation) {
+        if (reservation.transitionTo(ReservationStatus.CHECKED_OUT) != TransitionResult.APPLIED) {
+            return false;
+        }
+        reservation.getRoom().tryVacate(reservation.getGuest());
+        return true;
+    }
+    
+    // The bookkeeping half; needs the write lock
+    private void releaseCheckedOut(Reservation reservation) {
+        releaseInventory(reservation);
+        if (housekeeping != null) {
+            housekeeping.roomVacated(reservation.getRoom(), nextArrivalDay(reservation.getRoom()));
+        }
+        ReservePayer payer = payers.payerOf(reservation.getNumber());
+        if (settlement != null && payer != null) {
+            capture(reservation, payer);
+        }
+        publishEvent(ReservationEventType.CHECKED_OUT, reservation);
+    }
+    
+    private CompletableFuture<PaymentResult> authorize(Reservation reservation, ReservePayer payer) {
+        return settlement.authorize(reservation.getNumber(), payer, stayCost(reservation))
+            .thenApply(result -> {
+                payer.recordAuthorization(result);
+                return result;
+            });
+    }
+    
+    // The recorded answer if there is a usable one; otherwise the request is sent again,
+    // which joins one still in flight and retries one that failed
+    private CompletableFuture<PaymentResult> authorization(Reservation reservation, ReservePayer payer) {
+        PaymentResult known = payer.getAuthorization();
+        if (known != null && known.status() != PaymentStatus.FAILED) {
+            return CompletableFuture.completedFuture(known);
+        }
+        return authorize(reservation, payer);
+    }
+    
+    // Only an approved hold is captured; a declined one leaves nothing to charge
+    private void capture(Reservation reservation, ReservePayer payer) {
+        Money cost = stayCost(reservation);
+        authorization(reservation, payer).thenAccept(authorization -> {
+            if (authorization.isApproved()) {
+                settlement.capture(reservation.getNumber(), payer, cost).thenAccept(payer::recordCapture);
+            }
+        });
+    }
+    
+    // A stay that ends without a check-out gives back its hold and its card
+    private void releasePayer(Reservation reservation) {
+        ReservePayer payer = payers.payerOf(reservation.getNumber());
+        if (payer == null) return;
+        payers.release(reservation.getNumber());
+        if (settlement == null) return;
+        Money cost = stayCost(reservation);
+        authorization(reservation, payer).thenAccept(authorization -> {
+            if (authorization.isApproved()) {
+                settlement.voidAuthorization(reservation.getNumber(), payer, cost).thenAccept(payer::recordVoid);
+            }
+        });
+    }
+    
+    // Resends captures that ran out of attempts. A payer stays registered past its archive
+    // only while its capture has failed, and is released once the gateway settles it.
+    public int retryFailedCaptures() {
+        if (settlement == null) return 0;
+        int retried = 0;
+        for (Map.Entry<String, ReservePayer> entry : payers.getPayers().entrySet()) {
+            ReservePayer payer = entry.getValue();
+            PaymentResult capture = payer.getCapture();
+            if (capture == null || capture.status() != PaymentStatus.FAILED) continue;
+            settlement.submit(capture.request()).thenAccept(result -> {
+                payer.recordCapture(result);
+                if (result.status() != PaymentStatus.FAILED) {
+                    payers.release(entry.getKey());
+                }
+            });
+            retried++;
+        }
+        return retried;
+    }
+    
+    private static Money stayCost(Reservation reservation) {
+        Money nightly = reservation.getRoomType().getCost();
+        int nights = reservation.getStartDate().nightsUntil(reservation.getEndDate());
+        return new Money(nightly.amount().multiply(BigDecimal.valueOf(nights)), nightly.currency());
+    }
+    
+    // Epoch day of the room's next booked arrival, so housekeeping turns it around in time.
+    // The departing stay is already released, so the allocator's calendar answers this
+    // with one lookup instead of a scan of every reservation.
+    private long nextArrivalDay(Room room) {
+        int next = allocationStrategy.nextBookedDay(room, getBusinessDate().epochDay());
+        return next == Integer.MAX_VALUE ? Long.MAX_VALUE : next;
+    }
+    
+    boolean markNoShow(Reservation reservation) {
+        if (reservation.transitionTo(ReservationStatus.NO_SHOW) != TransitionResult.APPLIED) {
+            return false;
+        }
+        releaseInventory(reservation);
+        releasePayer(reservation);
+        publishEvent(ReservationEventType.NO_SHOW, reservation);
+        return true;
+    }
+    
+    // Only reservations that reached an archive leave the live list, so a failure
+    // partway through loses nothing
+    void archive(List<Reservation> completed) {
+        if (completed.isEmpty()) return;
+        Set<Reservation> done = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (Reservation reservation : completed) {
+                archiveOne(reservation);
+                done.add(reservation);
+                releaseArchivedPayer(reservation);
+            }
+        } finally {
+            reservations.removeIf(done::contains);
+        }
+    }
+    
+    // A failed capture keeps its payer so the night audit can send it again
+    private void releaseArchivedPayer(Reservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.CHECKED_OUT) {
+            releasePayer(reservation);
+            return;
+        }
+        ReservePayer payer = payers.payerOf(reservation.getNumber());
+        if (payer == null) return;
+        PaymentResult capture = payer.getCapture();
+        if (capture == null || capture.status() != PaymentStatus.FAILED) {
+            payers.release(reservation.getNumber());
+        }
+    }
+    
+    // A record the fixed-width store can't hold, such as a number that isn't RES_ and
+    // digits, stays on the heap archive rather than being dropped
+    private void archiveOne(Reservation reservation) {
+        if (archiveStore != null) {
+            try {
+                archiveStore.append(reservation);
+                return;
+            } catch (IllegalArgumentException e) {
+                // fall through to the heap archive
+            }
+        }
+        archivedReservations.add(reservation);
+    }
+    
+    private void holdInventory(Reservation reservation) {
+        allocationStrategy.booked(reservation);
+        invalidateAvailability(reservation);
+    }
+    
+    private void releaseInventory(Reservation reservation) {
+        allocationStrategy.released(reservation);
+        invalidateAvailability(reservation);
+    }
+    
+    private void invalidateAvailability(Reservation reservation) {
+        if (availabilityCache != null) {
+            availabilityCache.invalidate(hotel, reservation.getRoomType(),
+                                         reservation.getStartDate().epochDay(),
+                                         reservation.getEndDate().epochDay());
+        }
+    }
+    
+    private void invalidateNights(RoomType roomType, int firstDay, int lastDay) {
+        if (availabilityCache != null && firstDay <= lastDay) {
+            availabilityCache.invalidate(hotel, roomType, firstDay, lastDay);
+        }
+    }
+    
+    private boolean nightsAvailable(RoomType roomType, int firstDay, int lastDay, int ownRoom) {
+        if (hotel == null) return false;
+        return hotel.countAvailableRooms(roomType) + ownRoom > peakBookedOfType(roomType, firstDay, lastDay);
+    }
+    
+    private boolean roomFree(Room room, int firstDay, int lastDay) {
+        return allocationStrategy.isFree(hotel, room, firstDay, lastDay);
+    }
+    
+    // Drops entries starting before the business date; returns how many went
+    int expireWaitlist(BookingDate businessDate) {
+        List<WaitlistEntry> expired = waitlist.removeStartingBefore(businessDate.epochDay());
+        if (waitlistListener != null) {
+            expired.forEach(waitlistListener::onExpired);
+        }
+        return expired.size();
+    }
+    
+    // Freed capacity is offered to the waitlist instead of waiting for agents to poll
+    // A vacated room adds supply on every night, so check-outs and the night audit
+    // consider the whole waitlist of the type
+    void promoteFromWaitlist(RoomType roomType) {
+        promoteFromWaitlist(roomType, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+    
+    // Only entries overlapping the freed nights can have become bookable. One that passes
+    // the pooled check but finds no single free room goes back on the list afterwards,
+    // and the entries behind it are still tried.
+    private void promoteFromWaitlist(RoomType roomType, int firstDay, int lastDay) {
+        List<WaitlistEntry> unplaced = null;
+        WaitlistEntry entry;
+        while ((entry = waitlist.pollBestMatch(roomType, firstDay, lastDay, this::canPromote)) != null) {
+            Reservation reservation = createReservation(entry.getRoomType(), entry.getStartDate(),
+                                                        entry.getEndDate(), entry.getHowMany());
+            if (reservation == null) {
+                if (unplaced == null) unplaced = new ArrayList<>();
+                unplaced.add(entry);
+                continue;
+            }
+            entry.promote(reservation);
+            if (waitlistListener != null) {
+                waitlistListener.onPromoted(entry);
+            }
+        }
+        if (unplaced != null) {
+            for (WaitlistEntry skipped : unplaced) {
+                waitlist.add(skipped);
+            }
+        }
+    }
+    
+    private boolean canPromote(WaitlistEntry entry) {
+        return canMakeReservation(entry.getRoomType(), entry.getStartDate(), entry.getEndDate());
     }
     
     private Reservation findReservation(String reservationNumber) {
-        return reservations.stream()
-            .filter(r -> r.getNumber().equals(reservationNumber))
-            .findFirst()
-            .orElse(null);
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            if (reservation.getNumber().equals(reservationNumber)) {
+                return reservation;
+            }
+        }
+        return null;
     }
     
     private String generateReservationNumber() {
-        return "RES_" + System.currentTimeMillis() + "_" + name.hashCode();
+        return "RES_" + RESERVATION_IDS.incrementAndGet();
     }
     
     private void validateReservationParameters(RoomType roomType, BookingDate startDate, 
                                               BookingDate endDate, HowMany howMany) {
+        validateStay(roomType, startDate, endDate);
+        if (howMany == null) throw new IllegalArgumentException("HowMany cannot be null");
+        if (howMany.getNumber() != 1) {
+            throw new IllegalArgumentException("Currently only single room reservations supported");
+        }
+    }
+    
+    private void validateStay(RoomType roomType, BookingDate startDate, BookingDate endDate) {
         if (roomType == null) throw new IllegalArgumentException("Room type cannot be null");
         if (startDate == null) throw new IllegalArgumentException("Start date cannot be null");
         if (endDate == null) throw new IllegalArgumentException("End date cannot be null");
-        if (howMany == null) throw new IllegalArgumentException("HowMany cannot be null");
         if (startDate.isAfter(endDate)) {
             throw new IllegalArgumentException("Start date must be before end date");
         }
-        if (howMany.getNumber() != 1) {
-            throw new IllegalArgumentException("Currently only single room reservations supported");
-        }
     }
     
     // Getters and setters
@@ -169,8 +1068,83 @@ public class HotelChain {
         this.hotel = hotel;
     }
     
+    public List<Reservation> getReservations() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(reservations);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Visits each live reservation under the read lock, so the action sees no
+    // reservation halfway through a change
+    public void forEachReservation(Consumer<Reservation> action) {
+        lock.readLock().lock();
+        try {
+            reservations.forEach(action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Whether the reservation is still live here, i.e. not yet archived
+    public boolean hasReservation(String reservationNumber) {
+        lock.readLock().lock();
+        try {
+            return findReservation(reservationNumber) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<WaitlistEntry> getWaitlistEntries() {
+        lock.readLock().lock();
+        try {
+            return waitlist.getEntries();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Heap-archived stays plus heap copies of those archived off-heap
+    public List<Reservation> getArchivedReservations() {
+        lock.readLock().lock();
+        try {
+            List<Reservation> archived = new ArrayList<>(archivedReservations);
+            if (archiveStore != null) {
+                archiveStore.scan(view -> archived.add(view.toReservation()));
+            }
+            return archived;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Archived stays without heap copies of the off-heap ones: heap-archived reservations
+    // go to one visitor, off-heap records to the other through one reused flyweight
+    public void scanArchive(Consumer<Reservation> heapVisitor, Consumer<ReservationView> offHeapVisitor) {
+        lock.readLock().lock();
+        try {
+            archivedReservations.forEach(heapVisitor);
+            if (archiveStore != null) {
+                archiveStore.scan(offHeapVisitor);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
     public Name getName() { return name; }
     public Hotel getHotel() { return hotel; }
-    public List<Reservation> getReservations() { return new ArrayList<>(reservations); }
     public ReservePayer getReservePayer() { return reservePayer; }
+    public Waitlist getWaitlist() { return waitlist; }
+    public BusinessDateService getBusinessDateService() { return businessDateService; }
+    public RoomAllocationStrategy getAllocationStrategy() { return allocationStrategy; }
+    public AvailabilityCache getAvailabilityCache() { return availabilityCache; }
+    public OffHeapReservationStore getArchiveStore() { return archiveStore; }
+    public IdempotencyCache getIdempotencyCache() { return idempotencyCache; }
+    public HousekeepingScheduler getHousekeeping() { return housekeeping; }
+    public PayerRegistry getPayerRegistry() { return payers; }
+    public SettlementPipeline getSettlementPipeline() { return settlement; }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hotel.domain;
+
+public enum HousekeepingStatus {
+    DIRTY, CLEAN, INSPECTED;
+    
+    // Only an inspected room is ready for the next guest
+    public boolean canTransitionTo(HousekeepingStatus next) {
+        return switch (this) {
+            case DIRTY -> next == CLEAN;
+            case CLEAN -> next == INSPECTED || next == DIRTY;
+            case INSPECTED -> next == DIRTY;
+        };
+    }
+}
\ No newline at end of file
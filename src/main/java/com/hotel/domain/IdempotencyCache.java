@@ -0,0 +1,173 @@
+package com.hotel.domain;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Remembers which reservation a client key produced so retried requests get the
+// original back. The first caller for a key runs the booking; concurrent callers
+// with the same key wait on its result instead of booking again.
+public class IdempotencyCache {
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Entry> entries;
+    // Insertion order doubles as expiry order since every entry gets the same TTL
+    private final Queue<Entry> insertionOrder;
+    private final AtomicLong hits;
+    
+    public IdempotencyCache(int maximumSize, Duration timeToLive, Clock clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be a positive integer");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        this.entries = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+        this.hits = new AtomicLong();
+    }
+    
+    public Reservation getOrCreate(String key, Supplier<Reservation> booking) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be null or empty");
+        }
+        long now = clock.millis();
+        while (true) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.expiresAt <= now) {
+                entries.remove(key, existing);
+                existing = null;
+            }
+            if (existing == null) {
+                Entry created = new Entry(key, now + timeToLiveMillis);
+                existing = entries.putIfAbsent(key, created);
+                if (existing == null) {
+                    insertionOrder.add(created);
+                    evict(now);
+                    return book(created, booking);
+                }
+                continue;
+            }
+            hits.incrementAndGet();
+            return await(existing);
+        }
+    }
+    
+    public Reservation get(String key) {
+        Entry entry = key == null ? null : entries.get(key);
+        if (entry == null || entry.expiresAt <= clock.millis() || !entry.result.isDone()
+                || entry.result.isCompletedExceptionally()) {
+            return null;
+        }
+        return entry.result.join();
+    }
+    
+    // Keys whose booking went through, oldest first, so a snapshot can carry them over
+    public List<Settled> settled() {
+        long now = clock.millis();
+        List<Settled> settled = new ArrayList<>();
+        for (Entry entry : insertionOrder) {
+            if (entries.get(entry.key) != entry || entry.expiresAt <= now || !entry.result.isDone()
+                    || entry.result.isCompletedExceptionally()) {
+                continue;
+            }
+            settled.add(new Settled(entry.key, entry.result.join(), entry.expiresAt));
+        }
+        return settled;
+    }
+    
+    // Puts back a stored key with its original expiry; restore keys oldest first
+    public void restore(String key, Reservation reservation, long expiresAt) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be null or empty");
+        }
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        long now = clock.millis();
+        if (expiresAt <= now) return;
+        Entry entry = new Entry(key, expiresAt);
+        entry.result.complete(reservation);
+        entries.put(key, entry);
+        insertionOrder.add(entry);
+        evict(now);
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getHits() {
+        return hits.get();
+    }
+    
+    // Getters
+    public int getMaximumSize() { return maximumSize; }
+    public Duration getTimeToLive() { return Duration.ofMillis(timeToLiveMillis); }
+    public Clock getClock() { return clock; }
+    
+    private Reservation book(Entry entry, Supplier<Reservation> booking) {
+        try {
+            Reservation reservation = booking.get();
+            entry.result.complete(reservation);
+            return reservation;
+        } catch (RuntimeException e) {
+            // A failed booking isn't remembered, so the client may retry with the same key
+            entries.remove(entry.key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    private static Reservation await(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    // Drops the oldest entries while over capacity, plus any expired or replaced head entries
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (entries.size() > maximumSize || head.expiresAt <= now || entries.get(head.key) != head)) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+    
+    public record Settled(String key, Reservation reservation, long expiresAt) {
+    }
+    
+    private static final class Entry {
+        private final String key;
+        private final long expiresAt;
+        private final CompletableFuture<Reservation> result;
+        
+        private Entry(String key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+            this.result = new CompletableFuture<>();
+        }
+    }
+}
\ No newline at end of file
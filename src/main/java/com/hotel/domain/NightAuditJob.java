@@ -0,0 +1,75 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Closes a hotel's business day in one pass over the active reservations:
+// marks no-shows, checks out overstays, archives finished stays and resends captures
+// the gateway failed. It then advances the date, drops waitlist entries that would
+// start before it, and only then offers the freed rooms to the waitlist, so a
+// promotion can't arrive already a no-show.
+public class NightAuditJob {
+    private final HotelChain hotelChain;
+    
+    public NightAuditJob(HotelChain hotelChain) {
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        this.hotelChain = hotelChain;
+    }
+    
+    public NightAuditReport run() {
+        hotelChain.auditLock().lock();
+        try {
+            return close();
+        } finally {
+            hotelChain.auditLock().unlock();
+        }
+    }
+    
+    private NightAuditReport close() {
+        long started = System.nanoTime();
+        BookingDate closedDate = hotelChain.getBusinessDate();
+        List<Reservation> completed = new ArrayList<>();
+        Set<RoomType> freedRoomTypes = new HashSet<>();
+        int noShows = 0;
+        int autoCheckOuts = 0;
+        
+        for (Reservation reservation : hotelChain.activeReservations()) {
+            switch (reservation.getStatus()) {
+                case BOOKED -> {
+                    // Arrival day is over and the guest never checked in
+                    if (!reservation.getStartDate().isAfter(closedDate)
+                            && hotelChain.markNoShow(reservation)) {
+                        noShows++;
+                        freedRoomTypes.add(reservation.getRoomType());
+                        completed.add(reservation);
+                    }
+                }
+                case CHECKED_IN -> {
+                    if (!reservation.getEndDate().isAfter(closedDate)
+                            && hotelChain.completeCheckOut(reservation)) {
+                        autoCheckOuts++;
+                        freedRoomTypes.add(reservation.getRoomType());
+                        completed.add(reservation);
+                    }
+                }
+                case CHECKED_OUT, NO_SHOW, CANCELLED -> completed.add(reservation);
+            }
+        }
+        
+        hotelChain.archive(completed);
+        hotelChain.retryFailedCaptures();
+        BookingDate newBusinessDate = hotelChain.getBusinessDateService().advance(hotelChain.getHotel());
+        int expired = hotelChain.expireWaitlist(newBusinessDate);
+        for (RoomType roomType : freedRoomTypes) {
+            hotelChain.promoteFromWaitlist(roomType);
+        }
+        return new NightAuditReport(closedDate, newBusinessDate, noShows, autoCheckOuts,
+                                    completed.size(), expired, System.nanoTime() - started);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+
+public record NightAuditReport(BookingDate closedDate, BookingDate newBusinessDate,
+                               int noShows, int autoCheckOuts, int archived, int expiredWaitlistEntries,
+                               long durationNanos) {
+}
\ No newline at end of file
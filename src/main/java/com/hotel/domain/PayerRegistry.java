@@ -0,0 +1,50 @@
+package com.hotel.domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Links each reservation to the card that pays for it
+public class PayerRegistry {
+    private final ConcurrentHashMap<String, ReservePayer> payersByReservation;
+    
+    public PayerRegistry() {
+        this.payersByReservation = new ConcurrentHashMap<>();
+    }
+    
+    public void assign(Reservation reservation, ReservePayer payer) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        if (payer == null) {
+            throw new IllegalArgumentException("Payer cannot be null");
+        }
+        payersByReservation.put(reservation.getNumber(), payer);
+    }
+    
+    // Re-links a stored payer by number, e.g. after loading the hotel from storage
+    public void restore(String reservationNumber, ReservePayer payer) {
+        if (reservationNumber == null) {
+            throw new IllegalArgumentException("Reservation number cannot be null");
+        }
+        if (payer == null) {
+            throw new IllegalArgumentException("Payer cannot be null");
+        }
+        payersByReservation.put(reservationNumber, payer);
+    }
+    
+    public ReservePayer payerOf(String reservationNumber) {
+        return reservationNumber == null ? null : payersByReservation.get(reservationNumber);
+    }
+    
+    public boolean release(String reservationNumber) {
+        return reservationNumber != null && payersByReservation.remove(reservationNumber) != null;
+    }
+    
+    public int size() {
+        return payersByReservation.size();
+    }
+    
+    public Map<String, ReservePayer> getPayers() {
+        return Map.copyOf(payersByReservation);
+    }
+}
\ No newline at end of file
@@ -2,15 +2,24 @@ package com.hotel.domain;
 
 import com.hotel.domain.valueobjects.BookingDate;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class Reservation {
+    // Status ordinal in the low byte, version above it - one CAS moves both
+    private static final int STATUS_BITS = 8;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+    
     private final BookingDate reservationDate;
-    private final BookingDate startDate;
-    private final BookingDate endDate;
+    // The stay can be modified in place, see reschedule
+    private volatile BookingDate startDate;
+    private volatile BookingDate endDate;
     private final String number;
-    private final Room room;
-    private final RoomType roomType;
+    private volatile Room room;
+    private volatile RoomType roomType;
     private final HowMany howMany;
-    private Guest guest;
+    private volatile Guest guest;
+    private final AtomicLong state;
     
     public Reservation(BookingDate reservationDate, BookingDate startDate, 
                       BookingDate endDate, String number, Room room, 
@@ -23,6 +32,17 @@ public class Reservation {
         this.room = room;
         this.roomType = roomType;
         this.howMany = howMany;
+        this.state = new AtomicLong(ReservationStatus.BOOKED.ordinal());
+    }
+    
+    // Restores a reservation loaded from storage in the state it was saved in
+    public Reservation(BookingDate reservationDate, BookingDate startDate,
+                      BookingDate endDate, String number, Room room,
+                      RoomType roomType, HowMany howMany, Guest guest, ReservationStatus status) {
+        this(reservationDate, startDate, endDate, number, room, roomType, howMany);
+        if (status == null) throw new IllegalArgumentException("Status cannot be null");
+        this.guest = guest;
+        this.state.set(status.ordinal());
     }
     
     private void validateParameters(BookingDate reservationDate, BookingDate startDate, 
@@ -49,6 +69,53 @@ public class Reservation {
         this.guest = guest;
     }
     
+    public TransitionResult transitionTo(ReservationStatus next) {
+        long current = state.get();
+        return transition(current, next);
+    }
+    
+    public TransitionResult transitionTo(ReservationStatus next, long expectedVersion) {
+        long current = state.get();
+        if (current >>> STATUS_BITS != expectedVersion) {
+            return TransitionResult.CONFLICT;
+        }
+        return transition(current, next);
+    }
+    
+    private TransitionResult transition(long current, ReservationStatus next) {
+        if (!STATUSES[(int) (current & STATUS_MASK)].canTransitionTo(next)) {
+            return TransitionResult.REJECTED;
+        }
+        long updated = (((current >>> STATUS_BITS) + 1) << STATUS_BITS) | next.ordinal();
+        return state.compareAndSet(current, updated) ? TransitionResult.APPLIED : TransitionResult.CONFLICT;
+    }
+    
+    // Moves the stay in place; the version bump makes any transition decided on the
+    // old stay lose its CAS. HotelChain keeps the availability structures in step.
+    TransitionResult reschedule(long expectedVersion, BookingDate startDate, BookingDate endDate,
+                                Room room, RoomType roomType) {
+        if (startDate == null) throw new IllegalArgumentException("Start date cannot be null");
+        if (endDate == null) throw new IllegalArgumentException("End date cannot be null");
+        if (room == null) throw new IllegalArgumentException("Room cannot be null");
+        if (roomType == null) throw new IllegalArgumentException("Room type cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        long current = state.get();
+        if (current >>> STATUS_BITS != expectedVersion) {
+            return TransitionResult.CONFLICT;
+        }
+        long updated = (((current >>> STATUS_BITS) + 1) << STATUS_BITS) | (current & STATUS_MASK);
+        if (!state.compareAndSet(current, updated)) {
+            return TransitionResult.CONFLICT;
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.room = room;
+        this.roomType = roomType;
+        return TransitionResult.APPLIED;
+    }
+    
     // Getters only - Reservation is a state holder (no business logic)
     public BookingDate getReservationDate() { return reservationDate; }
     public BookingDate getStartDate() { return startDate; }
@@ -58,4 +125,6 @@ public class Reservation {
     public RoomType getRoomType() { return roomType; }
     public HowMany getHowMany() { return howMany; }
     public Guest getGuest() { return guest; }
+    public ReservationStatus getStatus() { return STATUSES[(int) (state.get() & STATUS_MASK)]; }
+    public long getVersion() { return state.get() >>> STATUS_BITS; }
 }
\ No newline at end of file
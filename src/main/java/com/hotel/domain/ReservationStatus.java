@@ -0,0 +1,17 @@
+package com.hotel.domain;
+
+public enum ReservationStatus {
+    BOOKED, CHECKED_IN, CHECKED_OUT, CANCELLED, NO_SHOW;
+    
+    public boolean canTransitionTo(ReservationStatus next) {
+        return switch (this) {
+            case BOOKED -> next == CHECKED_IN || next == CANCELLED || next == NO_SHOW;
+            case CHECKED_IN -> next == CHECKED_OUT;
+            case CHECKED_OUT, CANCELLED, NO_SHOW -> false;
+        };
+    }
+    
+    public boolean holdsInventory() {
+        return this == BOOKED || this == CHECKED_IN;
+    }
+}
\ No newline at end of file
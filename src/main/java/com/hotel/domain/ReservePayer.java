@@ -1,10 +1,15 @@
 package com.hotel.domain;
 
 import com.hotel.domain.valueobjects.CreditCardId;
+import com.hotel.payments.PaymentResult;
 
 public class ReservePayer {
     private final CreditCardId creditCardDetails;
     private final String payerId;
+    // Latest gateway answers for the stay; null until one arrives
+    private volatile PaymentResult authorization;
+    private volatile PaymentResult capture;
+    private volatile PaymentResult voided;
     
     public ReservePayer(CreditCardId creditCardDetails) {
         validateCreditCardDetails(creditCardDetails);
@@ -23,7 +28,22 @@ public class ReservePayer {
                creditCardDetails.hashCode();
     }
     
+    public void recordAuthorization(PaymentResult result) {
+        this.authorization = result;
+    }
+    
+    public void recordCapture(PaymentResult result) {
+        this.capture = result;
+    }
+    
+    public void recordVoid(PaymentResult result) {
+        this.voided = result;
+    }
+    
     // Getters
     public CreditCardId getCreditCardDetails() { return creditCardDetails; }
     public String getPayerId() { return payerId; }
+    public PaymentResult getAuthorization() { return authorization; }
+    public PaymentResult getCapture() { return capture; }
+    public PaymentResult getVoid() { return voided; }
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.hotel.domain;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 public class Room {
+    private static final RoomState VACANT = new RoomState(null, 0);
+    
     private final String roomNumber;
     private final RoomType roomType;
-    private Guest occupiedBy;
-    private boolean isOccupied;
+    // Guest and version change together so terminals can compare-and-set transitions
+    private final AtomicReference<RoomState> state;
+    // New rooms start ready to sell; check-out makes them dirty when housekeeping is enabled
+    private final AtomicReference<HousekeepingStatus> housekeeping;
     
     public Room(String roomNumber, RoomType roomType) {
         if (roomNumber == null || roomNumber.trim().isEmpty()) {
@@ -15,28 +21,77 @@ public class Room {
         }
         this.roomNumber = roomNumber;
         this.roomType = roomType;
-        this.isOccupied = false;
+        this.state = new AtomicReference<>(VACANT);
+        this.housekeeping = new AtomicReference<>(HousekeepingStatus.INSPECTED);
     }
     
     public void occupy(Guest guest) {
-        if (isOccupied) {
+        if (state.get().isOccupied()) {
             throw new IllegalStateException("Room is already occupied");
         }
         if (guest == null) {
             throw new IllegalArgumentException("Guest cannot be null");
         }
-        this.occupiedBy = guest;
-        this.isOccupied = true;
+        if (tryOccupy(guest) != TransitionResult.APPLIED) {
+            throw new IllegalStateException("Room is already occupied");
+        }
     }
     
     public void vacate() {
-        this.occupiedBy = null;
-        this.isOccupied = false;
+        RoomState current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new RoomState(null, current.version() + 1)));
+    }
+    
+    public TransitionResult tryOccupy(Guest guest) {
+        if (guest == null) {
+            throw new IllegalArgumentException("Guest cannot be null");
+        }
+        RoomState current = state.get();
+        if (current.isOccupied()) {
+            return TransitionResult.CONFLICT;
+        }
+        return state.compareAndSet(current, new RoomState(guest, current.version() + 1))
+            ? TransitionResult.APPLIED : TransitionResult.CONFLICT;
+    }
+    
+    public TransitionResult tryVacate(Guest expectedGuest) {
+        RoomState current = state.get();
+        if (!current.isOccupied() || current.occupiedBy() != expectedGuest) {
+            return TransitionResult.CONFLICT;
+        }
+        return state.compareAndSet(current, new RoomState(null, current.version() + 1))
+            ? TransitionResult.APPLIED : TransitionResult.CONFLICT;
+    }
+    
+    public TransitionResult transitionHousekeeping(HousekeepingStatus next) {
+        if (next == null) {
+            throw new IllegalArgumentException("Housekeeping status cannot be null");
+        }
+        HousekeepingStatus current = housekeeping.get();
+        if (!current.canTransitionTo(next)) {
+            return TransitionResult.REJECTED;
+        }
+        return housekeeping.compareAndSet(current, next) ? TransitionResult.APPLIED : TransitionResult.CONFLICT;
+    }
+    
+    // Vacant and inspected, so a guest can walk in now
+    public boolean isReadyForArrival() {
+        return !isOccupied() && housekeeping.get() == HousekeepingStatus.INSPECTED;
     }
     
     // Getters
     public String getRoomNumber() { return roomNumber; }
     public RoomType getRoomType() { return roomType; }
-    public Guest getOccupiedBy() { return occupiedBy; }
-    public boolean isOccupied() { return isOccupied; }
+    public Guest getOccupiedBy() { return state.get().occupiedBy(); }
+    public boolean isOccupied() { return state.get().isOccupied(); }
+    public long getVersion() { return state.get().version(); }
+    public HousekeepingStatus getHousekeepingStatus() { return housekeeping.get(); }
+    
+    private record RoomState(Guest occupiedBy, long version) {
+        boolean isOccupied() {
+            return occupiedBy != null;
+        }
+    }
 }
\ No newline at end of file
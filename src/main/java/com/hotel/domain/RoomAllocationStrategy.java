@@ -0,0 +1,26 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+
+public interface RoomAllocationStrategy {
+    // Returns a room of the type that is free for every night of the stay, or null
+    Room allocate(Hotel hotel, RoomType roomType, BookingDate startDate, BookingDate endDate);
+    
+    // Whether this particular room has no booking on any night of the stay
+    default boolean isFree(Hotel hotel, Room room, BookingDate startDate, BookingDate endDate) {
+        return isFree(hotel, room, startDate.epochDay(), endDate.epochDay());
+    }
+    
+    // Same check on inclusive epoch days, for callers that already work in days
+    boolean isFree(Hotel hotel, Room room, int startDay, int endDay);
+    
+    void booked(Reservation reservation);
+    
+    void released(Reservation reservation);
+    
+    // First epoch day on or after fromDay on which the room is booked, or Integer.MAX_VALUE
+    int nextBookedDay(Room room, int fromDay);
+    
+    // A strategy of the same kind with an empty calendar, e.g. for a chain reloaded from storage
+    RoomAllocationStrategy emptyCopy();
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.hotel.domain;
+
+import java.util.Arrays;
+
+// Booked day ranges of one room, inclusive on both ends like BookingDate.overlaps. Kept as
+// parallel sorted int epoch-day arrays so checking a stay never boxes a day number.
+public class RoomCalendar {
+    private int[] starts;
+    private int[] ends;
+    private int size;
+    
+    public RoomCalendar() {
+        this.starts = new int[4];
+        this.ends = new int[4];
+    }
+    
+    public boolean isFree(int startDay, int endDay) {
+        int before = floorIndex(endDay);
+        return before < 0 || ends[before] < startDay;
+    }
+    
+    public void book(int startDay, int endDay) {
+        int index = Arrays.binarySearch(starts, 0, size, startDay);
+        if (index >= 0) {
+            ends[index] = endDay;
+            return;
+        }
+        index = -index - 1;
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        System.arraycopy(starts, index, starts, index + 1, size - index);
+        System.arraycopy(ends, index, ends, index + 1, size - index);
+        starts[index] = startDay;
+        ends[index] = endDay;
+        size++;
+    }
+    
+    public void release(int startDay, int endDay) {
+        int index = Arrays.binarySearch(starts, 0, size, startDay);
+        if (index < 0 || ends[index] != endDay) return;
+        System.arraycopy(starts, index + 1, starts, index, size - index - 1);
+        System.arraycopy(ends, index + 1, ends, index, size - index - 1);
+        size--;
+    }
+    
+    // First booked day on or after day, or Integer.MAX_VALUE
+    public int nextBookedDay(int day) {
+        int before = floorIndex(day);
+        if (before >= 0 && ends[before] >= day) return day;
+        return before + 1 < size ? starts[before + 1] : Integer.MAX_VALUE;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    // Index of the last booking starting on or before day, or -1
+    private int floorIndex(int day) {
+        int index = Arrays.binarySearch(starts, 0, size, day);
+        return index >= 0 ? index : -index - 2;
+    }
+}
\ No newline at end of file
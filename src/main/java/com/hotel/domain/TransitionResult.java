@@ -0,0 +1,10 @@
+package com.hotel.domain;
+
+public enum TransitionResult {
+    APPLIED,
+    // Another terminal changed the state first
+    CONFLICT,
+    // The transition is not allowed from the current state or business rules
+    REJECTED,
+    NOT_FOUND
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.hotel.domain;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+public class Waitlist {
+    // Highest priority first, then first come first served
+    private static final Comparator<WaitlistEntry> PRIORITY_ORDER =
+        Comparator.comparingInt(WaitlistEntry::getPriority).reversed()
+            .thenComparingLong(WaitlistEntry::getSequence);
+    
+    private final Map<RoomType, DateIndex> entriesByRoomType;
+    private long nextSequence;
+    
+    public Waitlist() {
+        this.entriesByRoomType = new HashMap<>();
+    }
+    
+    public long nextSequence() {
+        return nextSequence++;
+    }
+    
+    public void add(WaitlistEntry entry) {
+        if (entry == null) {
+            throw new IllegalArgumentException("Waitlist entry cannot be null");
+        }
+        entriesByRoomType.computeIfAbsent(entry.getRoomType(), type -> new DateIndex()).add(entry);
+        // A restored entry keeps its place in line, so later ones must queue behind it
+        nextSequence = Math.max(nextSequence, entry.getSequence() + 1);
+    }
+    
+    public boolean remove(WaitlistEntry entry) {
+        if (entry == null) return false;
+        DateIndex entries = entriesByRoomType.get(entry.getRoomType());
+        if (entries == null || !entries.remove(entry)) {
+            return false;
+        }
+        if (entries.size == 0) {
+            entriesByRoomType.remove(entry.getRoomType());
+        }
+        return true;
+    }
+    
+    public WaitlistEntry pollBestMatch(RoomType roomType, Predicate<WaitlistEntry> canBook) {
+        return pollBestMatch(roomType, Integer.MIN_VALUE, Integer.MAX_VALUE, canBook);
+    }
+    
+    // Removes and returns the best waiting entry of the room type that overlaps the
+    // freed nights and can be booked. The date index narrows the candidates in
+    // O(log n); each candidate still costs one availability check, in priority order.
+    public WaitlistEntry pollBestMatch(RoomType roomType, int firstDay, int lastDay,
+                                       Predicate<WaitlistEntry> canBook) {
+        DateIndex entries = entriesByRoomType.get(roomType);
+        if (entries == null) return null;
+        
+        List<WaitlistEntry> candidates = entries.overlapping(firstDay, lastDay);
+        candidates.sort(PRIORITY_ORDER);
+        for (WaitlistEntry entry : candidates) {
+            if (canBook.test(entry)) {
+                remove(entry);
+                return entry;
+            }
+        }
+        return null;
+    }
+    
+    // Removes and returns the entries whose stay starts before the given epoch day;
+    // those nights have passed, so they can never be booked as asked
+    public List<WaitlistEntry> removeStartingBefore(int day) {
+        List<WaitlistEntry> removed = new ArrayList<>();
+        Iterator<DateIndex> indexes = entriesByRoomType.values().iterator();
+        while (indexes.hasNext()) {
+            DateIndex entries = indexes.next();
+            entries.removeStartingBefore(day, removed);
+            if (entries.size == 0) {
+                indexes.remove();
+            }
+        }
+        return removed;
+    }
+    
+    // Every waiting entry, best first
+    public List<WaitlistEntry> getEntries() {
+        List<WaitlistEntry> entries = new ArrayList<>(size());
+        for (DateIndex index : entriesByRoomType.values()) {
+            index.byStartDay.values().forEach(entries::addAll);
+        }
+        entries.sort(PRIORITY_ORDER);
+        return entries;
+    }
+    
+    public int size(RoomType roomType) {
+        DateIndex entries = entriesByRoomType.get(roomType);
+        return entries == null ? 0 : entries.size;
+    }
+    
+    public int size() {
+        int total = 0;
+        for (DateIndex entries : entriesByRoomType.values()) {
+            total += entries.size;
+        }
+        return total;
+    }
+    
+    // Entries of one room type keyed by first night. The longest stay ever added
+    // bounds how early an entry overlapping a range can start.
+    private static final class DateIndex {
+        private final TreeMap<Integer, List<WaitlistEntry>> byStartDay = new TreeMap<>();
+        private int longestStay;
+        private int size;
+        
+        void add(WaitlistEntry entry) {
+            byStartDay.computeIfAbsent(entry.getStartDate().epochDay(), day -> new ArrayList<>()).add(entry);
+            longestStay = Math.max(longestStay, entry.getStartDate().nightsUntil(entry.getEndDate()));
+            size++;
+        }
+        
+        boolean remove(WaitlistEntry entry) {
+            int startDay = entry.getStartDate().epochDay();
+            List<WaitlistEntry> starting = byStartDay.get(startDay);
+            if (starting == null || !starting.remove(entry)) {
+                return false;
+            }
+            if (starting.isEmpty()) {
+                byStartDay.remove(startDay);
+            }
+            size--;
+            return true;
+        }
+        
+        void removeStartingBefore(int day, List<WaitlistEntry> removed) {
+            Map<Integer, List<WaitlistEntry>> starting = byStartDay.headMap(day, false);
+            for (List<WaitlistEntry> entries : starting.values()) {
+                removed.addAll(entries);
+                size -= entries.size();
+            }
+            starting.clear();
+        }
+        
+        List<WaitlistEntry> overlapping(int firstDay, int lastDay) {
+            int earliestStart = (int) Math.max(Integer.MIN_VALUE, (long) firstDay - longestStay + 1);
+            List<WaitlistEntry> overlapping = new ArrayList<>();
+            for (List<WaitlistEntry> starting : byStartDay.subMap(earliestStart, true, lastDay, true).values()) {
+                for (WaitlistEntry entry : starting) {
+                    if (entry.getEndDate().epochDay() >= firstDay) {
+                        overlapping.add(entry);
+                    }
+                }
+            }
+            return overlapping;
+        }
+    }
+}
\ No newline at end of file
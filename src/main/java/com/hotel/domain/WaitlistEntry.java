@@ -0,0 +1,52 @@
+package com.hotel.domain;
+
+import com.hotel.domain.valueobjects.BookingDate;
+
+public class WaitlistEntry {
+    private final RoomType roomType;
+    private final BookingDate startDate;
+    private final BookingDate endDate;
+    private final HowMany howMany;
+    private final int priority;
+    private final long sequence;
+    private Reservation reservation;
+    
+    public WaitlistEntry(RoomType roomType, BookingDate startDate, BookingDate endDate,
+                         HowMany howMany, int priority, long sequence) {
+        validateParameters(roomType, startDate, endDate, howMany);
+        this.roomType = roomType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.howMany = howMany;
+        this.priority = priority;
+        this.sequence = sequence;
+    }
+    
+    private void validateParameters(RoomType roomType, BookingDate startDate,
+                                    BookingDate endDate, HowMany howMany) {
+        if (roomType == null) throw new IllegalArgumentException("Room type cannot be null");
+        if (startDate == null) throw new IllegalArgumentException("Start date cannot be null");
+        if (endDate == null) throw new IllegalArgumentException("End date cannot be null");
+        if (howMany == null) throw new IllegalArgumentException("HowMany cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+    }
+    
+    void promote(Reservation reservation) {
+        if (this.reservation != null) {
+            throw new IllegalStateException("Waitlist entry already promoted");
+        }
+        this.reservation = reservation;
+    }
+    
+    // Getters
+    public RoomType getRoomType() { return roomType; }
+    public BookingDate getStartDate() { return startDate; }
+    public BookingDate getEndDate() { return endDate; }
+    public HowMany getHowMany() { return howMany; }
+    public int getPriority() { return priority; }
+    public long getSequence() { return sequence; }
+    public Reservation getReservation() { return reservation; }
+    public boolean isPromoted() { return reservation != null; }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.hotel.domain;
+
+public interface WaitlistListener {
+    void onPromoted(WaitlistEntry entry);
+    
+    // The entry's start date passed before a room came free
+    default void onExpired(WaitlistEntry entry) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.hotel.events;
+
+import java.util.function.BooleanSupplier;
+
+// Consumer loop that hands every event published since its last pass to the
+// handler in one batch, flagging the last one so handlers can flush. A handler
+// that throws is reported and skipped past, never allowed to end the loop.
+public class BatchEventProcessor implements Runnable {
+    private final RingBuffer ringBuffer;
+    private final EventHandler handler;
+    private final Sequence sequence;
+    private final BooleanSupplier haltedCheck;
+    private volatile EventExceptionHandler exceptionHandler;
+    private volatile boolean running;
+    
+    BatchEventProcessor(RingBuffer ringBuffer, EventHandler handler) {
+        this.ringBuffer = ringBuffer;
+        this.handler = handler;
+        this.sequence = new Sequence();
+        this.haltedCheck = () -> !running;
+        this.exceptionHandler = new LoggingExceptionHandler();
+        // Set here rather than in run() so a halt before the thread starts isn't lost
+        this.running = true;
+    }
+    
+    @Override
+    public void run() {
+        Sequence cursor = ringBuffer.getCursorSequence();
+        WaitStrategy waitStrategy = ringBuffer.getWaitStrategy();
+        long nextSequence = sequence.get() + 1;
+        
+        while (running || nextSequence <= cursor.get()) {
+            long available = waitStrategy.waitFor(nextSequence, cursor, haltedCheck);
+            if (available < nextSequence) continue;
+            
+            long published = ringBuffer.highestPublishedSequence(nextSequence, available);
+            while (nextSequence <= published) {
+                ReservationEvent event = ringBuffer.get(nextSequence);
+                try {
+                    handler.onEvent(event, nextSequence, nextSequence == published);
+                } catch (RuntimeException | Error e) {
+                    reportFailure(e, nextSequence, event);
+                }
+                nextSequence++;
+            }
+            sequence.set(published);
+        }
+    }
+    
+    private void reportFailure(Throwable failure, long failedSequence, ReservationEvent event) {
+        try {
+            exceptionHandler.handleEventException(failure, failedSequence, event);
+        } catch (RuntimeException ignored) {
+            // A broken exception handler must not stop the consumer either
+        }
+    }
+    
+    public void halt() {
+        running = false;
+    }
+    
+    void setExceptionHandler(EventExceptionHandler exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+    }
+    
+    // Getters
+    public long getSequence() { return sequence.get(); }
+    Sequence getSequenceRef() { return sequence; }
+}
\ No newline at end of file
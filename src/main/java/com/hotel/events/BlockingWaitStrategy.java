@@ -0,0 +1,48 @@
+package com.hotel.events;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+// Parks consumers until a producer signals, trading latency for idle CPU
+public class BlockingWaitStrategy implements WaitStrategy {
+    private static final long HALT_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final ReentrantLock lock;
+    private final Condition published;
+    
+    public BlockingWaitStrategy() {
+        this.lock = new ReentrantLock();
+        this.published = lock.newCondition();
+    }
+    
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+        long available = cursor.get();
+        if (available >= sequence) return available;
+        
+        lock.lock();
+        try {
+            while ((available = cursor.get()) < sequence) {
+                if (halted.getAsBoolean()) return available;
+                published.awaitNanos(HALT_CHECK_NANOS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        return available;
+    }
+    
+    @Override
+    public void signalAllWhenBlocking() {
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.hotel.events;
+
+import java.util.function.BooleanSupplier;
+
+// Lowest latency, burns a core per consumer
+public class BusySpinWaitStrategy implements WaitStrategy {
+    
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+        long available;
+        while ((available = cursor.get()) < sequence) {
+            if (halted.getAsBoolean()) return available;
+            Thread.onSpinWait();
+        }
+        return available;
+    }
+    
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.hotel.events;
+
+// Told about a handler that threw; the processor then moves past the event so a
+// failing consumer can't stall its gating sequence and with it every publisher
+public interface EventExceptionHandler {
+    void handleEventException(Throwable failure, long sequence, ReservationEvent event);
+}
\ No newline at end of file
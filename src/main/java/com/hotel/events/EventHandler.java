@@ -0,0 +1,5 @@
+package com.hotel.events;
+
+public interface EventHandler {
+    void onEvent(ReservationEvent event, long sequence, boolean endOfBatch);
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.hotel.events;
+
+// Default for the bus: logs the failure and the event it was handling, then carries on
+public class LoggingExceptionHandler implements EventExceptionHandler {
+    private static final System.Logger LOGGER = System.getLogger(ReservationEventBus.class.getName());
+    
+    @Override
+    public void handleEventException(Throwable failure, long sequence, ReservationEvent event) {
+        LOGGER.log(System.Logger.Level.ERROR, () -> "Event handler failed on " + event.getType()
+            + " at sequence " + sequence, failure);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.hotel.events;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReservationStatus;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.Name;
+
+// Pre-allocated ring buffer slot - overwritten in place, never created per event.
+// The reservation keeps changing after publication, so the fields consumers need
+// are copied into the slot while the publisher still holds the chain's lock.
+public class ReservationEvent {
+    private ReservationEventType type;
+    private Reservation reservation;
+    private long sequence;
+    private long timestampNanos;
+    private String number;
+    private String roomNumber;
+    private RoomType roomType;
+    private int startDay;
+    private int endDay;
+    private ReservationStatus status;
+    private String guestId;
+    private Name guestName;
+    
+    void set(ReservationEventType type, Reservation reservation, long sequence, long timestampNanos) {
+        this.type = type;
+        this.reservation = reservation;
+        this.sequence = sequence;
+        this.timestampNanos = timestampNanos;
+        if (reservation == null) {
+            number = null;
+            roomNumber = null;
+            roomType = null;
+            startDay = 0;
+            endDay = 0;
+            status = null;
+            guestId = null;
+            guestName = null;
+            return;
+        }
+        Guest guest = reservation.getGuest();
+        number = reservation.getNumber();
+        roomNumber = reservation.getRoom() == null ? null : reservation.getRoom().getRoomNumber();
+        roomType = reservation.getRoomType();
+        startDay = reservation.getStartDate().epochDay();
+        endDay = reservation.getEndDate().epochDay();
+        status = reservation.getStatus();
+        guestId = guest == null ? null : guest.getGuestId();
+        guestName = guest == null ? null : guest.getName();
+    }
+    
+    // Getters
+    public ReservationEventType getType() { return type; }
+    public Reservation getReservation() { return reservation; }
+    public long getSequence() { return sequence; }
+    public long getTimestampNanos() { return timestampNanos; }
+    public String getNumber() { return number; }
+    public String getRoomNumber() { return roomNumber; }
+    public RoomType getRoomType() { return roomType; }
+    public int getStartDay() { return startDay; }
+    public int getEndDay() { return endDay; }
+    public ReservationStatus getStatus() { return status; }
+    public String getGuestId() { return guestId; }
+    public Name getGuestName() { return guestName; }
+}
\ No newline at end of file
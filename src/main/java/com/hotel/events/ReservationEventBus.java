@@ -0,0 +1,102 @@
+package com.hotel.events;
+
+import com.hotel.domain.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// In-process bus for reservation lifecycle changes; each handler runs on its own
+// consumer thread and sees every event in sequence order
+public class ReservationEventBus implements AutoCloseable {
+    private final RingBuffer ringBuffer;
+    private final List<BatchEventProcessor> processors;
+    private final List<Thread> threads;
+    private EventExceptionHandler exceptionHandler;
+    private volatile boolean started;
+    private volatile boolean closed;
+    
+    public ReservationEventBus(int bufferSize, WaitStrategy waitStrategy) {
+        this.ringBuffer = new RingBuffer(bufferSize, waitStrategy);
+        this.processors = new ArrayList<>();
+        this.threads = new ArrayList<>();
+        this.exceptionHandler = new LoggingExceptionHandler();
+    }
+    
+    public synchronized void addHandler(EventHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Event handler cannot be null");
+        }
+        if (started) {
+            throw new IllegalStateException("Handlers must be added before the bus is started");
+        }
+        BatchEventProcessor processor = new BatchEventProcessor(ringBuffer, handler);
+        ringBuffer.addGatingSequence(processor.getSequenceRef());
+        processors.add(processor);
+    }
+    
+    // Replaces the default, which logs handler failures
+    public synchronized void setExceptionHandler(EventExceptionHandler exceptionHandler) {
+        if (exceptionHandler == null) {
+            throw new IllegalArgumentException("Exception handler cannot be null");
+        }
+        if (started) {
+            throw new IllegalStateException("Exception handler must be set before the bus is started");
+        }
+        this.exceptionHandler = exceptionHandler;
+    }
+    
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("Event bus already started");
+        }
+        started = true;
+        for (int i = 0; i < processors.size(); i++) {
+            processors.get(i).setExceptionHandler(exceptionHandler);
+            Thread thread = new Thread(processors.get(i), "reservation-events-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+    
+    // Dropped once the bus is closed: nothing consumes them, and publishers such as
+    // HotelChain hold their own lock while publishing
+    public void publish(ReservationEventType type, Reservation reservation) {
+        if (closed) return;
+        ringBuffer.publish(type, reservation);
+    }
+    
+    // Waits until every handler has consumed all events published so far
+    public void drain() {
+        if (!started) return;
+        long target = ringBuffer.getCursor();
+        for (BatchEventProcessor processor : processors) {
+            while (processor.getSequence() < target) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        closed = true;
+        drain();
+        for (BatchEventProcessor processor : processors) {
+            processor.halt();
+            ringBuffer.removeGatingSequence(processor.getSequenceRef());
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    // Getters
+    public boolean isClosed() { return closed; }
+    public long getCursor() { return ringBuffer.getCursor(); }
+    public int getBufferSize() { return ringBuffer.getBufferSize(); }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.hotel.events;
+
+public enum ReservationEventType {
+    MADE, CANCELLED, CHECKED_IN, CHECKED_OUT, NO_SHOW, MODIFIED
+}
\ No newline at end of file
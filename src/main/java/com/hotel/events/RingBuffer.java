@@ -0,0 +1,124 @@
+package com.hotel.events;
+
+import com.hotel.domain.Reservation;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Multi-producer ring of pre-allocated events; producers claim slots with CAS and
+// never overwrite a slot until every consumer has moved past it
+public class RingBuffer {
+    private final ReservationEvent[] entries;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray availableRounds;
+    private final Sequence cursor;
+    private final WaitStrategy waitStrategy;
+    private volatile Sequence[] gatingSequences;
+    private volatile long cachedGatingSequence;
+    
+    public RingBuffer(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of 2");
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy cannot be null");
+        }
+        this.entries = new ReservationEvent[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = new ReservationEvent();
+        }
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.availableRounds = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            availableRounds.set(i, -1);
+        }
+        this.cursor = new Sequence();
+        this.waitStrategy = waitStrategy;
+        this.gatingSequences = new Sequence[0];
+        this.cachedGatingSequence = Sequence.INITIAL_VALUE;
+    }
+    
+    public void publish(ReservationEventType type, Reservation reservation) {
+        long sequence = next();
+        entries[(int) sequence & mask].set(type, reservation, sequence, System.nanoTime());
+        availableRounds.set((int) sequence & mask, (int) (sequence >>> indexShift));
+        waitStrategy.signalAllWhenBlocking();
+    }
+    
+    private long next() {
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - entries.length;
+            long gating = cachedGatingSequence;
+            
+            if (wrapPoint > gating) {
+                gating = minimumGatingSequence(current);
+                if (wrapPoint > gating) {
+                    // Buffer full - wait for the slowest consumer instead of overwriting
+                    LockSupport.parkNanos(1);
+                    continue;
+                }
+                cachedGatingSequence = gating;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+    
+    private long minimumGatingSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Sequence sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+    
+    // Claimed sequences may still be in flight, so consumers only read up to
+    // the last contiguous published one
+    long highestPublishedSequence(long lowerBound, long availableSequence) {
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+            if (availableRounds.get((int) sequence & mask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+    
+    synchronized void addGatingSequence(Sequence sequence) {
+        Sequence[] current = gatingSequences;
+        Sequence[] updated = new Sequence[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = sequence;
+        sequence.set(cursor.get());
+        gatingSequences = updated;
+    }
+    
+    // A halted consumer must stop gating, or producers park once the ring wraps
+    synchronized void removeGatingSequence(Sequence sequence) {
+        Sequence[] current = gatingSequences;
+        int count = 0;
+        for (Sequence candidate : current) {
+            if (candidate != sequence) count++;
+        }
+        Sequence[] updated = new Sequence[count];
+        int index = 0;
+        for (Sequence candidate : current) {
+            if (candidate != sequence) updated[index++] = candidate;
+        }
+        gatingSequences = updated;
+    }
+    
+    ReservationEvent get(long sequence) {
+        return entries[(int) sequence & mask];
+    }
+    
+    // Getters
+    public int getBufferSize() { return entries.length; }
+    public long getCursor() { return cursor.get(); }
+    Sequence getCursorSequence() { return cursor; }
+    WaitStrategy getWaitStrategy() { return waitStrategy; }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.hotel.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Sequence {
+    public static final long INITIAL_VALUE = -1L;
+    
+    private final AtomicLong value;
+    
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+    
+    public Sequence(long initialValue) {
+        this.value = new AtomicLong(initialValue);
+    }
+    
+    public long get() {
+        return value.get();
+    }
+    
+    public void set(long newValue) {
+        value.set(newValue);
+    }
+    
+    public boolean compareAndSet(long expected, long newValue) {
+        return value.compareAndSet(expected, newValue);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.hotel.events;
+
+import java.util.function.BooleanSupplier;
+
+public interface WaitStrategy {
+    // Returns the highest claimed sequence once it reaches the requested one,
+    // or a lower value when the consumer has been halted
+    long waitFor(long sequence, Sequence cursor, BooleanSupplier halted);
+    
+    void signalAllWhenBlocking();
+}
\ No newline at end of file
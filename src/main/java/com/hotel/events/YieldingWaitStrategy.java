@@ -0,0 +1,28 @@
+package com.hotel.events;
+
+import java.util.function.BooleanSupplier;
+
+// Spins briefly, then yields the CPU to other threads between checks
+public class YieldingWaitStrategy implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+    
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+        int counter = SPIN_TRIES;
+        long available;
+        while ((available = cursor.get()) < sequence) {
+            if (halted.getAsBoolean()) return available;
+            if (counter > 0) {
+                counter--;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        return available;
+    }
+    
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.hotel.export;
+
+// JSON is written as one object per line so a consumer can stream it back too
+public enum ExportFormat {
+    CSV, JSON
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.hotel.export;
+
+// sequence is the snapshot's; pass it to exportChangedSince for the next increment
+public record ExportResult(long rows, long bytes, long sequence) {
+}
\ No newline at end of file
@@ -0,0 +1,377 @@
+package com.hotel.export;
+
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.domain.valueobjects.Name;
+import com.hotel.readmodel.ReadModelSnapshot;
+import com.hotel.readmodel.ReservationProjection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Streams read model projections to a channel as UTF-8 CSV or JSON lines. Rows are
+// encoded field by field into one direct buffer that is drained whenever it fills,
+// so memory stays at the buffer size however many rows go out and no row builds a
+// String. Reading a snapshot takes no lock, so a long export never holds up
+// bookings. One export at a time per instance; reuse it to reuse the buffer.
+public class ReservationExporter {
+    private static final int MIN_BUFFER_SIZE = 64;
+    private static final byte[] CSV_HEADER = utf8("number,hotel,room_number,room_kind,nightly_rate,currency,"
+        + "start_date,end_date,nights,status,guest_id,guest_first_name,guest_last_name,sequence\n");
+    private static final byte[] NUMBER = utf8("{\"number\":");
+    private static final byte[] HOTEL = utf8(",\"hotel\":");
+    private static final byte[] ROOM_NUMBER = utf8(",\"roomNumber\":");
+    private static final byte[] ROOM_KIND = utf8(",\"roomKind\":");
+    private static final byte[] NIGHTLY_RATE = utf8(",\"nightlyRate\":");
+    private static final byte[] CURRENCY = utf8(",\"currency\":");
+    private static final byte[] START_DATE = utf8(",\"startDate\":");
+    private static final byte[] END_DATE = utf8(",\"endDate\":");
+    private static final byte[] NIGHTS = utf8(",\"nights\":");
+    private static final byte[] STATUS = utf8(",\"status\":");
+    private static final byte[] GUEST_ID = utf8(",\"guestId\":");
+    private static final byte[] GUEST_FIRST_NAME = utf8(",\"guestFirstName\":");
+    private static final byte[] GUEST_LAST_NAME = utf8(",\"guestLastName\":");
+    private static final byte[] SEQUENCE = utf8(",\"sequence\":");
+    private static final byte[] NULL = utf8("null");
+    private static final byte[] HEX = utf8("0123456789abcdef");
+    
+    private final ExportFormat format;
+    private final ByteBuffer buffer;
+    private final byte[] digits;
+    // Kind, nightly rate and currency per room type, encoded once
+    private final Map<RoomType, byte[][]> roomTypeFields;
+    
+    private WritableByteChannel channel;
+    private long bytes;
+    private long rows;
+    
+    public ReservationExporter(ExportFormat format, int bufferSize) {
+        if (format == null) {
+            throw new IllegalArgumentException("Export format cannot be null");
+        }
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.digits = new byte[20];
+        this.roomTypeFields = new IdentityHashMap<>();
+    }
+    
+    public ExportResult exportAll(ReadModelSnapshot snapshot, WritableByteChannel channel) throws IOException {
+        return export(snapshot, channel, Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE);
+    }
+    
+    // Stays overlapping the inclusive date range
+    public ExportResult exportStays(ReadModelSnapshot snapshot, BookingDate startDate, BookingDate endDate,
+                                    WritableByteChannel channel) throws IOException {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        return export(snapshot, channel, startDate.epochDay(), endDate.epochDay(), Long.MIN_VALUE);
+    }
+    
+    // Reservations whose last change is newer than the sequence of an earlier export
+    public ExportResult exportChangedSince(ReadModelSnapshot snapshot, long sequence,
+                                           WritableByteChannel channel) throws IOException {
+        return export(snapshot, channel, Integer.MIN_VALUE, Integer.MAX_VALUE, sequence);
+    }
+    
+    private ExportResult export(ReadModelSnapshot snapshot, WritableByteChannel channel,
+                                int firstDay, int lastDay, long afterSequence) throws IOException {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Snapshot cannot be null");
+        }
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        this.channel = channel;
+        this.bytes = 0;
+        this.rows = 0;
+        buffer.clear();
+        try {
+            if (format == ExportFormat.CSV) {
+                putBytes(CSV_HEADER);
+            }
+            snapshot.forEachReservation(projection -> {
+                if (projection.sequence() <= afterSequence
+                        || !BookingDate.overlaps(projection.startDay(), projection.endDay(), firstDay, lastDay)) {
+                    return;
+                }
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(projection);
+                    } else {
+                        writeJson(projection);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows++;
+            });
+            drain();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            this.channel = null;
+        }
+        return new ExportResult(rows, bytes, snapshot.getSequence());
+    }
+    
+    private void writeCsv(ReservationProjection projection) throws IOException {
+        byte[][] roomType = roomTypeFields(projection.roomType());
+        Name guestName = projection.guestName();
+        putCsv(projection.number());
+        put((byte) ',');
+        putCsv(projection.hotelName());
+        put((byte) ',');
+        putCsv(projection.roomNumber());
+        put((byte) ',');
+        putBytes(roomType[0]);
+        put((byte) ',');
+        putBytes(roomType[1]);
+        put((byte) ',');
+        putBytes(roomType[2]);
+        put((byte) ',');
+        putDate(projection.startDay());
+        put((byte) ',');
+        putDate(projection.endDay());
+        put((byte) ',');
+        putLong(nights(projection));
+        put((byte) ',');
+        putText(projection.status().name());
+        put((byte) ',');
+        putCsv(projection.guestId());
+        put((byte) ',');
+        putCsv(guestName == null ? null : guestName.firstName());
+        put((byte) ',');
+        putCsv(guestName == null ? null : guestName.lastName());
+        put((byte) ',');
+        putLong(projection.sequence());
+        put((byte) '\n');
+    }
+    
+    private void writeJson(ReservationProjection projection) throws IOException {
+        byte[][] roomType = roomTypeFields(projection.roomType());
+        Name guestName = projection.guestName();
+        putBytes(NUMBER);
+        putJson(projection.number());
+        putBytes(HOTEL);
+        putJson(projection.hotelName());
+        putBytes(ROOM_NUMBER);
+        putJson(projection.roomNumber());
+        putBytes(ROOM_KIND);
+        put((byte) '"');
+        putBytes(roomType[0]);
+        put((byte) '"');
+        putBytes(NIGHTLY_RATE);
+        putBytes(roomType[1]);
+        putBytes(CURRENCY);
+        put((byte) '"');
+        putBytes(roomType[2]);
+        put((byte) '"');
+        putBytes(START_DATE);
+        put((byte) '"');
+        putDate(projection.startDay());
+        put((byte) '"');
+        putBytes(END_DATE);
+        put((byte) '"');
+        putDate(projection.endDay());
+        put((byte) '"');
+        putBytes(NIGHTS);
+        putLong(nights(projection));
+        putBytes(STATUS);
+        putJson(projection.status().name());
+        putBytes(GUEST_ID);
+        putJson(projection.guestId());
+        putBytes(GUEST_FIRST_NAME);
+        putJson(guestName == null ? null : guestName.firstName());
+        putBytes(GUEST_LAST_NAME);
+        putJson(guestName == null ? null : guestName.lastName());
+        putBytes(SEQUENCE);
+        putLong(projection.sequence());
+        put((byte) '}');
+        put((byte) '\n');
+    }
+    
+    // Same count as BookingDate.nightsUntil without building the dates
+    private static int nights(ReservationProjection projection) {
+        return projection.endDay() - projection.startDay() + 1;
+    }
+    
+    private byte[][] roomTypeFields(RoomType roomType) {
+        byte[][] fields = roomTypeFields.get(roomType);
+        if (fields == null) {
+            fields = new byte[][] {
+                utf8(roomType.getKind().name()),
+                utf8(roomType.getCost().amount().toPlainString()),
+                utf8(roomType.getCost().currency().getCurrencyCode())
+            };
+            roomTypeFields.put(roomType, fields);
+        }
+        return fields;
+    }
+    
+    // Quoted only when the value holds a delimiter, quote or line break
+    private void putCsv(String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            putText(value);
+            return;
+        }
+        put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') put((byte) '"');
+            i = putChar(value, i);
+        }
+        put((byte) '"');
+    }
+    
+    private void putJson(String value) throws IOException {
+        if (value == null) {
+            putBytes(NULL);
+            return;
+        }
+        put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                put((byte) '\\');
+                put((byte) c);
+            } else if (c < 0x20) {
+                put((byte) '\\');
+                put((byte) 'u');
+                put((byte) '0');
+                put((byte) '0');
+                put(HEX[c >> 4]);
+                put(HEX[c & 0xF]);
+            } else {
+                i = putChar(value, i);
+            }
+        }
+        put((byte) '"');
+    }
+    
+    private void putText(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            i = putChar(value, i);
+        }
+    }
+    
+    // UTF-8 encodes the char at index, consuming its low surrogate too; returns the
+    // index of the last char used. Unpaired surrogates become '?'.
+    private int putChar(String value, int index) throws IOException {
+        char c = value.charAt(index);
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (c < 0x800) {
+            put((byte) (0xC0 | c >> 6));
+            put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            put((byte) (0xF0 | codePoint >> 18));
+            put((byte) (0x80 | codePoint >> 12 & 0x3F));
+            put((byte) (0x80 | codePoint >> 6 & 0x3F));
+            put((byte) (0x80 | codePoint & 0x3F));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            put((byte) '?');
+        } else {
+            put((byte) (0xE0 | c >> 12));
+            put((byte) (0x80 | c >> 6 & 0x3F));
+            put((byte) (0x80 | c & 0x3F));
+        }
+        return index;
+    }
+    
+    // ISO yyyy-MM-dd straight from the epoch day, the same civil calendar
+    // arithmetic LocalDate.ofEpochDay uses
+    private void putDate(int epochDay) throws IOException {
+        long zeroDay = epochDay + 719_468L;
+        long era = Math.floorDiv(zeroDay, 146_097L);
+        long dayOfEra = zeroDay - era * 146_097L;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long marchMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * marchMonth + 2) / 5 + 1);
+        int month = (int) (marchMonth < 10 ? marchMonth + 3 : marchMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        
+        if (year >= 0 && year < 1_000) {
+            for (long pad = 1_000; pad > Math.max(year, 1); pad /= 10) {
+                put((byte) '0');
+            }
+        }
+        putLong(year);
+        put((byte) '-');
+        putTwoDigits(month);
+        put((byte) '-');
+        putTwoDigits(day);
+    }
+    
+    private void putTwoDigits(int value) throws IOException {
+        put((byte) ('0' + value / 10));
+        put((byte) ('0' + value % 10));
+    }
+    
+    private void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            putText(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (length > 0) {
+            put(digits[--length]);
+        }
+    }
+    
+    private void putBytes(byte[] source) throws IOException {
+        int offset = 0;
+        while (offset < source.length) {
+            if (!buffer.hasRemaining()) drain();
+            int length = Math.min(buffer.remaining(), source.length - offset);
+            buffer.put(source, offset, length);
+            offset += length;
+        }
+    }
+    
+    private void put(byte value) throws IOException {
+        if (!buffer.hasRemaining()) drain();
+        buffer.put(value);
+    }
+    
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.hotel.housekeeping;
+
+import com.hotel.domain.HousekeepingStatus;
+import com.hotel.domain.Room;
+import com.hotel.domain.TransitionResult;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class HousekeepingScheduler {
+    // Room needed soonest first, then first vacated
+    private static final Comparator<HousekeepingTask> URGENCY =
+        Comparator.comparingLong(HousekeepingTask::getArrivalDay)
+            .thenComparingLong(HousekeepingTask::getSequence);
+    
+    private final Function<Room, String> zoneOf;
+    private final Map<String, PriorityBlockingQueue<HousekeepingTask>> queues;
+    private final AtomicLong nextSequence;
+    private final AtomicLong dispatched;
+    private final AtomicLong dispatchNanos;
+    private final AtomicLong steals;
+    
+    public HousekeepingScheduler() {
+        this(HousekeepingScheduler::floorOf);
+    }
+    
+    public HousekeepingScheduler(Function<Room, String> zoneOf) {
+        if (zoneOf == null) {
+            throw new IllegalArgumentException("Zone function cannot be null");
+        }
+        this.zoneOf = zoneOf;
+        this.queues = new ConcurrentHashMap<>();
+        this.nextSequence = new AtomicLong();
+        this.dispatched = new AtomicLong();
+        this.dispatchNanos = new AtomicLong();
+        this.steals = new AtomicLong();
+    }
+    
+    // "1204" is on floor "12"; short numbers share the ground floor
+    public static String floorOf(Room room) {
+        String number = room.getRoomNumber();
+        return number.length() > 2 ? number.substring(0, number.length() - 2) : "0";
+    }
+    
+    // Called on check-out; the room stays unsellable until it is cleaned and inspected.
+    // Returns null when the room could not be marked dirty, e.g. it already awaits a clean.
+    public HousekeepingTask roomVacated(Room room, long nextArrivalDay) {
+        if (room == null) {
+            throw new IllegalArgumentException("Room cannot be null");
+        }
+        if (room.transitionHousekeeping(HousekeepingStatus.DIRTY) != TransitionResult.APPLIED) {
+            return null;
+        }
+        return enqueue(room, nextArrivalDay, TaskKind.CLEAN);
+    }
+    
+    // Queues the next task of a room that is already out of service, e.g. one reloaded
+    // from storage as DIRTY or CLEAN. Returns null for an INSPECTED room.
+    public HousekeepingTask resume(Room room, long nextArrivalDay) {
+        if (room == null) {
+            throw new IllegalArgumentException("Room cannot be null");
+        }
+        return switch (room.getHousekeepingStatus()) {
+            case DIRTY -> enqueue(room, nextArrivalDay, TaskKind.CLEAN);
+            case CLEAN -> enqueue(room, nextArrivalDay, TaskKind.INSPECT);
+            case INSPECTED -> null;
+        };
+    }
+    
+    // Takes the most urgent task of the attendant's zone, or steals the most urgent one
+    // elsewhere when the zone has run dry
+    public HousekeepingTask poll(String zone) {
+        long started = System.nanoTime();
+        PriorityBlockingQueue<HousekeepingTask> own = queues.get(zone);
+        HousekeepingTask task = own == null ? null : own.poll();
+        if (task == null) {
+            task = steal(zone);
+        }
+        if (task != null) {
+            dispatched.incrementAndGet();
+            dispatchNanos.addAndGet(System.nanoTime() - started);
+        }
+        return task;
+    }
+    
+    private HousekeepingTask steal(String zone) {
+        while (true) {
+            PriorityBlockingQueue<HousekeepingTask> victim = null;
+            HousekeepingTask best = null;
+            for (Map.Entry<String, PriorityBlockingQueue<HousekeepingTask>> entry : queues.entrySet()) {
+                if (entry.getKey().equals(zone)) continue;
+                HousekeepingTask head = entry.getValue().peek();
+                if (head != null && (best == null || URGENCY.compare(head, best) < 0)) {
+                    best = head;
+                    victim = entry.getValue();
+                }
+            }
+            if (victim == null) return null;
+            // Another attendant may have taken the head meanwhile; whatever is next is still urgent
+            HousekeepingTask task = victim.poll();
+            if (task != null) {
+                steals.incrementAndGet();
+                return task;
+            }
+        }
+    }
+    
+    // A finished clean goes on to inspection; a finished inspection releases the room
+    public TransitionResult complete(HousekeepingTask task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        Room room = task.getRoom();
+        if (task.getKind() == TaskKind.INSPECT) {
+            return room.transitionHousekeeping(HousekeepingStatus.INSPECTED);
+        }
+        TransitionResult result = room.transitionHousekeeping(HousekeepingStatus.CLEAN);
+        if (result == TransitionResult.APPLIED) {
+            enqueue(room, task.getArrivalDay(), TaskKind.INSPECT);
+        }
+        return result;
+    }
+    
+    // Inspector sends the room back for another clean
+    public TransitionResult failInspection(HousekeepingTask task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        if (task.getKind() != TaskKind.INSPECT) {
+            throw new IllegalStateException("Only inspection tasks can fail inspection");
+        }
+        TransitionResult result = task.getRoom().transitionHousekeeping(HousekeepingStatus.DIRTY);
+        if (result == TransitionResult.APPLIED) {
+            enqueue(task.getRoom(), task.getArrivalDay(), TaskKind.CLEAN);
+        }
+        return result;
+    }
+    
+    private HousekeepingTask enqueue(Room room, long arrivalDay, TaskKind kind) {
+        String zone = zoneOf.apply(room);
+        HousekeepingTask task = new HousekeepingTask(room, zone, arrivalDay, nextSequence.getAndIncrement(), kind);
+        queues.computeIfAbsent(zone, key -> new PriorityBlockingQueue<>(16, URGENCY)).add(task);
+        return task;
+    }
+    
+    public int pending(String zone) {
+        PriorityBlockingQueue<HousekeepingTask> queue = queues.get(zone);
+        return queue == null ? 0 : queue.size();
+    }
+    
+    public int pending() {
+        int total = 0;
+        for (PriorityBlockingQueue<HousekeepingTask> queue : queues.values()) {
+            total += queue.size();
+        }
+        return total;
+    }
+    
+    public double getAverageDispatchMicros() {
+        long count = dispatched.get();
+        return count == 0 ? 0 : dispatchNanos.get() / 1_000.0 / count;
+    }
+    
+    // Getters
+    public long getDispatched() { return dispatched.get(); }
+    public long getSteals() { return steals.get(); }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.hotel.housekeeping;
+
+import com.hotel.domain.Room;
+
+public final class HousekeepingTask {
+    private final Room room;
+    private final String zone;
+    private final long arrivalDay;
+    private final long sequence;
+    private final TaskKind kind;
+    
+    HousekeepingTask(Room room, String zone, long arrivalDay, long sequence, TaskKind kind) {
+        this.room = room;
+        this.zone = zone;
+        this.arrivalDay = arrivalDay;
+        this.sequence = sequence;
+        this.kind = kind;
+    }
+    
+    // Getters
+    public Room getRoom() { return room; }
+    public String getZone() { return zone; }
+    public long getArrivalDay() { return arrivalDay; }
+    public long getSequence() { return sequence; }
+    public TaskKind getKind() { return kind; }
+    
+    @Override
+    public String toString() {
+        return kind + " " + room.getRoomNumber() + " (zone " + zone + ")";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.hotel.housekeeping;
+
+public enum TaskKind {
+    CLEAN, INSPECT
+}
\ No newline at end of file
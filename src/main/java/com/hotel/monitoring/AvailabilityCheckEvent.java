@@ -0,0 +1,57 @@
+package com.hotel.monitoring;
+
+import com.hotel.domain.RoomType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(AvailabilityCheckEvent.NAME)
+@Label("Availability Check")
+@Category({"Hotel", "Booking"})
+@Description("Busiest-night count of booked rooms for a RoomType and stay")
+@StackTrace(false)
+public class AvailabilityCheckEvent extends Event {
+    public static final String NAME = "com.hotel.AvailabilityCheck";
+    
+    private static final AvailabilityCheckEvent PROBE = new AvailabilityCheckEvent();
+    
+    // Null while no recording enables the event, so tracing costs no allocation when off
+    public static AvailabilityCheckEvent start() {
+        if (!PROBE.isEnabled()) return null;
+        AvailabilityCheckEvent event = new AvailabilityCheckEvent();
+        event.begin();
+        return event;
+    }
+    
+    @Label("Room Kind")
+    public String roomKind;
+    
+    @Label("Nights")
+    public int nights;
+    
+    @Label("Candidates Scanned")
+    @Description("Reservations walked; zero when the cache answered")
+    public int candidatesScanned;
+    
+    @Label("Cache Hit")
+    public boolean cacheHit;
+    
+    @Label("Peak Booked")
+    public int peakBooked;
+    
+    public static void commit(AvailabilityCheckEvent event, RoomType roomType, int firstDay, int lastDay,
+                              int candidatesScanned, boolean cacheHit, int peakBooked) {
+        if (event == null) return;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.roomKind = roomType.getKind().name();
+        event.nights = lastDay - firstDay + 1;
+        event.candidatesScanned = candidatesScanned;
+        event.cacheHit = cacheHit;
+        event.peakBooked = peakBooked;
+        event.commit();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.hotel.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Summarizes the booking events of a JFR recording into latency per operation,
+// e.g. "makeReservation MADE" or "availabilityCheck scanned"
+public final class BookingRecordingAnalyzer {
+    public static final String PROFILE = "/hotel-booking.jfc";
+    
+    private BookingRecordingAnalyzer() {
+    }
+    
+    // The bundled hotel-booking.jfc, for starting a Recording programmatically
+    public static Configuration bundledConfiguration() throws IOException, ParseException {
+        InputStream profile = BookingRecordingAnalyzer.class.getResourceAsStream(PROFILE);
+        if (profile == null) {
+            throw new IOException("Missing JFR profile on classpath: " + PROFILE);
+        }
+        try (Reader reader = new InputStreamReader(profile, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+    
+    public static List<LatencySummary> analyze(Path recording) throws IOException {
+        if (recording == null) {
+            throw new IllegalArgumentException("Recording cannot be null");
+        }
+        Map<String, LongList> durations = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String key = keyOf(event);
+                if (key != null) {
+                    durations.computeIfAbsent(key, k -> new LongList()).add(event.getDuration().toNanos());
+                }
+            }
+        }
+        
+        List<LatencySummary> summaries = new ArrayList<>(durations.size());
+        for (Map.Entry<String, LongList> entry : durations.entrySet()) {
+            summaries.add(summarize(entry.getKey(), entry.getValue().sorted()));
+        }
+        return summaries;
+    }
+    
+    public static String format(List<LatencySummary> summaries) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-36s %8s %12s %12s %12s %12s%n",
+            "operation", "count", "mean us", "p50 us", "p99 us", "max us"));
+        for (LatencySummary summary : summaries) {
+            out.append(String.format("%-36s %8d %12.1f %12.1f %12.1f %12.1f%n", summary.key(), summary.count(),
+                micros(summary.mean()), micros(summary.p50()), micros(summary.p99()), micros(summary.max())));
+        }
+        return out.toString();
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: BookingRecordingAnalyzer <recording.jfr>");
+            return;
+        }
+        System.out.print(format(analyze(Path.of(args[0]))));
+    }
+    
+    private static String keyOf(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case ReservationOperationEvent.NAME:
+                return event.getString("operation") + " " + event.getString("result");
+            case AvailabilityCheckEvent.NAME:
+                return "availabilityCheck " + (event.getBoolean("cacheHit") ? "cached" : "scanned");
+            case RoomAllocationEvent.NAME:
+                return "allocate " + event.getString("strategy")
+                    + (event.getString("roomNumber") == null ? " none" : " room");
+            default:
+                return null;
+        }
+    }
+    
+    // Nearest-rank percentiles over the sorted durations
+    private static LatencySummary summarize(String key, long[] nanos) {
+        long total = 0;
+        for (long value : nanos) {
+            total += value;
+        }
+        return new LatencySummary(key, nanos.length, Duration.ofNanos(total / nanos.length),
+            Duration.ofNanos(percentile(nanos, 50)), Duration.ofNanos(percentile(nanos, 99)),
+            Duration.ofNanos(nanos[nanos.length - 1]));
+    }
+    
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+    
+    private static double micros(Duration duration) {
+        return duration.toNanos() / 1_000.0;
+    }
+    
+    private static final class LongList {
+        private long[] values = new long[64];
+        private int size;
+        
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
\ No newline at end of file
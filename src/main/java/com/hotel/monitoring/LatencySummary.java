@@ -0,0 +1,6 @@
+package com.hotel.monitoring;
+
+import java.time.Duration;
+
+public record LatencySummary(String key, int count, Duration mean, Duration p50, Duration p99, Duration max) {
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.hotel.monitoring;
+
+import com.hotel.domain.Reservation;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One public HotelChain operation; the event's own duration is the latency
+@Name(ReservationOperationEvent.NAME)
+@Label("Reservation Operation")
+@Category({"Hotel", "Booking"})
+@Description("makeReservation, cancel, check-in and check-out calls")
+@StackTrace(false)
+public class ReservationOperationEvent extends Event {
+    public static final String NAME = "com.hotel.ReservationOperation";
+    
+    private static final ReservationOperationEvent PROBE = new ReservationOperationEvent();
+    
+    // Null while no recording enables the event, so tracing costs no allocation when off
+    public static ReservationOperationEvent start() {
+        if (!PROBE.isEnabled()) return null;
+        ReservationOperationEvent event = new ReservationOperationEvent();
+        event.begin();
+        return event;
+    }
+    
+    @Label("Operation")
+    public String operation;
+    
+    @Label("Room Kind")
+    public String roomKind;
+    
+    @Label("Nights")
+    public int nights;
+    
+    @Label("Result")
+    public String result;
+    
+    public static void commit(ReservationOperationEvent event, String operation,
+                              Reservation reservation, String result) {
+        if (event == null) return;
+        if (reservation == null) {
+            commit(event, operation, null, null, null, result);
+        } else {
+            commit(event, operation, reservation.getRoomType(), reservation.getStartDate(),
+                   reservation.getEndDate(), result);
+        }
+    }
+    
+    // Field values are only computed when the recording wants the event
+    public static void commit(ReservationOperationEvent event, String operation, RoomType roomType,
+                              BookingDate startDate, BookingDate endDate, String result) {
+        if (event == null) return;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.operation = operation;
+        event.roomKind = roomType == null ? null : roomType.getKind().name();
+        event.nights = startDate == null || endDate == null ? 0 : startDate.nightsUntil(endDate);
+        event.result = result;
+        event.commit();
+    }
+}
\ No newline at end of file
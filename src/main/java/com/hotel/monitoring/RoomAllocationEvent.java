@@ -0,0 +1,60 @@
+package com.hotel.monitoring;
+
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(RoomAllocationEvent.NAME)
+@Label("Room Allocation")
+@Category({"Hotel", "Booking"})
+@Description("Choice of a concrete room by the allocation strategy")
+@StackTrace(false)
+public class RoomAllocationEvent extends Event {
+    public static final String NAME = "com.hotel.RoomAllocation";
+    
+    private static final RoomAllocationEvent PROBE = new RoomAllocationEvent();
+    
+    // Null while no recording enables the event, so tracing costs no allocation when off
+    public static RoomAllocationEvent start() {
+        if (!PROBE.isEnabled()) return null;
+        RoomAllocationEvent event = new RoomAllocationEvent();
+        event.begin();
+        return event;
+    }
+    
+    @Label("Strategy")
+    public String strategy;
+    
+    @Label("Room Kind")
+    public String roomKind;
+    
+    @Label("Nights")
+    public int nights;
+    
+    @Label("Candidates Scanned")
+    @Description("Rooms or free gaps examined before a decision")
+    public int candidatesScanned;
+    
+    @Label("Room Number")
+    @Description("Allocated room, or null when none was free")
+    public String roomNumber;
+    
+    // Field values are only computed when the recording wants the event
+    public static void commit(RoomAllocationEvent event, String strategy, RoomType roomType,
+                              int startDay, int endDay, int candidatesScanned, Room allocated) {
+        if (event == null) return;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.strategy = strategy;
+        event.roomKind = roomType == null ? null : roomType.getKind().name();
+        event.nights = endDay - startDay + 1;
+        event.candidatesScanned = candidatesScanned;
+        event.roomNumber = allocated == null ? null : allocated.getRoomNumber();
+        event.commit();
+    }
+}
\ No newline at end of file
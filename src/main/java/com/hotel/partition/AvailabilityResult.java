@@ -0,0 +1,6 @@
+package com.hotel.partition;
+
+import com.hotel.domain.RoomType;
+
+public record AvailabilityResult(String hotelName, RoomType roomType, int availableRooms) {
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.hotel.partition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Maps keys onto nodes so that adding or removing a node only moves the keys
+// between it and its ring neighbours; virtual nodes smooth out the spread
+public class ConsistentHashRing<N> {
+    private final int virtualNodes;
+    private final TreeMap<Long, N> ring;
+    
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be a positive integer");
+        }
+        this.virtualNodes = virtualNodes;
+        this.ring = new TreeMap<>();
+    }
+    
+    public void addNode(String nodeId, N node) {
+        if (nodeId == null || nodeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Node id cannot be null or empty");
+        }
+        if (node == null) {
+            throw new IllegalArgumentException("Node cannot be null");
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.put(hash(nodeId + "#" + i), node);
+        }
+    }
+    
+    public void removeNode(String nodeId) {
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.remove(hash(nodeId + "#" + i));
+        }
+    }
+    
+    public N nodeFor(String key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("No partition nodes available");
+        }
+        Map.Entry<Long, N> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+    
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+    
+    // 64-bit FNV-1a with a murmur finalizer so similar hotel names spread out
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.hotel.partition;
+
+import com.hotel.domain.HotelChain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+public class InProcessPartitionNode implements PartitionNode {
+    private final String id;
+    private final Map<String, HotelChain> hotels;
+    private final ExecutorService worker;
+    
+    public InProcessPartitionNode(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("Node id cannot be null or empty");
+        }
+        this.id = id;
+        this.hotels = new ConcurrentHashMap<>();
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-" + id);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public void host(HotelChain hotelChain) {
+        if (hotelChain == null || hotelChain.getHotel() == null) {
+            throw new IllegalArgumentException("Hotel chain must have a hotel");
+        }
+        hotels.put(hotelChain.getHotel().getName(), hotelChain);
+    }
+    
+    @Override
+    public HotelChain release(String hotelName) {
+        return hotels.remove(hotelName);
+    }
+    
+    @Override
+    public Collection<String> getHotelNames() {
+        return new ArrayList<>(hotels.keySet());
+    }
+    
+    @Override
+    public <T> CompletableFuture<T> execute(String hotelName, Function<HotelChain, T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            HotelChain hotelChain = hotels.get(hotelName);
+            if (hotelChain == null) {
+                throw new IllegalArgumentException("Hotel not hosted on node " + id + ": " + hotelName);
+            }
+            return operation.apply(hotelChain);
+        }, worker);
+    }
+    
+    @Override
+    public <T> CompletableFuture<T> executeOnAll(Function<Collection<HotelChain>, T> operation) {
+        return CompletableFuture.supplyAsync(() -> operation.apply(hotels.values()), worker);
+    }
+    
+    @Override
+    public void close() {
+        worker.shutdown();
+    }
+    
+    // Getters
+    @Override
+    public String getId() { return id; }
+}
\ No newline at end of file
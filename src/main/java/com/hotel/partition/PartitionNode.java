@@ -0,0 +1,26 @@
+package com.hotel.partition;
+
+import com.hotel.domain.HotelChain;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// One partition of the portfolio; every hotel it owns is only touched from the
+// node's own worker, so a HotelChain never sees concurrent callers
+public interface PartitionNode extends AutoCloseable {
+    String getId();
+    
+    void host(HotelChain hotelChain);
+    
+    HotelChain release(String hotelName);
+    
+    Collection<String> getHotelNames();
+    
+    <T> CompletableFuture<T> execute(String hotelName, Function<HotelChain, T> operation);
+    
+    <T> CompletableFuture<T> executeOnAll(Function<Collection<HotelChain>, T> operation);
+    
+    @Override
+    void close();
+}
\ No newline at end of file
@@ -0,0 +1,274 @@
+package com.hotel.partition;
+
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.HowMany;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Routes each hotel's operations to the partition node that owns it; hotels are
+// spread over nodes by consistent hashing on the hotel name. Reservations are
+// routed through a cache of number to hotel; numbers it has never seen, such as
+// waitlist promotions or bookings made on a node directly, are resolved by
+// asking every node once. Entries go when a stay is cancelled, checked out or
+// archived, so the cache only tracks live reservations.
+public class PartitionedHotelChain implements AutoCloseable {
+    private static final int VIRTUAL_NODES = 128;
+    
+    private final ConsistentHashRing<PartitionNode> ring;
+    private final Map<String, PartitionNode> nodes;
+    private final Map<String, PartitionNode> owners;
+    private final Map<String, String> hotelByReservation;
+    // Operations share the lock; rebalancing takes it exclusively while hotels move
+    private final ReadWriteLock topologyLock;
+    
+    public PartitionedHotelChain() {
+        this.ring = new ConsistentHashRing<>(VIRTUAL_NODES);
+        this.nodes = new LinkedHashMap<>();
+        this.owners = new ConcurrentHashMap<>();
+        this.hotelByReservation = new ConcurrentHashMap<>();
+        this.topologyLock = new ReentrantReadWriteLock();
+    }
+    
+    // Adds a node and moves over only the hotels the ring now assigns to it
+    public int addNode(PartitionNode node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Partition node cannot be null");
+        }
+        topologyLock.writeLock().lock();
+        try {
+            if (nodes.containsKey(node.getId())) {
+                throw new IllegalArgumentException("Duplicate partition node: " + node.getId());
+            }
+            nodes.put(node.getId(), node);
+            ring.addNode(node.getId(), node);
+            return rebalance();
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+    
+    public int removeNode(String nodeId) {
+        topologyLock.writeLock().lock();
+        try {
+            PartitionNode node = nodes.get(nodeId);
+            if (node == null) return 0;
+            if (nodes.size() == 1 && !owners.isEmpty()) {
+                throw new IllegalStateException("Cannot remove the last node while it hosts hotels");
+            }
+            ring.removeNode(nodeId);
+            int moved = rebalance();
+            nodes.remove(nodeId);
+            node.close();
+            return moved;
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+    
+    public void addHotel(HotelChain hotelChain) {
+        if (hotelChain == null || hotelChain.getHotel() == null) {
+            throw new IllegalArgumentException("Hotel chain must have a hotel");
+        }
+        String hotelName = hotelChain.getHotel().getName();
+        topologyLock.writeLock().lock();
+        try {
+            if (owners.containsKey(hotelName)) {
+                throw new IllegalArgumentException("Duplicate hotel: " + hotelName);
+            }
+            PartitionNode owner = ring.nodeFor(hotelName);
+            owner.host(hotelChain);
+            owners.put(hotelName, owner);
+            for (Reservation reservation : hotelChain.getReservations()) {
+                hotelByReservation.put(reservation.getNumber(), hotelName);
+            }
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+    
+    public Reservation makeReservation(String hotelName, RoomType roomType, BookingDate startDate,
+                                       BookingDate endDate, HowMany howMany) {
+        Reservation reservation = onHotel(hotelName,
+            chain -> chain.makeReservation(roomType, startDate, endDate, howMany));
+        hotelByReservation.put(reservation.getNumber(), hotelName);
+        return reservation;
+    }
+    
+    public boolean cancelReservation(String reservationNumber) {
+        return onReservation(reservationNumber, chain -> chain.cancelReservation(reservationNumber), true);
+    }
+    
+    public boolean checkInGuest(String reservationNumber) {
+        return onReservation(reservationNumber, chain -> chain.checkInGuest(reservationNumber), false);
+    }
+    
+    public boolean checkOutGuest(String reservationNumber) {
+        return onReservation(reservationNumber, chain -> chain.checkOutGuest(reservationNumber), true);
+    }
+    
+    // Runs the operation on the reservation's hotel; the route is dropped once the
+    // operation ends the stay or the hotel no longer holds the reservation
+    private boolean onReservation(String reservationNumber, Predicate<HotelChain> operation,
+                                  boolean endsStay) {
+        if (reservationNumber == null) return false;
+        String hotelName = hotelOf(reservationNumber);
+        if (hotelName == null) return false;
+        RoutedOutcome outcome = onHotel(hotelName, chain -> new RoutedOutcome(
+            operation.test(chain), chain.hasReservation(reservationNumber)));
+        if ((outcome.applied() && endsStay) || !outcome.live()) {
+            hotelByReservation.remove(reservationNumber);
+        }
+        return outcome.applied();
+    }
+    
+    private String hotelOf(String reservationNumber) {
+        String hotelName = hotelByReservation.get(reservationNumber);
+        if (hotelName != null) return hotelName;
+        hotelName = resolveHotel(reservationNumber);
+        if (hotelName != null) {
+            hotelByReservation.put(reservationNumber, hotelName);
+        }
+        return hotelName;
+    }
+    
+    // Asks every node in parallel which of its hotels holds the reservation
+    private String resolveHotel(String reservationNumber) {
+        topologyLock.readLock().lock();
+        try {
+            List<CompletableFuture<String>> partials = new ArrayList<>();
+            for (PartitionNode node : nodes.values()) {
+                partials.add(node.executeOnAll(chains -> holderOf(chains, reservationNumber)));
+            }
+            String hotelName = null;
+            for (CompletableFuture<String> partial : partials) {
+                String holder = await(partial);
+                if (holder != null) {
+                    hotelName = holder;
+                }
+            }
+            return hotelName;
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    private static String holderOf(Collection<HotelChain> chains, String reservationNumber) {
+        for (HotelChain chain : chains) {
+            if (chain.hasReservation(reservationNumber)) {
+                return chain.getHotel().getName();
+            }
+        }
+        return null;
+    }
+    
+    // Every node scans its own hotels in parallel; results are merged by hotel name
+    public List<AvailabilityResult> searchAvailability(RoomType roomType, BookingDate startDate,
+                                                       BookingDate endDate) {
+        topologyLock.readLock().lock();
+        try {
+            List<CompletableFuture<List<AvailabilityResult>>> partials = new ArrayList<>();
+            for (PartitionNode node : nodes.values()) {
+                partials.add(node.executeOnAll(chains -> searchNode(chains, roomType, startDate, endDate)));
+            }
+            List<AvailabilityResult> merged = new ArrayList<>();
+            for (CompletableFuture<List<AvailabilityResult>> partial : partials) {
+                merged.addAll(await(partial));
+            }
+            merged.sort(Comparator.comparing(AvailabilityResult::hotelName));
+            return merged;
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    private static List<AvailabilityResult> searchNode(Collection<HotelChain> chains, RoomType roomType,
+                                                       BookingDate startDate, BookingDate endDate) {
+        List<AvailabilityResult> results = new ArrayList<>();
+        for (HotelChain chain : chains) {
+            int available = chain.countAvailableRooms(roomType, startDate, endDate);
+            if (available > 0) {
+                results.add(new AvailabilityResult(chain.getHotel().getName(), roomType, available));
+            }
+        }
+        return results;
+    }
+    
+    public String ownerOf(String hotelName) {
+        PartitionNode owner = owners.get(hotelName);
+        return owner == null ? null : owner.getId();
+    }
+    
+    private <T> T onHotel(String hotelName, Function<HotelChain, T> operation) {
+        topologyLock.readLock().lock();
+        try {
+            PartitionNode owner = owners.get(hotelName);
+            if (owner == null) {
+                throw new IllegalArgumentException("Unknown hotel: " + hotelName);
+            }
+            return await(owner.execute(hotelName, operation));
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+    
+    // Hands a hotel's whole HotelChain to its new owner; callers hold the write lock
+    private int rebalance() {
+        int moved = 0;
+        for (Map.Entry<String, PartitionNode> entry : owners.entrySet()) {
+            PartitionNode target = ring.nodeFor(entry.getKey());
+            if (target != entry.getValue()) {
+                HotelChain hotelChain = entry.getValue().release(entry.getKey());
+                target.host(hotelChain);
+                entry.setValue(target);
+                moved++;
+            }
+        }
+        return moved;
+    }
+    
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    @Override
+    public void close() {
+        topologyLock.writeLock().lock();
+        try {
+            for (PartitionNode node : nodes.values()) {
+                node.close();
+            }
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+    
+    private record RoutedOutcome(boolean applied, boolean live) {
+    }
+    
+    // Getters
+    public int getNodeCount() { return nodes.size(); }
+    public int getHotelCount() { return owners.size(); }
+    public int getRoutedReservationCount() { return hotelByReservation.size(); }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.hotel.payments;
+
+import java.util.List;
+
+public interface PaymentGateway {
+    // One result per request, in request order. Throwing fails the whole batch as retryable.
+    List<PaymentResult> process(List<PaymentRequest> batch);
+}
\ No newline at end of file
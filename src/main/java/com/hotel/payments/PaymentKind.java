@@ -0,0 +1,5 @@
+package com.hotel.payments;
+
+public enum PaymentKind {
+    AUTHORIZE, CAPTURE, VOID
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.hotel.payments;
+
+import com.hotel.domain.ReservePayer;
+import com.hotel.domain.valueobjects.Money;
+
+// The idempotency key lets the gateway recognise a resent request and answer it
+// without charging the card again
+public record PaymentRequest(String idempotencyKey, PaymentKind kind, String reservationNumber,
+                             ReservePayer payer, Money amount) {
+    public PaymentRequest {
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be null or empty");
+        }
+        if (kind == null) throw new IllegalArgumentException("Payment kind cannot be null");
+        if (reservationNumber == null) throw new IllegalArgumentException("Reservation number cannot be null");
+        if (payer == null) throw new IllegalArgumentException("Payer cannot be null");
+        if (amount == null) throw new IllegalArgumentException("Amount cannot be null");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.hotel.payments;
+
+public record PaymentResult(PaymentRequest request, PaymentStatus status, String reference, int attempts) {
+    public boolean isApproved() {
+        return status == PaymentStatus.APPROVED;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hotel.payments;
+
+public enum PaymentStatus {
+    APPROVED,
+    DECLINED,
+    // Gateway could not decide this time; the pipeline sends it again
+    RETRYABLE,
+    // Still retryable after the last attempt
+    FAILED;
+    
+    public boolean isFinal() {
+        return this != RETRYABLE;
+    }
+}
\ No newline at end of file
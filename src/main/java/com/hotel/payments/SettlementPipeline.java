@@ -0,0 +1,296 @@
+package com.hotel.payments;
+
+import com.hotel.domain.ReservePayer;
+import com.hotel.domain.valueobjects.Money;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Queues authorizations and captures and sends them to the gateway in batches, off
+// the caller's thread. A fixed pool of senders bounds how many batches are at the
+// gateway at once; a batch is cut when it is full or when the linger timer fires.
+// Retryable results go back on the queue with a growing delay. Duplicates of a key
+// share its result while it is in flight and, once approved or declined, for as long
+// as the settled result is retained; a FAILED key is forgotten so it can be sent again.
+public class SettlementPipeline implements AutoCloseable {
+    private static final int DEFAULT_MAXIMUM_SETTLED = 100_000;
+    private static final Duration DEFAULT_RETENTION = Duration.ofHours(24);
+    
+    private final PaymentGateway gateway;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long lingerMillis;
+    private final ConcurrentLinkedQueue<Pending> queue;
+    private final AtomicInteger queued;
+    // Retries waiting out their backoff, so close() can still send them
+    private final Set<Pending> delayed;
+    private final Map<String, CompletableFuture<PaymentResult>> results;
+    // Approved and declined keys in settlement order, which is also expiry order
+    private final ConcurrentLinkedQueue<Settled> settled;
+    private final AtomicInteger settledCount;
+    private final int maximumSettled;
+    private final long retentionMillis;
+    private final Clock clock;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService timer;
+    private final AtomicLong retries;
+    private final AtomicLong duplicates;
+    
+    public SettlementPipeline(PaymentGateway gateway, int batchSize, int maxConcurrentBatches,
+                              int maxAttempts, Duration linger) {
+        this(gateway, batchSize, maxConcurrentBatches, maxAttempts, linger,
+             DEFAULT_MAXIMUM_SETTLED, DEFAULT_RETENTION, Clock.systemUTC());
+    }
+    
+    public SettlementPipeline(PaymentGateway gateway, int batchSize, int maxConcurrentBatches,
+                              int maxAttempts, Duration linger, int maximumSettled, Duration retention,
+                              Clock clock) {
+        if (gateway == null) {
+            throw new IllegalArgumentException("Payment gateway cannot be null");
+        }
+        if (batchSize <= 0 || maxConcurrentBatches <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Batch size, concurrency and attempts must be positive");
+        }
+        if (linger == null || linger.isNegative() || linger.isZero()) {
+            throw new IllegalArgumentException("Linger must be positive");
+        }
+        if (maximumSettled <= 0) {
+            throw new IllegalArgumentException("Maximum settled results must be a positive integer");
+        }
+        if (retention == null || retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("Retention must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.gateway = gateway;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lingerMillis = linger.toMillis();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicInteger();
+        this.delayed = ConcurrentHashMap.newKeySet();
+        this.results = new ConcurrentHashMap<>();
+        this.settled = new ConcurrentLinkedQueue<>();
+        this.settledCount = new AtomicInteger();
+        this.maximumSettled = maximumSettled;
+        this.retentionMillis = retention.toMillis();
+        this.clock = clock;
+        this.senders = Executors.newFixedThreadPool(maxConcurrentBatches, runnable -> daemon(runnable, "settlement-sender"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "settlement-timer"));
+        this.timer.scheduleWithFixedDelay(this::flush, lingerMillis, lingerMillis, TimeUnit.MILLISECONDS);
+        this.retries = new AtomicLong();
+        this.duplicates = new AtomicLong();
+    }
+    
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+    
+    public CompletableFuture<PaymentResult> authorize(String reservationNumber, ReservePayer payer, Money amount) {
+        return submit(new PaymentRequest("AUTH_" + reservationNumber, PaymentKind.AUTHORIZE,
+                                         reservationNumber, payer, amount));
+    }
+    
+    public CompletableFuture<PaymentResult> capture(String reservationNumber, ReservePayer payer, Money amount) {
+        return submit(new PaymentRequest("CAPTURE_" + reservationNumber, PaymentKind.CAPTURE,
+                                         reservationNumber, payer, amount));
+    }
+    
+    // Releases an approved authorization that will never be captured
+    public CompletableFuture<PaymentResult> voidAuthorization(String reservationNumber, ReservePayer payer, Money amount) {
+        return submit(new PaymentRequest("VOID_" + reservationNumber, PaymentKind.VOID,
+                                         reservationNumber, payer, amount));
+    }
+    
+    // Never blocks: the future completes once the gateway has a final answer
+    public CompletableFuture<PaymentResult> submit(PaymentRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Payment request cannot be null");
+        }
+        CompletableFuture<PaymentResult> created = new CompletableFuture<>();
+        CompletableFuture<PaymentResult> existing = results.putIfAbsent(request.idempotencyKey(), created);
+        if (existing != null) {
+            duplicates.incrementAndGet();
+            return existing;
+        }
+        enqueue(new Pending(request, created, 1));
+        return created;
+    }
+    
+    public CompletableFuture<PaymentResult> resultOf(String idempotencyKey) {
+        return idempotencyKey == null ? null : results.get(idempotencyKey);
+    }
+    
+    // Sends whatever is queued without waiting for the linger timer
+    public void flush() {
+        if (queued.get() > 0) {
+            dispatch();
+        }
+        expireSettled();
+    }
+    
+    private void enqueue(Pending pending) {
+        queue.add(pending);
+        if (queued.incrementAndGet() >= batchSize) {
+            dispatch();
+        }
+    }
+    
+    private void dispatch() {
+        try {
+            senders.execute(this::sendBatch);
+        } catch (RejectedExecutionException e) {
+            // Closing; close() fails whatever is left in the queue
+        }
+    }
+    
+    // The batch is cut when a sender is free, so batches grow while the gateway is slow
+    private void sendBatch() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Pending pending;
+        while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) return;
+        
+        List<PaymentRequest> requests = new ArrayList<>(batch.size());
+        for (Pending each : batch) {
+            requests.add(each.request);
+        }
+        List<PaymentResult> answers;
+        try {
+            answers = gateway.process(requests);
+            if (answers == null || answers.size() != requests.size()) answers = null;
+        } catch (RuntimeException e) {
+            answers = null;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            PaymentResult answer = answers == null ? null : answers.get(i);
+            if (answer != null && answer.status().isFinal()) {
+                settle(batch.get(i), answer.status(), answer.reference());
+            } else {
+                retry(batch.get(i));
+            }
+        }
+        if (queued.get() >= batchSize) {
+            dispatch();
+        }
+    }
+    
+    private void retry(Pending pending) {
+        if (pending.attempt >= maxAttempts) {
+            settle(pending, PaymentStatus.FAILED, null);
+            return;
+        }
+        retries.incrementAndGet();
+        Pending next = new Pending(pending.request, pending.future, pending.attempt + 1);
+        delayed.add(next);
+        try {
+            timer.schedule(() -> {
+                if (delayed.remove(next)) enqueue(next);
+            }, lingerMillis * pending.attempt, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            delayed.remove(next);
+            settle(pending, PaymentStatus.FAILED, null);
+        }
+    }
+    
+    private void settle(Pending pending, PaymentStatus status, String reference) {
+        String key = pending.request.idempotencyKey();
+        if (status == PaymentStatus.FAILED) {
+            // Nothing reached the card, so a later submit of the key may try again
+            results.remove(key, pending.future);
+        } else {
+            settled.add(new Settled(key, pending.future, clock.millis() + retentionMillis));
+            settledCount.incrementAndGet();
+            expireSettled();
+        }
+        pending.future.complete(new PaymentResult(pending.request, status, reference, pending.attempt));
+    }
+    
+    // Forgets settled keys past their retention, and the oldest ones while over the limit
+    private void expireSettled() {
+        long now = clock.millis();
+        Settled head;
+        while ((head = settled.peek()) != null
+                && (head.expiresAt <= now || settledCount.get() > maximumSettled)) {
+            if (settled.remove(head)) {
+                settledCount.decrementAndGet();
+                results.remove(head.key, head.future);
+            }
+        }
+    }
+    
+    public int queued() {
+        return queued.get();
+    }
+    
+    // Keys with a result or a request still in flight
+    public int tracked() {
+        return results.size();
+    }
+    
+    // Sends what is queued one last time without further retries, then fails anything
+    // the senders did not get to
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        for (Pending waiting : delayed) {
+            if (delayed.remove(waiting)) {
+                queue.add(waiting);
+                queued.incrementAndGet();
+            }
+        }
+        for (int batches = (queued.get() + batchSize - 1) / batchSize; batches > 0; batches--) {
+            dispatch();
+        }
+        senders.shutdown();
+        try {
+            senders.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            settle(pending, PaymentStatus.FAILED, null);
+        }
+    }
+    
+    // Getters
+    public long getRetries() { return retries.get(); }
+    public long getDuplicates() { return duplicates.get(); }
+    
+    private record Settled(String key, CompletableFuture<PaymentResult> future, long expiresAt) {
+    }
+    
+    private static final class Pending {
+        private final PaymentRequest request;
+        private final CompletableFuture<PaymentResult> future;
+        private final int attempt;
+        
+        private Pending(PaymentRequest request, CompletableFuture<PaymentResult> future, int attempt) {
+            this.request = request;
+            this.future = future;
+            this.attempt = attempt;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.hotel.payments;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process gateway for tests and local runs: fixed latency per batch, injectable
+// outages and declined cards, and idempotent on the request key like a real acquirer
+public class StubPaymentGateway implements PaymentGateway {
+    private final long latencyMillis;
+    private final Map<String, PaymentResult> processed;
+    private final Set<String> declinedCards;
+    private final AtomicInteger outages;
+    private final AtomicInteger activeBatches;
+    private final AtomicInteger maxActiveBatches;
+    private final AtomicLong batches;
+    private final AtomicLong charges;
+    private final AtomicLong voids;
+    
+    public StubPaymentGateway() {
+        this(Duration.ZERO);
+    }
+    
+    public StubPaymentGateway(Duration latency) {
+        if (latency == null || latency.isNegative()) {
+            throw new IllegalArgumentException("Latency cannot be null or negative");
+        }
+        this.latencyMillis = latency.toMillis();
+        this.processed = new ConcurrentHashMap<>();
+        this.declinedCards = ConcurrentHashMap.newKeySet();
+        this.outages = new AtomicInteger();
+        this.activeBatches = new AtomicInteger();
+        this.maxActiveBatches = new AtomicInteger();
+        this.batches = new AtomicLong();
+        this.charges = new AtomicLong();
+        this.voids = new AtomicLong();
+    }
+    
+    @Override
+    public List<PaymentResult> process(List<PaymentRequest> batch) {
+        int active = activeBatches.incrementAndGet();
+        maxActiveBatches.accumulateAndGet(active, Math::max);
+        try {
+            batches.incrementAndGet();
+            pause();
+            if (outages.getAndUpdate(remaining -> remaining > 0 ? remaining - 1 : 0) > 0) {
+                throw new IllegalStateException("Gateway unavailable");
+            }
+            List<PaymentResult> results = new ArrayList<>(batch.size());
+            for (PaymentRequest request : batch) {
+                results.add(processed.computeIfAbsent(request.idempotencyKey(), key -> decide(request)));
+            }
+            return results;
+        } finally {
+            activeBatches.decrementAndGet();
+        }
+    }
+    
+    private PaymentResult decide(PaymentRequest request) {
+        // Releasing a hold never fails on the card
+        if (request.kind() == PaymentKind.VOID) {
+            voids.incrementAndGet();
+            return new PaymentResult(request, PaymentStatus.APPROVED, "PSP_" + request.idempotencyKey(), 1);
+        }
+        if (declinedCards.contains(request.payer().getCreditCardDetails().cardNumber())) {
+            return new PaymentResult(request, PaymentStatus.DECLINED, null, 1);
+        }
+        charges.incrementAndGet();
+        return new PaymentResult(request, PaymentStatus.APPROVED, "PSP_" + request.idempotencyKey(), 1);
+    }
+    
+    private void pause() {
+        if (latencyMillis == 0) return;
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Gateway call interrupted");
+        }
+    }
+    
+    // The next batches fail as a whole, as if the gateway were down
+    public void failNextBatches(int count) {
+        outages.set(count);
+    }
+    
+    public void declineCard(String cardNumber) {
+        declinedCards.add(cardNumber);
+    }
+    
+    // Getters
+    public long getBatches() { return batches.get(); }
+    public long getCharges() { return charges.get(); }
+    public long getVoids() { return voids.get(); }
+    public int getMaxActiveBatches() { return maxActiveBatches.get(); }
+}
\ No newline at end of file
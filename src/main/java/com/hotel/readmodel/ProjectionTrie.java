@@ -0,0 +1,147 @@
+package com.hotel.readmodel;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Immutable hash trie of projections by reservation number. An update copies only
+// the nodes on the key's path - at most seven small arrays - and shares the rest
+// with the version it came from, so publishing never copies whole maps and a
+// published version is never written again.
+final class ProjectionTrie {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // Seven levels use all 32 hash bits; keys that meet below that share a hash
+    private static final int MAX_SHIFT = 30;
+    
+    static final ProjectionTrie EMPTY = new ProjectionTrie(Node.EMPTY, 0);
+    
+    private final Node root;
+    private final int size;
+    
+    private ProjectionTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+    
+    ReservationProjection get(String number) {
+        return root.get(number, hash(number), 0);
+    }
+    
+    // A new version with the projection added, or replacing the one of the same number
+    ProjectionTrie with(ReservationProjection projection) {
+        String number = projection.number();
+        int grown = get(number) == null ? size + 1 : size;
+        return new ProjectionTrie(root.with(projection, hash(number), 0), grown);
+    }
+    
+    void forEach(Consumer<ReservationProjection> action) {
+        root.forEach(action);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    private static int hash(String number) {
+        int h = number.hashCode();
+        return h ^ (h >>> 16);
+    }
+    
+    // Slots hold a projection, a deeper node, or a collision for equal hashes
+    private static final class Node {
+        static final Node EMPTY = new Node(0, new Object[0]);
+        
+        private final int bitmap;
+        private final Object[] slots;
+        
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+        
+        ReservationProjection get(String number, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) return null;
+            Object slot = slots[Integer.bitCount(bitmap & (bit - 1))];
+            if (slot instanceof Node node) return node.get(number, hash, shift + BITS);
+            if (slot instanceof Collision collision) return collision.get(number);
+            ReservationProjection projection = (ReservationProjection) slot;
+            return projection.number().equals(number) ? projection : null;
+        }
+        
+        Node with(ReservationProjection projection, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] grown = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, grown, 0, index);
+                grown[index] = projection;
+                System.arraycopy(slots, index, grown, index + 1, slots.length - index);
+                return new Node(bitmap | bit, grown);
+            }
+            
+            Object slot = slots[index];
+            Object replacement;
+            if (slot instanceof Node node) {
+                replacement = node.with(projection, hash, shift + BITS);
+            } else if (slot instanceof Collision collision) {
+                replacement = collision.with(projection);
+            } else {
+                ReservationProjection existing = (ReservationProjection) slot;
+                replacement = existing.number().equals(projection.number())
+                    ? projection
+                    : split(existing, projection, hash, shift + BITS);
+            }
+            Object[] copy = slots.clone();
+            copy[index] = replacement;
+            return new Node(bitmap, copy);
+        }
+        
+        void forEach(Consumer<ReservationProjection> action) {
+            for (Object slot : slots) {
+                if (slot instanceof Node node) {
+                    node.forEach(action);
+                } else if (slot instanceof Collision collision) {
+                    collision.forEach(action);
+                } else {
+                    action.accept((ReservationProjection) slot);
+                }
+            }
+        }
+        
+        private static Object split(ReservationProjection existing, ReservationProjection added, int hash, int shift) {
+            if (shift > MAX_SHIFT) {
+                return new Collision(new ReservationProjection[] {existing, added});
+            }
+            return EMPTY.with(existing, hash(existing.number()), shift).with(added, hash, shift);
+        }
+    }
+    
+    private record Collision(ReservationProjection[] projections) {
+        ReservationProjection get(String number) {
+            for (ReservationProjection projection : projections) {
+                if (projection.number().equals(number)) return projection;
+            }
+            return null;
+        }
+        
+        Collision with(ReservationProjection projection) {
+            for (int i = 0; i < projections.length; i++) {
+                if (projections[i].number().equals(projection.number())) {
+                    ReservationProjection[] copy = projections.clone();
+                    copy[i] = projection;
+                    return new Collision(copy);
+                }
+            }
+            ReservationProjection[] grown = Arrays.copyOf(projections, projections.length + 1);
+            grown[projections.length] = projection;
+            return new Collision(grown);
+        }
+        
+        void forEach(Consumer<ReservationProjection> action) {
+            for (ReservationProjection projection : projections) {
+                action.accept(projection);
+            }
+        }
+    }
+}
\ No newline at end of file
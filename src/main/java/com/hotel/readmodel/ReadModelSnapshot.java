@@ -0,0 +1,91 @@
+package com.hotel.readmodel;
+
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// One published state of the read model. Nothing in it is written after publication,
+// so any number of readers query it without locks and always see the projections
+// and availability of the same event sequence.
+public final class ReadModelSnapshot {
+    private final long sequence;
+    private final int firstDay;
+    private final int days;
+    private final ProjectionTrie reservations;
+    private final Map<RoomType, int[]> bookedNights;
+    private final Map<RoomType, Integer> rooms;
+    
+    ReadModelSnapshot(long sequence, int firstDay, int days, ProjectionTrie reservations,
+                      Map<RoomType, int[]> bookedNights, Map<RoomType, Integer> rooms) {
+        this.sequence = sequence;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.reservations = reservations;
+        this.bookedNights = bookedNights;
+        this.rooms = rooms;
+    }
+    
+    public ReservationProjection getReservation(String number) {
+        if (number == null) return null;
+        return reservations.get(number);
+    }
+    
+    public List<ReservationProjection> getReservations() {
+        List<ReservationProjection> list = new ArrayList<>(reservations.size());
+        reservations.forEach(list::add);
+        return list;
+    }
+    
+    // Walks the projections in place, without collecting them into a list first
+    public void forEachReservation(Consumer<ReservationProjection> action) {
+        reservations.forEach(action);
+    }
+    
+    // Rooms of the type still free on the busiest night of an inclusive stay
+    public int availableRooms(RoomType roomType, BookingDate startDate, BookingDate endDate) {
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type cannot be null");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        int from = startDate.epochDay() - firstDay;
+        int to = endDate.epochDay() - firstDay;
+        if (from > to) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (from < 0 || to >= days) {
+            throw new IllegalArgumentException("Stay is outside the read model window");
+        }
+        
+        int supply = rooms.getOrDefault(roomType, 0);
+        int[] booked = bookedNights.get(roomType);
+        if (booked == null) return supply;
+        int peak = 0;
+        for (int night = from; night <= to; night++) {
+            peak = Math.max(peak, booked[night]);
+        }
+        return Math.max(0, supply - peak);
+    }
+    
+    // A copy of the type's booked rooms per night of the window
+    public int[] bookedNights(RoomType roomType) {
+        int[] booked = bookedNights.get(roomType);
+        return booked == null ? new int[days] : Arrays.copyOf(booked, days);
+    }
+    
+    Map<RoomType, int[]> bookedNightsByType() {
+        return bookedNights;
+    }
+    
+    // Getters
+    public long getSequence() { return sequence; }
+    public BookingDate getFirstDate() { return BookingDate.ofEpochDay(firstDay); }
+    public int getDays() { return days; }
+    public int size() { return reservations.size(); }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.hotel.readmodel;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReservationStatus;
+import com.hotel.domain.RoomType;
+import com.hotel.events.ReservationEvent;
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.domain.valueobjects.Name;
+
+// Flattened copy of a reservation as of one event; never shares mutable state with
+// the write side, so readers can hold it as long as they like
+public record ReservationProjection(String number, String hotelName, String roomNumber, RoomType roomType,
+                                    int startDay, int endDay, ReservationStatus status, String guestId,
+                                    Name guestName, long sequence) {
+    
+    static ReservationProjection of(Reservation reservation, String hotelName, long sequence) {
+        Guest guest = reservation.getGuest();
+        return new ReservationProjection(reservation.getNumber(), hotelName,
+            reservation.getRoom() == null ? null : reservation.getRoom().getRoomNumber(),
+            reservation.getRoomType(), reservation.getStartDate().epochDay(), reservation.getEndDate().epochDay(),
+            reservation.getStatus(), guest == null ? null : guest.getGuestId(), guest == null ? null : guest.getName(),
+            sequence);
+    }
+    
+    // From the copy taken when the event was published, never the live reservation
+    static ReservationProjection of(ReservationEvent event, String hotelName, long sequence) {
+        return new ReservationProjection(event.getNumber(), hotelName, event.getRoomNumber(), event.getRoomType(),
+            event.getStartDay(), event.getEndDay(), event.getStatus(), event.getGuestId(), event.getGuestName(),
+            sequence);
+    }
+    
+    public BookingDate startDate() {
+        return BookingDate.ofEpochDay(startDay);
+    }
+    
+    public BookingDate endDate() {
+        return BookingDate.ofEpochDay(endDay);
+    }
+    
+    public boolean holdsInventory() {
+        return status.holdsInventory();
+    }
+}
\ No newline at end of file
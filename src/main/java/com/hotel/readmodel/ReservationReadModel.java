@@ -0,0 +1,152 @@
+package com.hotel.readmodel;
+
+import com.hotel.domain.Hotel;
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.events.EventHandler;
+import com.hotel.events.ReservationEvent;
+import com.hotel.events.ReservationEventBus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Denormalized reservations and per-night availability of one hotel, fed by the
+// event bus on its own consumer thread so dashboards and reports never take the
+// chain's lock. Working state belongs to the consumer; at the end of each batch
+// it publishes an immutable snapshot. Projections live in a persistent trie, so an
+// event copies only its key's path, and night counts are copied only for the room
+// types the batch touched. Room supply is counted once when the model is attached.
+public class ReservationReadModel implements EventHandler {
+    private final ReservationEventBus eventBus;
+    private final String hotelName;
+    private final int firstDay;
+    private final int days;
+    private final Map<RoomType, Integer> rooms;
+    
+    // Owned by the consumer thread
+    private ProjectionTrie projections;
+    private final Map<RoomType, int[]> bookedNights;
+    private final Set<RoomType> dirtyTypes;
+    private long batchStartNanos;
+    
+    private volatile ReadModelSnapshot snapshot;
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+    private volatile long batches;
+    
+    private ReservationReadModel(HotelChain hotelChain, ReservationEventBus eventBus, BookingDate firstDate, int days) {
+        Hotel hotel = hotelChain.getHotel();
+        this.eventBus = eventBus;
+        this.hotelName = hotel == null ? null : hotel.getName();
+        this.firstDay = firstDate.epochDay();
+        this.days = days;
+        Map<RoomType, Integer> supply = new HashMap<>();
+        if (hotel != null) {
+            for (Room room : hotel.getRooms()) {
+                supply.merge(room.getRoomType(), 1, Integer::sum);
+            }
+        }
+        this.rooms = Collections.unmodifiableMap(supply);
+        this.projections = ProjectionTrie.EMPTY;
+        this.bookedNights = new HashMap<>();
+        this.dirtyTypes = new HashSet<>();
+        this.batchStartNanos = -1;
+    }
+    
+    // Registers the model on a bus that has not started yet and seeds it with the
+    // chain's current reservations, each read under the chain's lock; replaying an
+    // event for a seeded one is harmless
+    public static ReservationReadModel attach(HotelChain hotelChain, ReservationEventBus eventBus,
+                                              BookingDate firstDate, int days) {
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        if (eventBus == null) {
+            throw new IllegalArgumentException("Event bus cannot be null");
+        }
+        if (firstDate == null) {
+            throw new IllegalArgumentException("First date cannot be null");
+        }
+        if (days < 1) {
+            throw new IllegalArgumentException("Window must cover at least one day");
+        }
+        ReservationReadModel readModel = new ReservationReadModel(hotelChain, eventBus, firstDate, days);
+        eventBus.addHandler(readModel);
+        long sequence = eventBus.getCursor();
+        hotelChain.forEachReservation(
+            reservation -> readModel.apply(ReservationProjection.of(reservation, readModel.hotelName, sequence)));
+        readModel.publish(sequence);
+        return readModel;
+    }
+    
+    @Override
+    public void onEvent(ReservationEvent event, long sequence, boolean endOfBatch) {
+        if (batchStartNanos < 0) {
+            batchStartNanos = event.getTimestampNanos();
+        }
+        if (event.getNumber() != null) {
+            apply(ReservationProjection.of(event, hotelName, sequence));
+        }
+        if (endOfBatch) {
+            publish(sequence);
+            long lag = System.nanoTime() - batchStartNanos;
+            lastLagNanos = lag;
+            maxLagNanos = Math.max(maxLagNanos, lag);
+            batches++;
+            batchStartNanos = -1;
+        }
+    }
+    
+    // Upsert by number; nights come off what the model last recorded, so the counts
+    // stay consistent with the projections whatever order changes arrive in
+    private void apply(ReservationProjection next) {
+        ReservationProjection previous = projections.get(next.number());
+        projections = projections.with(next);
+        if (previous != null && previous.holdsInventory()) {
+            addNights(previous, -1);
+        }
+        if (next.holdsInventory()) {
+            addNights(next, 1);
+        }
+    }
+    
+    private void addNights(ReservationProjection projection, int delta) {
+        int from = Math.max(projection.startDay() - firstDay, 0);
+        int to = Math.min(projection.endDay() - firstDay, days - 1);
+        if (from > to) return;
+        int[] booked = bookedNights.computeIfAbsent(projection.roomType(), type -> new int[days]);
+        for (int night = from; night <= to; night++) {
+            booked[night] += delta;
+        }
+        dirtyTypes.add(projection.roomType());
+    }
+    
+    private void publish(long sequence) {
+        ReadModelSnapshot current = snapshot;
+        Map<RoomType, int[]> nights = current == null ? new HashMap<>() : new HashMap<>(current.bookedNightsByType());
+        for (RoomType roomType : dirtyTypes) {
+            nights.put(roomType, Arrays.copyOf(bookedNights.get(roomType), days));
+        }
+        dirtyTypes.clear();
+        snapshot = new ReadModelSnapshot(sequence, firstDay, days, projections,
+                                         Collections.unmodifiableMap(nights), rooms);
+    }
+    
+    // Events published on the bus but not yet visible to readers
+    public long getLagEvents() {
+        return Math.max(0, eventBus.getCursor() - snapshot.getSequence());
+    }
+    
+    // Getters
+    public ReadModelSnapshot getSnapshot() { return snapshot; }
+    public long getAppliedSequence() { return snapshot.getSequence(); }
+    public long getLastLagNanos() { return lastLagNanos; }
+    public long getMaxLagNanos() { return maxLagNanos; }
+    public long getBatches() { return batches; }
+}
\ No newline at end of file
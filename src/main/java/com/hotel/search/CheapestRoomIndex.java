@@ -0,0 +1,118 @@
+package com.hotel.search;
+
+import com.hotel.currency.FxRateTable;
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.domain.valueobjects.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Every (hotel, room type) pair sorted once by nightly price in a base currency.
+// A search walks the pairs cheapest first and stops after k available ones, so
+// it checks availability k times plus once per sold-out pair it passes, however
+// large the catalog is. Rebuild it when hotels add room types or change prices.
+public class CheapestRoomIndex {
+    private static final Comparator<Candidate> PRICE_ORDER =
+        Comparator.comparingLong((Candidate candidate) -> candidate.priceMinor)
+            .thenComparing(candidate -> candidate.hotelChain.getHotel().getName());
+    
+    private final Currency base;
+    private final Candidate[] candidates;
+    
+    private CheapestRoomIndex(Currency base, Candidate[] candidates) {
+        this.base = base;
+        this.candidates = candidates;
+    }
+    
+    // All hotels priced in one currency
+    public static CheapestRoomIndex build(Iterable<HotelChain> hotelChains) {
+        Currency base = null;
+        for (HotelChain hotelChain : hotelChains) {
+            if (hotelChain.getHotel() == null) continue;
+            for (Room room : hotelChain.getHotel().getRooms()) {
+                base = room.getRoomType().getCost().currency();
+                break;
+            }
+            if (base != null) break;
+        }
+        if (base == null) {
+            return new CheapestRoomIndex(null, new Candidate[0]);
+        }
+        return build(hotelChains, FxRateTable.builder(0, base).build(), base);
+    }
+    
+    public static CheapestRoomIndex build(Iterable<HotelChain> hotelChains, FxRateTable rates, Currency base) {
+        if (hotelChains == null) {
+            throw new IllegalArgumentException("Hotel chains cannot be null");
+        }
+        if (rates == null) {
+            throw new IllegalArgumentException("Rate table cannot be null");
+        }
+        int baseIndex = rates.indexOf(base);
+        List<Candidate> candidates = new ArrayList<>();
+        for (HotelChain hotelChain : hotelChains) {
+            if (hotelChain.getHotel() == null) continue;
+            Set<RoomType> seen = new HashSet<>();
+            for (Room room : hotelChain.getHotel().getRooms()) {
+                RoomType roomType = room.getRoomType();
+                if (!seen.add(roomType)) continue;
+                Money cost = roomType.getCost();
+                long priceMinor = rates.convertMinor(FxRateTable.toMinor(cost),
+                                                     rates.indexOf(cost.currency()), baseIndex);
+                candidates.add(new Candidate(hotelChain, roomType, priceMinor));
+            }
+        }
+        Candidate[] sorted = candidates.toArray(new Candidate[0]);
+        Arrays.sort(sorted, PRICE_ORDER);
+        return new CheapestRoomIndex(base, sorted);
+    }
+    
+    public SearchResult cheapestAvailable(BookingDate startDate, BookingDate endDate, int k) {
+        if (startDate == null) throw new IllegalArgumentException("Start date cannot be null");
+        if (endDate == null) throw new IllegalArgumentException("End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("Result size must be a positive integer");
+        }
+        
+        List<RoomOffer> offers = new ArrayList<>(Math.min(k, candidates.length));
+        int checked = 0;
+        for (int i = 0; i < candidates.length && offers.size() < k; i++) {
+            Candidate candidate = candidates[i];
+            checked++;
+            int available = candidate.hotelChain.countAvailableRooms(candidate.roomType, startDate, endDate);
+            if (available > 0) {
+                offers.add(new RoomOffer(candidate.hotelChain, candidate.roomType,
+                                         FxRateTable.fromMinor(candidate.priceMinor, base), available));
+            }
+        }
+        return new SearchResult(Collections.unmodifiableList(offers), checked);
+    }
+    
+    // Getters
+    public Currency getBase() { return base; }
+    public int size() { return candidates.length; }
+    
+    private static final class Candidate {
+        private final HotelChain hotelChain;
+        private final RoomType roomType;
+        private final long priceMinor;
+        
+        private Candidate(HotelChain hotelChain, RoomType roomType, long priceMinor) {
+            this.hotelChain = hotelChain;
+            this.roomType = roomType;
+            this.priceMinor = priceMinor;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.hotel.search;
+
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.Money;
+
+// Nightly price is in the index's base currency; the room type keeps its own
+public record RoomOffer(HotelChain hotelChain, RoomType roomType, Money nightlyPrice, int availableRooms) {
+    public String hotelName() {
+        return hotelChain.getHotel().getName();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.hotel.search;
+
+import java.util.List;
+
+// candidatesChecked is how many availability checks the search needed
+public record SearchResult(List<RoomOffer> offers, int candidatesChecked) {
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.hotel.storage;
+
+import com.hotel.domain.HotelChain;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Resident set of hotels backed by a repository. Hotels hydrate on first access
+// and the least recently used ones are saved back and dropped once more than
+// maximumResident are loaded, or when they sit idle past a given age. Callers
+// lease a hotel while they use it; a leased hotel is never evicted, so the
+// resident count may run over the limit until enough leases are released.
+public class HotelRegistry {
+    private final HotelRepository repository;
+    private final int maximumResident;
+    private final Clock clock;
+    private final LinkedHashMap<String, Resident> resident;
+    private long evictions;
+    
+    public HotelRegistry(HotelRepository repository, int maximumResident, Clock clock) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        if (maximumResident <= 0) {
+            throw new IllegalArgumentException("Maximum resident hotels must be a positive integer");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.repository = repository;
+        this.maximumResident = maximumResident;
+        this.clock = clock;
+        this.resident = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    
+    // Eager mode: hydrates every stored hotel up to the resident limit
+    public synchronized int loadAll() {
+        int loaded = 0;
+        for (String hotelName : repository.getHotelNames()) {
+            if (resident.size() >= maximumResident) break;
+            if (!resident.containsKey(hotelName) && load(hotelName) != null) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+    
+    // Leases the hotel, hydrating it if needed, or returns null when it is not stored.
+    // Every successful acquire must be paired with a release.
+    public synchronized HotelChain acquire(String hotelName) {
+        if (hotelName == null) {
+            throw new IllegalArgumentException("Hotel name cannot be null");
+        }
+        Resident entry = resident.get(hotelName);
+        if (entry == null) {
+            entry = load(hotelName);
+            if (entry == null) return null;
+        }
+        entry.leases++;
+        entry.lastAccessMillis = clock.millis();
+        evictOverLimit();
+        return entry.hotelChain;
+    }
+    
+    public synchronized void release(String hotelName) {
+        Resident entry = hotelName == null ? null : resident.get(hotelName);
+        if (entry == null || entry.leases == 0) {
+            throw new IllegalStateException("Hotel is not leased: " + hotelName);
+        }
+        entry.leases--;
+        entry.lastAccessMillis = clock.millis();
+        evictOverLimit();
+    }
+    
+    // Runs the operation with the hotel leased for exactly its duration
+    public <T> T withHotel(String hotelName, Function<HotelChain, T> operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        HotelChain hotelChain = acquire(hotelName);
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Unknown hotel: " + hotelName);
+        }
+        try {
+            return operation.apply(hotelChain);
+        } finally {
+            release(hotelName);
+        }
+    }
+    
+    public synchronized boolean isResident(String hotelName) {
+        return resident.containsKey(hotelName);
+    }
+    
+    // Saves and drops unleased hotels untouched for longer than maxIdle, e.g. when memory runs low
+    public synchronized int evictIdle(Duration maxIdle) {
+        if (maxIdle == null || maxIdle.isNegative()) {
+            throw new IllegalArgumentException("Idle time cannot be null or negative");
+        }
+        long cutoff = clock.millis() - maxIdle.toMillis();
+        List<String> idle = new ArrayList<>();
+        for (Map.Entry<String, Resident> entry : resident.entrySet()) {
+            if (entry.getValue().leases == 0 && entry.getValue().lastAccessMillis <= cutoff) {
+                idle.add(entry.getKey());
+            }
+        }
+        for (String hotelName : idle) {
+            evict(resident.remove(hotelName));
+        }
+        return idle.size();
+    }
+    
+    // Saves every resident hotel without dropping it
+    public synchronized void flush() {
+        for (Resident entry : resident.values()) {
+            repository.save(entry.hotelChain);
+        }
+    }
+    
+    public synchronized int getResidentCount() {
+        return resident.size();
+    }
+    
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+    
+    private Resident load(String hotelName) {
+        HotelChain hotelChain = repository.load(hotelName);
+        if (hotelChain == null) return null;
+        Resident entry = new Resident(hotelChain, clock.millis());
+        resident.put(hotelName, entry);
+        return entry;
+    }
+    
+    // Drops the least recently used unleased hotels until back within the limit
+    private void evictOverLimit() {
+        Iterator<Resident> eldest = resident.values().iterator();
+        while (resident.size() > maximumResident && eldest.hasNext()) {
+            Resident entry = eldest.next();
+            if (entry.leases == 0) {
+                eldest.remove();
+                evict(entry);
+            }
+        }
+    }
+    
+    private void evict(Resident entry) {
+        repository.save(entry.hotelChain);
+        evictions++;
+    }
+    
+    private static final class Resident {
+        private final HotelChain hotelChain;
+        private long lastAccessMillis;
+        private int leases;
+        
+        private Resident(HotelChain hotelChain, long lastAccessMillis) {
+            this.hotelChain = hotelChain;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hotel.storage;
+
+import com.hotel.domain.HotelChain;
+
+import java.util.Collection;
+
+public interface HotelRepository {
+    Collection<String> getHotelNames();
+    
+    // Returns null when the hotel is not stored
+    HotelChain load(String hotelName);
+    
+    void save(HotelChain hotelChain);
+}
\ No newline at end of file
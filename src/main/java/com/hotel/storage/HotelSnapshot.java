@@ -0,0 +1,182 @@
+package com.hotel.storage;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Hotel;
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.HousekeepingStatus;
+import com.hotel.domain.HowMany;
+import com.hotel.domain.IdempotencyCache;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReservationStatus;
+import com.hotel.domain.ReservePayer;
+import com.hotel.domain.RoomAllocationStrategy;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.WaitlistEntry;
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.domain.valueobjects.Name;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Stored form of one hotel: rooms are kept by number and reservations refer to
+// their room by number, so hydrating rebuilds a fresh object graph. Besides rooms
+// and reservations it keeps the business date, housekeeping status, waitlist,
+// payers, idempotency keys, the kind of allocation strategy and whether the archive
+// lives off-heap. Collaborators such as an event bus, housekeeping scheduler or
+// settlement pipeline are wiring, not state, and have to be attached again after
+// hydrating; a scheduler attached then picks up the rooms still awaiting a clean.
+public final class HotelSnapshot {
+    private final Name chainName;
+    private final String hotelName;
+    private final BookingDate businessDate;
+    private final List<RoomRecord> rooms;
+    private final List<ReservationRecord> reservations;
+    private final List<ReservationRecord> archivedReservations;
+    private final boolean offHeapArchive;
+    private final List<WaitlistEntry> waitlist;
+    private final Map<String, ReservePayer> payers;
+    private final IdempotencyRecord idempotency;
+    // Kept empty; every hydrate takes its own copy
+    private final RoomAllocationStrategy allocationStrategy;
+    
+    private HotelSnapshot(Name chainName, String hotelName, BookingDate businessDate, List<RoomRecord> rooms,
+                          List<ReservationRecord> reservations, List<ReservationRecord> archivedReservations,
+                          boolean offHeapArchive, List<WaitlistEntry> waitlist, Map<String, ReservePayer> payers,
+                          IdempotencyRecord idempotency, RoomAllocationStrategy allocationStrategy) {
+        this.chainName = chainName;
+        this.hotelName = hotelName;
+        this.businessDate = businessDate;
+        this.rooms = List.copyOf(rooms);
+        this.reservations = List.copyOf(reservations);
+        this.archivedReservations = List.copyOf(archivedReservations);
+        this.offHeapArchive = offHeapArchive;
+        this.waitlist = List.copyOf(waitlist);
+        this.payers = Map.copyOf(payers);
+        this.idempotency = idempotency;
+        this.allocationStrategy = allocationStrategy;
+    }
+    
+    public static HotelSnapshot capture(HotelChain hotelChain) {
+        if (hotelChain == null || hotelChain.getHotel() == null) {
+            throw new IllegalArgumentException("Hotel chain must have a hotel");
+        }
+        Hotel hotel = hotelChain.getHotel();
+        List<RoomRecord> rooms = new ArrayList<>(hotel.getRoomCount());
+        for (Room room : hotel.getRooms()) {
+            rooms.add(new RoomRecord(room.getRoomNumber(), room.getRoomType(), room.getOccupiedBy(),
+                                     room.getHousekeepingStatus()));
+        }
+        return new HotelSnapshot(hotelChain.getName(), hotel.getName(), hotelChain.getBusinessDate(), rooms,
+            records(hotelChain.getReservations()), records(hotelChain.getArchivedReservations()),
+            hotelChain.getArchiveStore() != null, hotelChain.getWaitlistEntries(),
+            hotelChain.getPayerRegistry().getPayers(), IdempotencyRecord.of(hotelChain.getIdempotencyCache()),
+            hotelChain.getAllocationStrategy().emptyCopy());
+    }
+    
+    public HotelChain hydrate() {
+        HotelChain hotelChain = new HotelChain(chainName);
+        Hotel hotel = new Hotel(hotelName);
+        for (RoomRecord record : rooms) {
+            Room room = new Room(record.number(), record.roomType());
+            if (record.occupant() != null) {
+                room.occupy(record.occupant());
+            }
+            restoreHousekeeping(room, record.housekeeping());
+            hotel.addRoom(room);
+        }
+        hotelChain.setHotel(hotel);
+        hotelChain.getBusinessDateService().setBusinessDate(hotel, businessDate);
+        hotelChain.setAllocationStrategy(allocationStrategy.emptyCopy());
+        if (offHeapArchive) {
+            hotelChain.setArchiveStore(new OffHeapReservationStore());
+        }
+        Map<String, Reservation> byNumber = new HashMap<>();
+        for (ReservationRecord record : reservations) {
+            Reservation reservation = record.toReservation(hotel);
+            hotelChain.restoreReservation(reservation);
+            byNumber.put(reservation.getNumber(), reservation);
+        }
+        for (ReservationRecord record : archivedReservations) {
+            Reservation reservation = record.toReservation(hotel);
+            hotelChain.restoreArchivedReservation(reservation);
+            byNumber.put(reservation.getNumber(), reservation);
+        }
+        hotelChain.setIdempotencyCache(idempotency.toCache(byNumber));
+        for (WaitlistEntry entry : waitlist) {
+            hotelChain.restoreWaitlistEntry(new WaitlistEntry(entry.getRoomType(), entry.getStartDate(),
+                entry.getEndDate(), entry.getHowMany(), entry.getPriority(), entry.getSequence()));
+        }
+        for (Map.Entry<String, ReservePayer> payer : payers.entrySet()) {
+            hotelChain.getPayerRegistry().restore(payer.getKey(), payer.getValue());
+        }
+        return hotelChain;
+    }
+    
+    // Getters
+    public String getHotelName() { return hotelName; }
+    public int getRoomCount() { return rooms.size(); }
+    public int getReservationCount() { return reservations.size(); }
+    
+    // New rooms start INSPECTED; the status cycle is walked forward to the stored one
+    private static void restoreHousekeeping(Room room, HousekeepingStatus status) {
+        if (status == HousekeepingStatus.INSPECTED) return;
+        room.transitionHousekeeping(HousekeepingStatus.DIRTY);
+        if (status == HousekeepingStatus.CLEAN) {
+            room.transitionHousekeeping(HousekeepingStatus.CLEAN);
+        }
+    }
+    
+    private static List<ReservationRecord> records(List<Reservation> reservations) {
+        List<ReservationRecord> records = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            records.add(new ReservationRecord(reservation.getReservationDate(), reservation.getStartDate(),
+                reservation.getEndDate(), reservation.getNumber(), reservation.getRoom().getRoomNumber(),
+                reservation.getRoomType(), reservation.getHowMany().getNumber(), reservation.getGuest(),
+                reservation.getStatus()));
+        }
+        return records;
+    }
+    
+    private record IdempotencyRecord(int maximumSize, Duration timeToLive, Clock clock, List<KeyRecord> keys) {
+        static IdempotencyRecord of(IdempotencyCache cache) {
+            List<KeyRecord> keys = new ArrayList<>();
+            for (IdempotencyCache.Settled settled : cache.settled()) {
+                keys.add(new KeyRecord(settled.key(), settled.reservation().getNumber(), settled.expiresAt()));
+            }
+            return new IdempotencyRecord(cache.getMaximumSize(), cache.getTimeToLive(), cache.getClock(),
+                                         List.copyOf(keys));
+        }
+        
+        // A key whose reservation is no longer stored is dropped
+        IdempotencyCache toCache(Map<String, Reservation> byNumber) {
+            IdempotencyCache cache = new IdempotencyCache(maximumSize, timeToLive, clock);
+            for (KeyRecord key : keys) {
+                Reservation reservation = byNumber.get(key.reservationNumber());
+                if (reservation != null) {
+                    cache.restore(key.key(), reservation, key.expiresAt());
+                }
+            }
+            return cache;
+        }
+    }
+    
+    private record KeyRecord(String key, String reservationNumber, long expiresAt) {
+    }
+    
+    private record RoomRecord(String number, RoomType roomType, Guest occupant, HousekeepingStatus housekeeping) {
+    }
+    
+    private record ReservationRecord(BookingDate reservationDate, BookingDate startDate, BookingDate endDate,
+                                     String number, String roomNumber, RoomType roomType, int howMany,
+                                     Guest guest, ReservationStatus status) {
+        Reservation toReservation(Hotel hotel) {
+            return new Reservation(reservationDate, startDate, endDate, number,
+                hotel.findRoomByNumber(roomNumber), roomType, new HowMany(howMany), guest, status);
+        }
+    }
+}
\ No newline at end of file
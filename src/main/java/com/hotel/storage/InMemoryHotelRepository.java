@@ -0,0 +1,46 @@
+package com.hotel.storage;
+
+import com.hotel.domain.HotelChain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps snapshots rather than live objects, so every load is a real hydration
+public class InMemoryHotelRepository implements HotelRepository {
+    private final Map<String, HotelSnapshot> snapshots;
+    private final AtomicLong loads;
+    private final AtomicLong saves;
+    
+    public InMemoryHotelRepository() {
+        this.snapshots = new ConcurrentHashMap<>();
+        this.loads = new AtomicLong();
+        this.saves = new AtomicLong();
+    }
+    
+    @Override
+    public Collection<String> getHotelNames() {
+        return new ArrayList<>(snapshots.keySet());
+    }
+    
+    @Override
+    public HotelChain load(String hotelName) {
+        HotelSnapshot snapshot = hotelName == null ? null : snapshots.get(hotelName);
+        if (snapshot == null) return null;
+        loads.incrementAndGet();
+        return snapshot.hydrate();
+    }
+    
+    @Override
+    public void save(HotelChain hotelChain) {
+        HotelSnapshot snapshot = HotelSnapshot.capture(hotelChain);
+        snapshots.put(snapshot.getHotelName(), snapshot);
+        saves.incrementAndGet();
+    }
+    
+    // Getters
+    public long getLoadCount() { return loads.get(); }
+    public long getSaveCount() { return saves.get(); }
+}
\ No newline at end of file
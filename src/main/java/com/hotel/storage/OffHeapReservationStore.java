@@ -0,0 +1,342 @@
+package com.hotel.storage;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.Address;
+import com.hotel.domain.valueobjects.Name;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Keeps reservations as fixed-width 32-byte records in direct buffers so large
+// histories cost the GC nothing per record. Rooms and room types are bounded by
+// the hotel, so they are interned once and referenced by ordinal. Guests grow with
+// the history, so each distinct guest is written off-heap once and records hold
+// its offset; dates are stored as epoch days. Every access takes the store's
+// monitor, so scans and views are safe alongside appends from another thread.
+public class OffHeapReservationStore {
+    static final int RECORD_BYTES = 32;
+    static final int ID = 0;
+    static final int RESERVATION_DAY = 8;
+    static final int START_DAY = 12;
+    static final int END_DAY = 16;
+    static final int ROOM = 20;
+    static final int GUEST = 24;
+    static final int ROOM_TYPE = 28;
+    static final int HOW_MANY = 30;
+    static final int STATUS = 31;
+    
+    private static final String NUMBER_PREFIX = "RES_";
+    private static final int RECORDS_PER_CHUNK = 1 << 16;
+    private static final int INDEX_SLOT_BYTES = 12;
+    private static final int GUEST_FIELDS = 7;
+    
+    private final List<ByteBuffer> chunks;
+    private final List<RoomType> roomTypes;
+    private final Map<RoomType, Integer> roomTypeOrdinals;
+    private final List<Room> rooms;
+    private final Map<Room, Integer> roomOrdinals;
+    // Open-addressing id -> record table, also off-heap; a slot holds the id and record index + 1
+    private ByteBuffer index;
+    private int indexCapacity;
+    private int size;
+    // Guest entries are the id, name and address as length-prefixed UTF-8; their table
+    // maps a hash of the entry to its offset + 1. Ids alone are not unique, since
+    // they are derived from the clock and first name, so whole entries are compared.
+    private ByteBuffer guestData;
+    private int guestDataSize;
+    private ByteBuffer guestIndex;
+    private int guestIndexCapacity;
+    private int guestCount;
+    
+    public OffHeapReservationStore() {
+        this.chunks = new ArrayList<>();
+        this.roomTypes = new ArrayList<>();
+        this.roomTypeOrdinals = new HashMap<>();
+        this.rooms = new ArrayList<>();
+        this.roomOrdinals = new IdentityHashMap<>();
+        this.indexCapacity = 1024;
+        this.index = ByteBuffer.allocateDirect(indexCapacity * INDEX_SLOT_BYTES);
+        this.guestData = ByteBuffer.allocateDirect(64 * 1024);
+        this.guestIndexCapacity = 1024;
+        this.guestIndex = ByteBuffer.allocateDirect(guestIndexCapacity * INDEX_SLOT_BYTES);
+    }
+    
+    // Checks everything before writing, so a rejected reservation leaves the store unchanged
+    public synchronized int append(Reservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        long id = parseId(reservation.getNumber());
+        if (find(id) >= 0) {
+            throw new IllegalArgumentException("Duplicate reservation: " + reservation.getNumber());
+        }
+        if (reservation.getHowMany().getNumber() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("HowMany too large for stored record");
+        }
+        if (!roomTypeOrdinals.containsKey(reservation.getRoomType()) && roomTypes.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many room types for stored record");
+        }
+        byte[][] guestFields = reservation.getGuest() == null ? null : guestFields(reservation.getGuest());
+        
+        int record = size;
+        if (record % RECORDS_PER_CHUNK == 0) {
+            chunks.add(ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_BYTES));
+        }
+        ByteBuffer chunk = chunks.get(record / RECORDS_PER_CHUNK);
+        int offset = (record % RECORDS_PER_CHUNK) * RECORD_BYTES;
+        chunk.putLong(offset + ID, id);
+        chunk.putInt(offset + RESERVATION_DAY, reservation.getReservationDate().epochDay());
+        chunk.putInt(offset + START_DAY, reservation.getStartDate().epochDay());
+        chunk.putInt(offset + END_DAY, reservation.getEndDate().epochDay());
+        chunk.putInt(offset + ROOM, intern(reservation.getRoom(), rooms, roomOrdinals));
+        chunk.putInt(offset + GUEST, guestFields == null ? -1 : storeGuest(guestFields));
+        chunk.putShort(offset + ROOM_TYPE, (short) intern(reservation.getRoomType(), roomTypes, roomTypeOrdinals));
+        chunk.put(offset + HOW_MANY, (byte) reservation.getHowMany().getNumber().intValue());
+        chunk.put(offset + STATUS, (byte) reservation.getStatus().ordinal());
+        
+        size++;
+        indexRecord(id, record);
+        return record;
+    }
+    
+    // Returns the record index or -1
+    public synchronized int find(String reservationNumber) {
+        if (reservationNumber == null || !reservationNumber.startsWith(NUMBER_PREFIX)) return -1;
+        try {
+            return find(parseId(reservationNumber));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+    
+    public synchronized ReservationView view(int record) {
+        return new ReservationView(this).moveTo(record);
+    }
+    
+    // Walks every record with a single reused flyweight, holding the monitor throughout
+    public synchronized void scan(Consumer<ReservationView> visitor) {
+        ReservationView view = new ReservationView(this);
+        int count = size();
+        for (int record = 0; record < count; record++) {
+            visitor.accept(view.moveTo(record));
+        }
+    }
+    
+    public synchronized int size() {
+        return size;
+    }
+    
+    public synchronized long offHeapBytes() {
+        return (long) chunks.size() * RECORDS_PER_CHUNK * RECORD_BYTES + (long) indexCapacity * INDEX_SLOT_BYTES
+            + guestData.capacity() + (long) guestIndexCapacity * INDEX_SLOT_BYTES;
+    }
+    
+    static String formatNumber(long id) {
+        return NUMBER_PREFIX + id;
+    }
+    
+    public static long parseId(String reservationNumber) {
+        if (reservationNumber == null || !reservationNumber.startsWith(NUMBER_PREFIX)
+                || reservationNumber.length() == NUMBER_PREFIX.length()) {
+            throw new IllegalArgumentException("Reservation number must be RES_ followed by digits");
+        }
+        long id = 0;
+        for (int i = NUMBER_PREFIX.length(); i < reservationNumber.length(); i++) {
+            char c = reservationNumber.charAt(i);
+            if (c < '0' || c > '9' || id > (Long.MAX_VALUE - (c - '0')) / 10) {
+                throw new IllegalArgumentException("Reservation number must be RES_ followed by digits");
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+    
+    // Record field accessors used by the flyweight
+    synchronized long longAt(int record, int field) {
+        return chunks.get(record / RECORDS_PER_CHUNK).getLong((record % RECORDS_PER_CHUNK) * RECORD_BYTES + field);
+    }
+    
+    synchronized int intAt(int record, int field) {
+        return chunks.get(record / RECORDS_PER_CHUNK).getInt((record % RECORDS_PER_CHUNK) * RECORD_BYTES + field);
+    }
+    
+    synchronized short shortAt(int record, int field) {
+        return chunks.get(record / RECORDS_PER_CHUNK).getShort((record % RECORDS_PER_CHUNK) * RECORD_BYTES + field);
+    }
+    
+    synchronized byte byteAt(int record, int field) {
+        return chunks.get(record / RECORDS_PER_CHUNK).get((record % RECORDS_PER_CHUNK) * RECORD_BYTES + field);
+    }
+    
+    synchronized Room roomAt(int ordinal) { return rooms.get(ordinal); }
+    synchronized RoomType roomTypeAt(int ordinal) { return roomTypes.get(ordinal); }
+    
+    // Builds the guest stored at an entry offset, or null for -1
+    synchronized Guest guestAt(int offset) {
+        if (offset < 0) return null;
+        String[] fields = new String[GUEST_FIELDS];
+        int position = offset;
+        for (int i = 0; i < GUEST_FIELDS; i++) {
+            byte[] bytes = new byte[guestData.getChar(position)];
+            guestData.get(position + 2, bytes);
+            fields[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + bytes.length;
+        }
+        return new Guest(fields[0], new Name(fields[1], fields[2]),
+                         new Address(fields[3], fields[4], fields[5], fields[6]));
+    }
+    
+    private static <T> int intern(T value, List<T> table, Map<T, Integer> ordinals) {
+        Integer ordinal = ordinals.get(value);
+        if (ordinal == null) {
+            ordinal = table.size();
+            table.add(value);
+            ordinals.put(value, ordinal);
+        }
+        return ordinal;
+    }
+    
+    private static byte[][] guestFields(Guest guest) {
+        Name name = guest.getName();
+        Address address = guest.getAddressDetails();
+        byte[][] fields = {
+            utf8(guest.getGuestId()), utf8(name.firstName()), utf8(name.lastName()), utf8(address.street()),
+            utf8(address.city()), utf8(address.zipCode()), utf8(address.country())
+        };
+        for (byte[] field : fields) {
+            if (field.length > Character.MAX_VALUE) {
+                throw new IllegalArgumentException("Guest field too long for stored record");
+            }
+        }
+        return fields;
+    }
+    
+    // Returns the offset of the guest's entry, writing it first if no equal entry exists
+    private int storeGuest(byte[][] fields) {
+        long hash = hash(fields);
+        int mask = guestIndexCapacity - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int position = slot * INDEX_SLOT_BYTES;
+            int offsetPlusOne = guestIndex.getInt(position + 8);
+            if (offsetPlusOne == 0) break;
+            if (guestIndex.getLong(position) == hash && entryMatches(offsetPlusOne - 1, fields)) {
+                return offsetPlusOne - 1;
+            }
+        }
+        
+        int length = 0;
+        for (byte[] field : fields) {
+            length += 2 + field.length;
+        }
+        ensureGuestData(length);
+        int offset = guestDataSize;
+        for (byte[] field : fields) {
+            guestData.putChar(guestDataSize, (char) field.length);
+            guestData.put(guestDataSize + 2, field);
+            guestDataSize += 2 + field.length;
+        }
+        
+        guestCount++;
+        if (guestCount * 2 > guestIndexCapacity) {
+            guestIndex = rehash(guestIndex, guestIndexCapacity);
+            guestIndexCapacity *= 2;
+        }
+        insert(guestIndex, guestIndexCapacity, hash, offset);
+        return offset;
+    }
+    
+    private boolean entryMatches(int offset, byte[][] fields) {
+        int position = offset;
+        for (byte[] field : fields) {
+            if (guestData.getChar(position) != field.length) return false;
+            for (int i = 0; i < field.length; i++) {
+                if (guestData.get(position + 2 + i) != field[i]) return false;
+            }
+            position += 2 + field.length;
+        }
+        return true;
+    }
+    
+    private void ensureGuestData(int length) {
+        if (guestDataSize + length <= guestData.capacity()) return;
+        int capacity = guestData.capacity();
+        while (guestDataSize + length > capacity) {
+            capacity *= 2;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(0, guestData, 0, guestDataSize);
+        guestData = grown;
+    }
+    
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // 64-bit FNV-1a over the fields and their lengths
+    private static long hash(byte[][] fields) {
+        long h = 0xCBF29CE484222325L;
+        for (byte[] field : fields) {
+            h = (h ^ field.length) * 0x100000001B3L;
+            for (byte b : field) {
+                h = (h ^ (b & 0xFF)) * 0x100000001B3L;
+            }
+        }
+        return h;
+    }
+    
+    private int find(long id) {
+        int mask = indexCapacity - 1;
+        for (int slot = mix(id) & mask; ; slot = (slot + 1) & mask) {
+            int position = slot * INDEX_SLOT_BYTES;
+            int recordPlusOne = index.getInt(position + 8);
+            if (recordPlusOne == 0) return -1;
+            if (index.getLong(position) == id) return recordPlusOne - 1;
+        }
+    }
+    
+    private void indexRecord(long id, int record) {
+        if (size * 2 > indexCapacity) {
+            index = rehash(index, indexCapacity);
+            indexCapacity *= 2;
+        }
+        insert(index, indexCapacity, id, record);
+    }
+    
+    // Copies a full open-addressing table into one of twice the capacity
+    private static ByteBuffer rehash(ByteBuffer table, int capacity) {
+        int newCapacity = capacity * 2;
+        ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity * INDEX_SLOT_BYTES);
+        for (int slot = 0; slot < capacity; slot++) {
+            int position = slot * INDEX_SLOT_BYTES;
+            int valuePlusOne = table.getInt(position + 8);
+            if (valuePlusOne != 0) {
+                insert(grown, newCapacity, table.getLong(position), valuePlusOne - 1);
+            }
+        }
+        return grown;
+    }
+    
+    private static void insert(ByteBuffer table, int capacity, long key, int value) {
+        int mask = capacity - 1;
+        int slot = mix(key) & mask;
+        while (table.getInt(slot * INDEX_SLOT_BYTES + 8) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table.putLong(slot * INDEX_SLOT_BYTES, key);
+        table.putInt(slot * INDEX_SLOT_BYTES + 8, value + 1);
+    }
+    
+    private static int mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.hotel.storage;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.HowMany;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReservationStatus;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+
+// Flyweight over one stored record with the same getters as Reservation; moveTo
+// repositions it, so a scan reuses one instance. Primitive getters avoid
+// building BookingDate objects at all.
+public class ReservationView {
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+    
+    private final OffHeapReservationStore store;
+    private int record;
+    
+    ReservationView(OffHeapReservationStore store) {
+        this.store = store;
+    }
+    
+    public ReservationView moveTo(int record) {
+        if (record < 0 || record >= store.size()) {
+            throw new IndexOutOfBoundsException("No stored reservation at " + record);
+        }
+        this.record = record;
+        return this;
+    }
+    
+    // Builds a regular heap Reservation for callers that need one
+    public Reservation toReservation() {
+        return new Reservation(getReservationDate(), getStartDate(), getEndDate(), getNumber(),
+                               getRoom(), getRoomType(), getHowMany(), getGuest(), getStatus());
+    }
+    
+    // Getters
+    public int getRecord() { return record; }
+    public long getId() { return store.longAt(record, OffHeapReservationStore.ID); }
+    public String getNumber() { return OffHeapReservationStore.formatNumber(getId()); }
+    public int getReservationDay() { return store.intAt(record, OffHeapReservationStore.RESERVATION_DAY); }
+    public int getStartDay() { return store.intAt(record, OffHeapReservationStore.START_DAY); }
+    public int getEndDay() { return store.intAt(record, OffHeapReservationStore.END_DAY); }
+    public BookingDate getReservationDate() { return toDate(getReservationDay()); }
+    public BookingDate getStartDate() { return toDate(getStartDay()); }
+    public BookingDate getEndDate() { return toDate(getEndDay()); }
+    public Room getRoom() { return store.roomAt(store.intAt(record, OffHeapReservationStore.ROOM)); }
+    public RoomType getRoomType() { return store.roomTypeAt(getRoomTypeOrdinal()); }
+    public int getRoomTypeOrdinal() { return store.shortAt(record, OffHeapReservationStore.ROOM_TYPE); }
+    public HowMany getHowMany() { return new HowMany((int) store.byteAt(record, OffHeapReservationStore.HOW_MANY)); }
+    public Guest getGuest() { return store.guestAt(store.intAt(record, OffHeapReservationStore.GUEST)); }
+    public ReservationStatus getStatus() { return STATUSES[store.byteAt(record, OffHeapReservationStore.STATUS)]; }
+    
+    private static BookingDate toDate(int epochDay) {
+        return BookingDate.ofEpochDay(epochDay);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.hotel.stress;
+
+import com.hotel.domain.Hotel;
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReservationStatus;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomAllocationStrategy;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.valueobjects.BookingDate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Checks a quiescent chain against what its reservations say must be true, and
+// returns one line per violation. Night-by-night over a window, so keep it small.
+public final class BookingInvariants {
+    
+    private BookingInvariants() {
+    }
+    
+    public static List<String> check(HotelChain hotelChain, LocalDate firstDay, int days) {
+        List<String> violations = new ArrayList<>();
+        Hotel hotel = hotelChain.getHotel();
+        List<Reservation> reservations = hotelChain.getReservations();
+        List<Room> rooms = hotel.getRooms();
+        
+        checkNumbers(reservations, violations);
+        Map<Room, int[]> nightsByRoom = checkRoomNights(reservations, firstDay, days, violations);
+        checkOccupancy(rooms, reservations, violations);
+        checkAllocator(hotelChain.getAllocationStrategy(), hotel, rooms, nightsByRoom, firstDay, days, violations);
+        checkAvailability(hotelChain, rooms, reservations, firstDay, days, violations);
+        return violations;
+    }
+    
+    private static void checkNumbers(List<Reservation> reservations, List<String> violations) {
+        Set<String> numbers = new HashSet<>();
+        for (Reservation reservation : reservations) {
+            if (!numbers.add(reservation.getNumber())) {
+                violations.add("Reservation number issued twice: " + reservation.getNumber());
+            }
+            if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+                violations.add("Cancelled reservation still active: " + reservation.getNumber());
+            }
+        }
+    }
+    
+    // No room-night sold twice: every inventory-holding reservation claims its nights
+    private static Map<Room, int[]> checkRoomNights(List<Reservation> reservations, LocalDate firstDay,
+                                                    int days, List<String> violations) {
+        Map<Room, int[]> nightsByRoom = new IdentityHashMap<>();
+        long first = firstDay.toEpochDay();
+        for (Reservation reservation : reservations) {
+            if (!reservation.getStatus().holdsInventory()) continue;
+            int[] nights = nightsByRoom.computeIfAbsent(reservation.getRoom(), room -> new int[days]);
+            long from = Math.max(first, reservation.getStartDate().epochDay());
+            long to = Math.min(first + days - 1, reservation.getEndDate().epochDay());
+            for (long day = from; day <= to; day++) {
+                if (++nights[(int) (day - first)] == 2) {
+                    violations.add("Room " + reservation.getRoom().getRoomNumber() + " sold twice on "
+                        + LocalDate.ofEpochDay(day));
+                }
+            }
+        }
+        return nightsByRoom;
+    }
+    
+    // Occupied rooms and checked-in reservations must pair up one to one
+    private static void checkOccupancy(List<Room> rooms, List<Reservation> reservations, List<String> violations) {
+        Map<Room, Reservation> checkedIn = new IdentityHashMap<>();
+        for (Reservation reservation : reservations) {
+            if (reservation.getStatus() != ReservationStatus.CHECKED_IN) continue;
+            if (checkedIn.put(reservation.getRoom(), reservation) != null) {
+                violations.add("Two checked-in reservations for room " + reservation.getRoom().getRoomNumber());
+            }
+            if (reservation.getRoom().getOccupiedBy() != reservation.getGuest()) {
+                violations.add("Checked-in reservation " + reservation.getNumber() + " does not occupy its room");
+            }
+        }
+        for (Room room : rooms) {
+            if (room.isOccupied() && !checkedIn.containsKey(room)) {
+                violations.add("Room " + room.getRoomNumber() + " occupied without a checked-in reservation");
+            }
+        }
+    }
+    
+    // The allocator's calendars must agree with the reservations night by night
+    private static void checkAllocator(RoomAllocationStrategy allocator, Hotel hotel, List<Room> rooms,
+                                       Map<Room, int[]> nightsByRoom, LocalDate firstDay, int days,
+                                       List<String> violations) {
+        for (Room room : rooms) {
+            int[] nights = nightsByRoom.get(room);
+            for (int night = 0; night < days; night++) {
+                BookingDate date = new BookingDate(firstDay.plusDays(night));
+                boolean booked = nights != null && nights[night] > 0;
+                if (allocator.isFree(hotel, room, date, date) == booked) {
+                    violations.add("Allocator index disagrees for room " + room.getRoomNumber() + " on "
+                        + date.localDate() + ": booked=" + booked);
+                }
+            }
+        }
+    }
+    
+    // Availability answers, cached or not, must match a recount from the reservations
+    private static void checkAvailability(HotelChain hotelChain, List<Room> rooms, List<Reservation> reservations,
+                                          LocalDate firstDay, int days, List<String> violations) {
+        Map<RoomType, Integer> vacant = new HashMap<>();
+        for (Room room : rooms) {
+            vacant.merge(room.getRoomType(), room.isOccupied() ? 0 : 1, Integer::sum);
+        }
+        for (RoomType roomType : vacant.keySet()) {
+            for (int night = 0; night < days; night++) {
+                BookingDate date = new BookingDate(firstDay.plusDays(night));
+                int booked = 0;
+                for (Reservation reservation : reservations) {
+                    if (reservation.getStatus().holdsInventory() && reservation.getRoomType().equals(roomType)
+                            && !reservation.getStartDate().isAfter(date) && !reservation.getEndDate().isBefore(date)) {
+                        booked++;
+                    }
+                }
+                int expected = Math.max(0, vacant.get(roomType) - booked);
+                int reported = hotelChain.countAvailableRooms(roomType, date, date);
+                if (reported != expected) {
+                    violations.add("Availability index reports " + reported + " " + roomType.getKind()
+                        + " rooms on " + date.localDate() + ", expected " + expected);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
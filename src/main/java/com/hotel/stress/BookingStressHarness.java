@@ -0,0 +1,190 @@
+package com.hotel.stress;
+
+import com.hotel.domain.AvailabilityCache;
+import com.hotel.domain.BusinessDateService;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Hotel;
+import com.hotel.domain.HotelChain;
+import com.hotel.domain.HowMany;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.TransitionResult;
+import com.hotel.domain.valueobjects.Address;
+import com.hotel.domain.valueobjects.BookingDate;
+import com.hotel.domain.valueobjects.Money;
+import com.hotel.domain.valueobjects.Name;
+import com.hotel.domain.valueobjects.RoomKind;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Hammers one HotelChain with a random mix of make, cancel, check-in and check-out
+// from many threads, then checks the invariants. Each thread draws its operations
+// from its own Random derived from the seed, so a run repeats the same workload;
+// only the interleaving differs. Threads share reservation numbers through a slot
+// array so they cancel and check in each other's bookings; a slot is freed again
+// when its booking is cancelled or checked out.
+public class BookingStressHarness {
+    private static final LocalDate BUSINESS_DAY = LocalDate.of(2026, 1, 15);
+    private static final int HORIZON_DAYS = 14;
+    private static final RoomKind[] KINDS = {RoomKind.SINGLE, RoomKind.DOUBLE, RoomKind.SUITE};
+    // Holds a slot while its booking is being made; never a reservation number
+    private static final String CLAIMED = "CLAIMED";
+    
+    private final long seed;
+    private final int threads;
+    private final int operationsPerThread;
+    private final int rooms;
+    
+    public BookingStressHarness(long seed, int threads, int operationsPerThread, int rooms) {
+        if (threads <= 0 || operationsPerThread <= 0 || rooms < KINDS.length) {
+            throw new IllegalArgumentException("Threads and operations must be positive and rooms at least " + KINDS.length);
+        }
+        this.seed = seed;
+        this.threads = threads;
+        this.operationsPerThread = operationsPerThread;
+        this.rooms = rooms;
+    }
+    
+    public StressReport run() throws InterruptedException {
+        HotelChain hotelChain = new HotelChain(new Name("Stress", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(BUSINESS_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        hotelChain.setAvailabilityCache(new AvailabilityCache(4_096));
+        Hotel hotel = new Hotel("Stress Hotel");
+        hotelChain.setHotel(hotel);
+        RoomType[] roomTypes = new RoomType[KINDS.length];
+        for (int i = 0; i < KINDS.length; i++) {
+            roomTypes[i] = new RoomType(KINDS[i], new Money(BigDecimal.valueOf(100 + 50 * i), Currency.getInstance("USD")));
+        }
+        for (int i = 0; i < rooms; i++) {
+            hotel.addRoom(new Room(String.valueOf(100 + i), roomTypes[i % roomTypes.length]));
+        }
+        
+        AtomicReferenceArray<String> numbers = new AtomicReferenceArray<>(rooms * 2);
+        long[][] attempted = new long[threads][StressOperation.values().length];
+        long[][] succeeded = new long[threads][StressOperation.values().length];
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed * 1_000_003 + worker);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operationsPerThread; i++) {
+                    StressOperation operation = pick(random);
+                    attempted[worker][operation.ordinal()]++;
+                    try {
+                        if (perform(operation, random, hotelChain, roomTypes, numbers)) {
+                            succeeded[worker][operation.ordinal()]++;
+                        }
+                    } catch (RuntimeException e) {
+                        // Unsafe publication tends to surface as exceptions rather than bad state
+                        failures.add(operation + " threw " + e);
+                    }
+                }
+            }, "booking-stress-" + t);
+            workers.add(thread);
+            thread.start();
+        }
+        
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - started;
+        
+        List<String> violations = new ArrayList<>(failures);
+        violations.addAll(BookingInvariants.check(hotelChain, BUSINESS_DAY, HORIZON_DAYS));
+        return new StressReport(seed, threads, sum(attempted), sum(succeeded), elapsed, violations);
+    }
+    
+    // 40% make, 20% each of cancel, check-in and check-out
+    private static StressOperation pick(Random random) {
+        int roll = random.nextInt(10);
+        if (roll < 4) return StressOperation.MAKE;
+        if (roll < 6) return StressOperation.CANCEL;
+        if (roll < 8) return StressOperation.CHECK_IN;
+        return StressOperation.CHECK_OUT;
+    }
+    
+    private static boolean perform(StressOperation operation, Random random, HotelChain hotelChain,
+                                   RoomType[] roomTypes, AtomicReferenceArray<String> numbers) {
+        int slot = random.nextInt(numbers.length());
+        switch (operation) {
+            case MAKE -> {
+                // A third are same-day stays so they can check in and out under the fixed business date.
+                // Everything is drawn before looking at shared state so the draws repeat per seed.
+                int offset = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(HORIZON_DAYS - 5);
+                int nights = offset == 0 ? 0 : random.nextInt(4);
+                RoomType roomType = roomTypes[random.nextInt(roomTypes.length)];
+                if (!numbers.compareAndSet(slot, null, CLAIMED)) return false;
+                
+                BookingDate startDate = new BookingDate(BUSINESS_DAY.plusDays(offset));
+                BookingDate endDate = new BookingDate(BUSINESS_DAY.plusDays(offset + nights));
+                Reservation reservation = hotelChain.tryMakeReservation(roomType, startDate, endDate, new HowMany(1));
+                if (reservation == null) {
+                    numbers.set(slot, null);
+                    return false;
+                }
+                reservation.assignGuest(new Guest(new Name("Guest", String.valueOf(slot)),
+                    new Address("1 Stress St", "City", "12345", "Country")));
+                numbers.set(slot, reservation.getNumber());
+                return true;
+            }
+            case CANCEL -> {
+                String number = numbers.get(slot);
+                if (number == null || !hotelChain.cancelReservation(number)) return false;
+                numbers.compareAndSet(slot, number, null);
+                return true;
+            }
+            case CHECK_IN -> {
+                String number = numbers.get(slot);
+                return number != null && hotelChain.tryCheckInGuest(number) == TransitionResult.APPLIED;
+            }
+            case CHECK_OUT -> {
+                String number = numbers.get(slot);
+                if (number == null || hotelChain.tryCheckOutGuest(number) != TransitionResult.APPLIED) return false;
+                numbers.compareAndSet(slot, number, null);
+                return true;
+            }
+            default -> throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+    
+    private static long[] sum(long[][] perThread) {
+        long[] total = new long[StressOperation.values().length];
+        for (long[] counts : perThread) {
+            for (int i = 0; i < counts.length; i++) {
+                total[i] += counts[i];
+            }
+        }
+        return total;
+    }
+    
+    // Usage: BookingStressHarness [seed] [threads] [operationsPerThread] [rooms]
+    public static void main(String[] args) throws InterruptedException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 47;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int operations = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int rooms = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        System.out.print(new BookingStressHarness(seed, threads, operations, rooms).run().format());
+    }
+}
\ No newline at end of file
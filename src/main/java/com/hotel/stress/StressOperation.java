@@ -0,0 +1,5 @@
+package com.hotel.stress;
+
+public enum StressOperation {
+    MAKE, CANCEL, CHECK_IN, CHECK_OUT
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.hotel.stress;
+
+import java.util.List;
+
+// attempted and succeeded are indexed by StressOperation ordinal
+public record StressReport(long seed, int threads, long[] attempted, long[] succeeded,
+                           long elapsedNanos, List<String> violations) {
+    public long operations() {
+        long total = 0;
+        for (long count : attempted) {
+            total += count;
+        }
+        return total;
+    }
+    
+    public double operationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : operations() * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    public boolean isConsistent() {
+        return violations.isEmpty();
+    }
+    
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("seed %d, %d threads, %d operations in %.1f ms, %.0f ops/s%n",
+            seed, threads, operations(), elapsedNanos / 1_000_000.0, operationsPerSecond()));
+        for (StressOperation operation : StressOperation.values()) {
+            out.append(String.format("  %-10s %8d attempted %8d succeeded%n", operation,
+                attempted[operation.ordinal()], succeeded[operation.ordinal()]));
+        }
+        if (violations.isEmpty()) {
+            out.append("  invariants hold").append(System.lineSeparator());
+        }
+        for (String violation : violations) {
+            out.append("  VIOLATION ").append(violation).append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+}
\ No newline at end of file
@@ -2,30 +2,65 @@ package com.hotel.domain.valueobjects;
 
 import java.time.LocalDate;
 
-public record BookingDate(LocalDate localDate) {
+// Carries its epoch day alongside the LocalDate so comparisons, overlap tests and
+// night counts are int arithmetic. Use epochDay() inside indexes and storage and
+// convert back to a date only at the API edges.
+public record BookingDate(LocalDate localDate, int epochDay) {
     public BookingDate {
         if (localDate == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
+        if (localDate.toEpochDay() != epochDay) {
+            throw new IllegalArgumentException("Epoch day does not match date");
+        }
+    }
+    
+    public BookingDate(LocalDate localDate) {
+        this(localDate, epochDayOf(localDate));
+    }
+    
+    public static BookingDate ofEpochDay(int epochDay) {
+        return new BookingDate(LocalDate.ofEpochDay(epochDay), epochDay);
+    }
+    
+    private static int epochDayOf(LocalDate localDate) {
+        if (localDate == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        long epochDay = localDate.toEpochDay();
+        if (epochDay != (int) epochDay) {
+            throw new IllegalArgumentException("Date out of range");
+        }
+        return (int) epochDay;
+    }
+    
+    // Both ranges inclusive on both ends
+    public static boolean overlaps(int startDay, int endDay, int otherStartDay, int otherEndDay) {
+        return startDay <= otherEndDay && otherStartDay <= endDay;
     }
     
     public boolean isBefore(BookingDate other) {
-        return this.localDate.isBefore(other.localDate);
+        return this.epochDay < other.epochDay;
     }
     
     public boolean isAfter(BookingDate other) {
-        return this.localDate.isAfter(other.localDate);
+        return this.epochDay > other.epochDay;
+    }
+    
+    // Nights of an inclusive stay from this date to the end date
+    public int nightsUntil(BookingDate endDate) {
+        return endDate.epochDay - this.epochDay + 1;
     }
     
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof BookingDate other)) return false;
-        return this.localDate.equals(other.localDate);
+        return this.epochDay == other.epochDay;
     }
     
     @Override
     public int hashCode() {
-        return localDate.hashCode();
+        return Integer.hashCode(epochDay);
     }
 }
\ No newline at end of file
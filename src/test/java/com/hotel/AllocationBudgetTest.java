@@ -0,0 +1,141 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.currency.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+// Bytes allocated per operation at fixed data sizes; a budget failure means a
+// hot path started allocating, not that it got slower
+class AllocationBudgetTest {
+    private static final int ROOMS = 200;
+    private static final int RESERVATIONS = 400;
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 20_000;
+    
+    private static com.sun.management.ThreadMXBean threads;
+    
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private RoomType roomType;
+    private BookingDate startDate;
+    private BookingDate endDate;
+    private HowMany howMany;
+    private String lastNumber;
+    
+    @BeforeAll
+    static void checkSupport() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        for (int i = 0; i < ROOMS; i++) {
+            hotel.addRoom(new Room(String.valueOf(100 + i), roomType));
+        }
+        howMany = new HowMany(1);
+        for (int i = 0; i < RESERVATIONS; i++) {
+            LocalDate start = LocalDate.now().plusDays(1 + (i % 30));
+            lastNumber = hotelChain.makeReservation(roomType, new BookingDate(start),
+                new BookingDate(start.plusDays(2)), howMany).getNumber();
+        }
+        startDate = new BookingDate(LocalDate.now().plusDays(10));
+        endDate = new BookingDate(LocalDate.now().plusDays(13));
+    }
+    
+    private static long bytesPerOperation(Runnable operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED; i++) {
+            operation.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED;
+    }
+    
+    private static void assertWithinBudget(long budget, long actual, String operation) {
+        assertTrue(actual <= budget,
+            operation + " allocated " + actual + " bytes per call, budget is " + budget);
+    }
+    
+    @Test
+    void findBackedOperations_UnknownNumber_ShouldNotAllocate() {
+        long bytes = bytesPerOperation(() -> {
+            hotelChain.tryCheckInGuest("RES_1");
+            hotelChain.cancelReservation("RES_1");
+        });
+        assertWithinBudget(16, bytes, "find-backed lookup");
+    }
+    
+    @Test
+    void tryCheckInGuest_BeforeArrival_ShouldNotAllocate() {
+        // The last reservation arrives in the future, so check-in is rejected after the lookup
+        long bytes = bytesPerOperation(() -> hotelChain.tryCheckInGuest(lastNumber));
+        assertWithinBudget(16, bytes, "tryCheckInGuest");
+    }
+    
+    @Test
+    void countAvailableRooms_ByType_ShouldNotAllocate() {
+        long bytes = bytesPerOperation(() -> hotel.countAvailableRooms(roomType));
+        assertWithinBudget(16, bytes, "Hotel.countAvailableRooms");
+    }
+    
+    @Test
+    void availabilitySearch_FourNightStay_ShouldOnlyAllocateScratchArray() {
+        // One int[] of nights + 2 for the difference array
+        long bytes = bytesPerOperation(() -> hotelChain.countAvailableRooms(roomType, startDate, endDate));
+        assertWithinBudget(64, bytes, "HotelChain.countAvailableRooms");
+    }
+    
+    @Test
+    void getAvailableRooms_TwoHundredRooms_ShouldOnlyAllocateResultList() {
+        // The list plus its backing array, sized once; references are 4 or 8 bytes
+        long bytes = bytesPerOperation(() -> {
+            List<Room> rooms = hotel.getAvailableRooms();
+            assertEquals(ROOMS, rooms.size());
+        });
+        assertWithinBudget(24 + 16 + 8L * ROOMS + 64, bytes, "Hotel.getAvailableRooms");
+    }
+    
+    @Test
+    void makeReservation_ThenCancel_ShouldStayWithinBudget() {
+        long bytes = bytesPerOperation(() -> {
+            Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+            hotelChain.cancelReservation(reservation.getNumber());
+        });
+        assertWithinBudget(512, bytes, "makeReservation + cancelReservation");
+    }
+    
+    @Test
+    void convertMinor_FixedPointFactors_ShouldNotAllocate() {
+        FxRateTable rates = FxRateTable.builder(1, Currency.getInstance("USD"))
+            .rate(Currency.getInstance("EUR"), new BigDecimal("1.0875"))
+            .build();
+        int from = rates.indexOf(Currency.getInstance("EUR"));
+        int to = rates.indexOf(Currency.getInstance("USD"));
+        long[] sink = new long[1];
+        long bytes = bytesPerOperation(() -> sink[0] += rates.convertMinor(12_345, from, to));
+        assertWithinBudget(16, bytes, "FxRateTable.convertMinor");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.hotel;
+
+import com.hotel.async.*;
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncReservationServiceTest {
+    private AsyncReservationService service;
+    private RoomType roomType;
+    private BookingDate startDate;
+    private BookingDate endDate;
+    private HowMany howMany;
+    
+    @BeforeEach
+    void setUp() {
+        service = new AsyncReservationService(4);
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        startDate = new BookingDate(LocalDate.now());
+        endDate = new BookingDate(LocalDate.now().plusDays(2));
+        howMany = new HowMany(1);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+    
+    private HotelChain hotelChain(String hotelName, int rooms) {
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel(hotelName);
+        hotelChain.setHotel(hotel);
+        for (int i = 0; i < rooms; i++) {
+            hotel.addRoom(new Room(String.valueOf(101 + i), roomType));
+        }
+        return hotelChain;
+    }
+    
+    @Test
+    void makeReservation_ThenLifecycle_ShouldCompleteWithSuccessResults() {
+        // Arrange
+        service.register(hotelChain("Alpha", 1));
+        Guest guest = new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country"));
+        
+        // Act
+        // A same-day stay so check-out is allowed today
+        OperationResult made = service.makeReservation("Alpha", roomType, startDate, startDate, howMany).join();
+        made.reservation().assignGuest(guest);
+        OperationResult checkedIn = service.checkInGuest("Alpha", made.reservation().getNumber()).join();
+        OperationResult checkedOut = service.checkOutGuest("Alpha", made.reservation().getNumber()).join();
+        OperationResult cancelled = service.cancelReservation("Alpha", made.reservation().getNumber()).join();
+        
+        // Assert
+        assertTrue(made.isSuccess());
+        assertTrue(checkedIn.isSuccess());
+        assertTrue(checkedOut.isSuccess());
+        assertEquals(ReservationOutcome.REJECTED, cancelled.outcome());
+    }
+    
+    @Test
+    void makeReservation_Failures_ShouldReturnTypedResults() {
+        // Arrange
+        service.register(hotelChain("Alpha", 1));
+        service.makeReservation("Alpha", roomType, startDate, endDate, howMany).join();
+        
+        // Act
+        OperationResult full = service.makeReservation("Alpha", roomType, startDate, endDate, howMany).join();
+        OperationResult invalid = service.makeReservation("Alpha", null, startDate, endDate, howMany).join();
+        OperationResult unknown = service.makeReservation("Omega", roomType, startDate, endDate, howMany).join();
+        OperationResult missing = service.checkInGuest("Alpha", "RES_1").join();
+        
+        // Assert
+        assertEquals(ReservationOutcome.NO_AVAILABILITY, full.outcome());
+        assertEquals(ReservationOutcome.INVALID, invalid.outcome());
+        assertEquals("Room type cannot be null", invalid.message());
+        assertEquals(ReservationOutcome.UNKNOWN_HOTEL, unknown.outcome());
+        assertEquals(ReservationOutcome.NOT_FOUND, missing.outcome());
+    }
+    
+    @Test
+    void submit_QueueSaturated_ShouldRejectImmediatelyWithBusy() throws InterruptedException {
+        // Arrange - the first cancel parks the hotel's writer until released
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HotelChain blocking = new HotelChain(new Name("Test", "Chain")) {
+            @Override
+            public boolean cancelReservation(String reservationNumber) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        blocking.setHotel(new Hotel("Alpha"));
+        service.register(blocking);
+        CompletableFuture<OperationResult> parked = service.cancelReservation("Alpha", "RES_1");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        
+        // Act
+        List<CompletableFuture<OperationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(service.cancelReservation("Alpha", "RES_1"));
+        }
+        
+        // Assert - four fit in the queue, the rest are turned away without waiting
+        long busy = results.stream().filter(f -> f.isDone() && f.join().outcome() == ReservationOutcome.BUSY).count();
+        assertEquals(6, busy);
+        assertEquals(4, service.queuedOperations("Alpha"));
+        release.countDown();
+        assertEquals(ReservationOutcome.REJECTED, parked.join().outcome());
+        for (CompletableFuture<OperationResult> result : results) {
+            assertNotEquals(ReservationOutcome.CLOSED, result.join().outcome());
+        }
+    }
+    
+    @Test
+    void makeReservation_ManyConcurrentCallers_ShouldNeverOverbook() {
+        // Arrange
+        AsyncReservationService roomy = new AsyncReservationService(1_000);
+        roomy.register(hotelChain("Alpha", 5));
+        
+        // Act
+        List<CompletableFuture<OperationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(roomy.makeReservation("Alpha", roomType, startDate, endDate, howMany));
+        }
+        long made = results.stream().map(CompletableFuture::join).filter(OperationResult::isSuccess).count();
+        roomy.close();
+        
+        // Assert
+        assertEquals(5, made);
+        assertEquals(ReservationOutcome.CLOSED,
+            roomy.makeReservation("Alpha", roomType, startDate, endDate, howMany).join().outcome());
+    }
+}
\ No newline at end of file
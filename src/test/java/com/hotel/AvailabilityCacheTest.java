@@ -0,0 +1,113 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCacheTest {
+    private HotelChain hotelChain;
+    private AvailabilityCache cache;
+    private RoomType singleType;
+    private RoomType doubleType;
+    private HowMany howMany;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        
+        singleType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        doubleType = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.valueOf(150), Currency.getInstance("USD")));
+        hotel.addRoom(new Room("101", singleType));
+        hotel.addRoom(new Room("102", singleType));
+        hotel.addRoom(new Room("201", doubleType));
+        
+        cache = new AvailabilityCache(100);
+        hotelChain.setAvailabilityCache(cache);
+        howMany = new HowMany(1);
+    }
+    
+    private BookingDate day(int offset) {
+        return new BookingDate(LocalDate.now().plusDays(offset));
+    }
+    
+    @Test
+    void countAvailableRooms_RepeatedSearch_ShouldBeServedFromCache() {
+        // Act
+        int first = hotelChain.countAvailableRooms(singleType, day(3), day(6));
+        int second = hotelChain.countAvailableRooms(singleType, day(3), day(6));
+        
+        // Assert
+        assertEquals(2, first);
+        assertEquals(2, second);
+        assertEquals(1, cache.getStats().hits());
+        assertEquals(1, cache.getStats().misses());
+        assertEquals(0.5, cache.getStats().hitRate());
+    }
+    
+    @Test
+    void makeReservation_OverlappingNights_ShouldInvalidateOnlyTouchedEntries() {
+        // Arrange
+        hotelChain.countAvailableRooms(singleType, day(3), day(6));
+        hotelChain.countAvailableRooms(singleType, day(10), day(12));
+        hotelChain.countAvailableRooms(doubleType, day(3), day(6));
+        
+        // Act
+        hotelChain.makeReservation(singleType, day(5), day(7), howMany);
+        
+        // Assert - only SINGLE 3-6 and the 5-7 check made by the booking itself overlap the stay
+        assertEquals(1, hotelChain.countAvailableRooms(singleType, day(3), day(6)));
+        assertEquals(2, hotelChain.countAvailableRooms(singleType, day(10), day(12)));
+        assertEquals(1, hotelChain.countAvailableRooms(doubleType, day(3), day(6)));
+        assertEquals(2, cache.getStats().invalidations());
+    }
+    
+    @Test
+    void cancelReservation_CachedSoldOutRange_ShouldSeeFreedRoom() {
+        // Arrange
+        Reservation reservation = hotelChain.makeReservation(doubleType, day(3), day(6), howMany);
+        assertEquals(0, hotelChain.countAvailableRooms(doubleType, day(4), day(4)));
+        
+        // Act
+        hotelChain.cancelReservation(reservation.getNumber());
+        
+        // Assert
+        assertEquals(1, hotelChain.countAvailableRooms(doubleType, day(4), day(4)));
+    }
+    
+    @Test
+    void putPeak_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        AvailabilityCache small = new AvailabilityCache(2);
+        Hotel hotel = hotelChain.getHotel();
+        small.putPeak(hotel, singleType, 1, 2, 0);
+        small.putPeak(hotel, singleType, 3, 4, 0);
+        small.getPeak(hotel, singleType, 1, 2);
+        
+        // Act
+        small.putPeak(hotel, singleType, 5, 6, 0);
+        
+        // Assert
+        assertEquals(0, small.getPeak(hotel, singleType, 1, 2));
+        assertEquals(-1, small.getPeak(hotel, singleType, 3, 4));
+        assertEquals(1, small.getStats().evictions());
+        assertEquals(2, small.getStats().size());
+    }
+    
+    @Test
+    void createCache_NonPositiveSize_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new AvailabilityCache(0)
+        );
+        assertEquals("Maximum size must be a positive integer", exception.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityGridTest {
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private RoomType[] roomTypes;
+    private LocalDate today;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        RoomKind[] kinds = RoomKind.values();
+        roomTypes = new RoomType[kinds.length];
+        for (int k = 0; k < kinds.length; k++) {
+            roomTypes[k] = new RoomType(kinds[k], new Money(BigDecimal.valueOf(100 + k), Currency.getInstance("USD")));
+        }
+        today = LocalDate.now();
+    }
+    
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    private BookingDate day(int offset) {
+        return new BookingDate(today.plusDays(offset));
+    }
+    
+    private void addRooms(int perType) {
+        for (int k = 0; k < roomTypes.length; k++) {
+            for (int i = 0; i < perType; i++) {
+                hotel.addRoom(new Room(k + "-" + i, roomTypes[k]));
+            }
+        }
+    }
+    
+    @Test
+    void getAvailabilityGrid_MixedBookings_ShouldMatchPerNightChecks() {
+        // Arrange
+        addRooms(4);
+        for (int i = 0; i < 30; i++) {
+            RoomType roomType = roomTypes[i % roomTypes.length];
+            int start = 1 + (i * 7) % 20;
+            if (hotelChain.countAvailableRooms(roomType, day(start), day(start + i % 4)) > 0) {
+                hotelChain.makeReservation(roomType, day(start), day(start + i % 4), new HowMany(1));
+            }
+        }
+        
+        // Act
+        AvailabilityGrid grid = hotelChain.getAvailabilityGrid(day(1), day(25));
+        
+        // Assert
+        assertEquals(25, grid.getNights());
+        for (RoomType roomType : roomTypes) {
+            int[] free = grid.freeRooms(roomType);
+            assertEquals(25, free.length);
+            for (int night = 0; night < 25; night++) {
+                assertEquals(hotelChain.countAvailableRooms(roomType, day(1 + night), day(1 + night)), free[night],
+                    roomType.getKind() + " night " + night);
+            }
+        }
+    }
+    
+    @Test
+    void getAvailabilityGrid_CancelledBooking_ShouldNotCount() {
+        // Arrange
+        addRooms(1);
+        Reservation reservation = hotelChain.makeReservation(roomTypes[0], day(2), day(3), new HowMany(1));
+        hotelChain.cancelReservation(reservation.getNumber());
+        
+        // Act
+        int[] free = hotelChain.getAvailabilityGrid(day(1), day(4)).freeRooms(roomTypes[0]);
+        
+        // Assert
+        assertArrayEquals(new int[] {1, 1, 1, 1}, free);
+    }
+    
+    @Test
+    void getAvailabilityGrid_EndBeforeStart_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> hotelChain.getAvailabilityGrid(day(3), day(1))
+        );
+        assertEquals("Start date must be before end date", exception.getMessage());
+    }
+    
+    @Test
+    void freeRooms_NightPastWindow_ShouldThrowException() {
+        // Arrange
+        addRooms(1);
+        AvailabilityGrid grid = hotelChain.getAvailabilityGrid(day(1), day(3));
+        
+        // Act & Assert - column 3 is the difference array's spare cell
+        assertEquals(1, grid.freeRooms(0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.freeRooms(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.freeRooms(0, -1));
+    }
+    
+    @Test
+    void getAvailabilityGrid_TwoThousandRoomsSixtyDays_ShouldAllocateOnlyTheGrid() {
+        // Arrange - 400 rooms of each kind, about half booked across the window
+        addRooms(2_000 / roomTypes.length);
+        for (int i = 0; i < 4_000; i++) {
+            int start = 1 + (i * 13) % 55;
+            hotelChain.restoreReservation(new Reservation(day(0), day(start), day(start + i % 6),
+                "RES_" + i, hotel.findRoomByNumber(i % roomTypes.length + "-" + (i / 10) % 400),
+                roomTypes[i % roomTypes.length], new HowMany(1)));
+        }
+        
+        // Act - one pass over rooms and reservations; nothing is allocated per room
+        // or per reservation, only the rows of the grid
+        hotelChain.getAvailabilityGrid(day(1), day(60));
+        long before = allocatedBytes();
+        AvailabilityGrid grid = hotelChain.getAvailabilityGrid(day(1), day(60));
+        long allocated = allocatedBytes() - before;
+        
+        // Assert
+        assertEquals(roomTypes.length, grid.getRoomTypes().size());
+        assertEquals(60, grid.getNights());
+        assertTrue(allocated < 16 * 1024, "grid allocated " + allocated + " bytes");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.hotel;
+
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+class BookingDateTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+    private static final int DAYS = 1024;
+    private static final int ROUNDS = 200;
+    
+    private static com.sun.management.ThreadMXBean threads;
+    
+    @BeforeAll
+    static void checkSupport() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            threads = bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+    
+    @Test
+    void createBookingDate_FromLocalDate_ShouldCarryEpochDay() {
+        // Act
+        BookingDate date = new BookingDate(FIRST_DAY);
+        
+        // Assert
+        assertEquals(FIRST_DAY, date.localDate());
+        assertEquals(FIRST_DAY.toEpochDay(), date.epochDay());
+        assertEquals(date, BookingDate.ofEpochDay(date.epochDay()));
+        assertEquals(date.hashCode(), BookingDate.ofEpochDay(date.epochDay()).hashCode());
+    }
+    
+    @Test
+    void createBookingDate_NullDate_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new BookingDate(null)
+        );
+        assertEquals("Date cannot be null", exception.getMessage());
+    }
+    
+    @Test
+    void createBookingDate_MismatchedEpochDay_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new BookingDate(FIRST_DAY, (int) FIRST_DAY.toEpochDay() + 1)
+        );
+        assertEquals("Epoch day does not match date", exception.getMessage());
+    }
+    
+    @Test
+    void createBookingDate_BeyondIntEpochDays_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new BookingDate(LocalDate.MAX)
+        );
+        assertEquals("Date out of range", exception.getMessage());
+    }
+    
+    @Test
+    void nightsUntil_InclusiveStay_ShouldCountBothEnds() {
+        // Arrange
+        BookingDate start = new BookingDate(FIRST_DAY);
+        BookingDate end = new BookingDate(FIRST_DAY.plusDays(2));
+        
+        // Act & Assert
+        assertEquals(3, start.nightsUntil(end));
+        assertEquals(1, start.nightsUntil(start));
+        assertTrue(start.isBefore(end));
+        assertTrue(end.isAfter(start));
+        assertFalse(start.isAfter(start));
+    }
+    
+    @Test
+    void overlaps_InclusiveRanges_ShouldMatchDateComparison() {
+        for (int a = 0; a < 8; a++) {
+            for (int b = a; b < 8; b++) {
+                for (int c = 0; c < 8; c++) {
+                    for (int d = c; d < 8; d++) {
+                        boolean expected = objectOverlaps(FIRST_DAY.plusDays(a), FIRST_DAY.plusDays(b),
+                                                          FIRST_DAY.plusDays(c), FIRST_DAY.plusDays(d));
+                        assertEquals(expected, BookingDate.overlaps(a, b, c, d), a + ".." + b + " vs " + c + ".." + d);
+                    }
+                }
+            }
+        }
+    }
+    
+    // Overlap checks over a grid of stays, once as int epoch days and once the way
+    // indexes used to do it: rebuilding dates from stored days and comparing objects
+    @Test
+    void overlaps_EpochDays_ShouldAllocateNothingAndBeatObjectComparisons() {
+        assumeTrue(threads != null);
+        int first = (int) FIRST_DAY.toEpochDay();
+        
+        // Arrange - warm both paths so the measured rounds run compiled code
+        long expected = objectRounds(first, ROUNDS);
+        assertEquals(expected, epochDayRounds(first, ROUNDS));
+        
+        // Act
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        long epochMatches = epochDayRounds(first, ROUNDS);
+        long epochNanos = System.nanoTime() - started;
+        long epochBytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        
+        bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        started = System.nanoTime();
+        long objectMatches = objectRounds(first, ROUNDS);
+        long objectNanos = System.nanoTime() - started;
+        long objectBytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        
+        // Assert - loose bounds; the point is the direction, not the exact ratio
+        assertEquals(objectMatches, epochMatches);
+        assertTrue(epochBytes < 4096, "int overlap checks allocated " + epochBytes + " bytes");
+        assertTrue(epochBytes <= objectBytes, epochBytes + " vs " + objectBytes + " bytes");
+        assertTrue(epochNanos <= objectNanos * 2,
+            "int overlap checks took " + epochNanos + "ns, object comparisons " + objectNanos + "ns");
+    }
+    
+    private static long epochDayRounds(int first, int rounds) {
+        long matches = 0;
+        for (int round = 0; round < rounds; round++) {
+            int start = first + round;
+            int end = start + 3;
+            for (int day = first; day < first + DAYS; day++) {
+                if (BookingDate.overlaps(start, end, day, day + 2)) matches++;
+            }
+        }
+        return matches;
+    }
+    
+    private static long objectRounds(int first, int rounds) {
+        long matches = 0;
+        for (int round = 0; round < rounds; round++) {
+            BookingDate start = new BookingDate(LocalDate.ofEpochDay(first + round));
+            BookingDate end = new BookingDate(start.localDate().plusDays(3));
+            for (int day = first; day < first + DAYS; day++) {
+                LocalDate otherStart = LocalDate.ofEpochDay(day);
+                if (objectOverlaps(start.localDate(), end.localDate(), otherStart, otherStart.plusDays(2))) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+    
+    private static boolean objectOverlaps(LocalDate start, LocalDate end, LocalDate otherStart, LocalDate otherEnd) {
+        return !start.isAfter(otherEnd) && !otherStart.isAfter(end);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.monitoring.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingRecordingTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void analyze_RecordingWithBundledProfile_ShouldSummarizeEachOperation() throws Exception {
+        // Arrange
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        RoomType roomType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        for (int i = 0; i < 10; i++) {
+            hotel.addRoom(new Room(String.valueOf(100 + i), roomType));
+        }
+        BookingDate startDate = new BookingDate(LocalDate.now().plusDays(1));
+        BookingDate endDate = new BookingDate(LocalDate.now().plusDays(3));
+        Path file = tempDir.resolve("booking.jfr");
+        
+        // Act
+        try (Recording recording = new Recording(BookingRecordingAnalyzer.bundledConfiguration())) {
+            recording.start();
+            for (int i = 0; i < 10; i++) {
+                Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, new HowMany(1));
+                if (i % 2 == 0) {
+                    hotelChain.cancelReservation(reservation.getNumber());
+                }
+            }
+            hotelChain.tryCheckInGuest("RES_1");
+            recording.stop();
+            recording.dump(file);
+        }
+        List<LatencySummary> summaries = BookingRecordingAnalyzer.analyze(file);
+        
+        // Assert
+        Map<String, LatencySummary> byKey = summaries.stream()
+            .collect(Collectors.toMap(LatencySummary::key, Function.identity()));
+        assertEquals(10, byKey.get("makeReservation MADE").count());
+        assertEquals(5, byKey.get("cancelReservation CANCELLED").count());
+        assertEquals(1, byKey.get("checkInGuest NOT_FOUND").count());
+        assertEquals(10, byKey.get("allocate FirstFit room").count());
+        assertEquals(10, byKey.get("availabilityCheck scanned").count());
+        LatencySummary made = byKey.get("makeReservation MADE");
+        assertTrue(made.p50().compareTo(made.p99()) <= 0 && made.p99().compareTo(made.max()) <= 0);
+        assertTrue(BookingRecordingAnalyzer.format(summaries).contains("makeReservation MADE"));
+        
+        RecordedEvent allocation = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(RoomAllocationEvent.NAME))
+            .findFirst().orElseThrow();
+        assertEquals("SINGLE", allocation.getString("roomKind"));
+        assertEquals(3, allocation.getInt("nights"));
+        assertTrue(allocation.getInt("candidatesScanned") >= 1);
+    }
+}
\ No newline at end of file
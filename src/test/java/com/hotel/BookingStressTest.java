@@ -0,0 +1,85 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.stress.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingStressTest {
+    
+    // Full runs take seconds each, so they only run with -Pstress
+    @Tag("stress")
+    @ParameterizedTest
+    @ValueSource(longs = {1, 47, 20_260_115})
+    void run_ConcurrentMixedOperations_ShouldKeepInvariants(long seed) throws InterruptedException {
+        // Arrange
+        BookingStressHarness harness = new BookingStressHarness(seed, 8, 20_000, 30);
+        
+        // Act
+        StressReport report = harness.run();
+        
+        // Assert
+        assertTrue(report.isConsistent(), report.format());
+        assertEquals(160_000, report.operations());
+        for (StressOperation operation : StressOperation.values()) {
+            assertTrue(report.succeeded()[operation.ordinal()] > 0, operation + " never succeeded");
+        }
+        assertTrue(report.operationsPerSecond() > 0);
+    }
+    
+    @Test
+    void run_SmallConcurrentMix_ShouldKeepInvariants() throws InterruptedException {
+        // Act
+        StressReport report = new BookingStressHarness(47, 4, 2_000, 20).run();
+        
+        // Assert
+        assertTrue(report.isConsistent(), report.format());
+        assertEquals(8_000, report.operations());
+    }
+    
+    @Test
+    void run_SameSeed_ShouldAttemptSameOperationMix() throws InterruptedException {
+        // Act
+        StressReport first = new BookingStressHarness(7, 4, 5_000, 20).run();
+        StressReport second = new BookingStressHarness(7, 4, 5_000, 20).run();
+        
+        // Assert
+        assertArrayEquals(first.attempted(), second.attempted());
+    }
+    
+    @Test
+    void check_RoomSoldTwiceAndPhantomGuest_ShouldReportViolations() {
+        // Arrange - restoring skips availability checks, so it can plant a double booking
+        LocalDate today = LocalDate.now();
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        RoomType roomType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        Room room = new Room("101", roomType);
+        Room other = new Room("102", roomType);
+        hotel.addRoom(room);
+        hotel.addRoom(other);
+        BookingDate start = new BookingDate(today.plusDays(1));
+        BookingDate end = new BookingDate(today.plusDays(2));
+        hotelChain.restoreReservation(new Reservation(start, start, end, "RES_1", room, roomType, new HowMany(1)));
+        hotelChain.restoreReservation(new Reservation(start, start, end, "RES_2", room, roomType, new HowMany(1)));
+        other.occupy(new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country")));
+        
+        // Act
+        List<String> violations = BookingInvariants.check(hotelChain, today, 5);
+        
+        // Assert
+        assertTrue(violations.contains("Room 101 sold twice on " + today.plusDays(1)), violations.toString());
+        assertTrue(violations.contains("Room 102 occupied without a checked-in reservation"), violations.toString());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.hotel;
+
+import com.hotel.currency.*;
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.search.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheapestRoomIndexTest {
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final BookingDate START = new BookingDate(LocalDate.now().plusDays(5));
+    private static final BookingDate END = new BookingDate(LocalDate.now().plusDays(7));
+    
+    private static HotelChain hotel(String name, Money... nightlyRates) {
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel(name);
+        hotelChain.setHotel(hotel);
+        RoomKind[] kinds = RoomKind.values();
+        for (int i = 0; i < nightlyRates.length; i++) {
+            RoomType roomType = new RoomType(kinds[i % kinds.length], nightlyRates[i]);
+            hotel.addRoom(new Room(String.valueOf(101 + 2 * i), roomType));
+            hotel.addRoom(new Room(String.valueOf(102 + 2 * i), roomType));
+        }
+        return hotelChain;
+    }
+    
+    private static Money usd(int amount) {
+        return new Money(BigDecimal.valueOf(amount), USD);
+    }
+    
+    private static void sellOut(HotelChain hotelChain, RoomType roomType) {
+        while (hotelChain.countAvailableRooms(roomType, START, END) > 0) {
+            hotelChain.makeReservation(roomType, START, END, new HowMany(1));
+        }
+    }
+    
+    @Test
+    void cheapestAvailable_SoldOutCheapest_ShouldSkipIt() {
+        // Arrange
+        HotelChain budget = hotel("Budget Inn", usd(60));
+        HotelChain midtown = hotel("Midtown", usd(90), usd(140));
+        HotelChain grand = hotel("Grand", usd(300));
+        sellOut(budget, budget.getHotel().getRooms().get(0).getRoomType());
+        CheapestRoomIndex index = CheapestRoomIndex.build(List.of(grand, midtown, budget));
+        
+        // Act
+        SearchResult result = index.cheapestAvailable(START, END, 2);
+        
+        // Assert
+        assertEquals(List.of("Midtown", "Midtown"),
+            result.offers().stream().map(RoomOffer::hotelName).toList());
+        assertEquals(new Money(new BigDecimal("90.00"), USD), result.offers().get(0).nightlyPrice());
+        assertEquals(2, result.offers().get(0).availableRooms());
+        assertEquals(3, result.candidatesChecked());
+    }
+    
+    @Test
+    void cheapestAvailable_MixedCurrencies_ShouldRankInBaseCurrency() {
+        // Arrange - 80 EUR is 88 USD, between the two dollar rates
+        FxRateTable rates = FxRateTable.builder(1, USD).rate(EUR, new BigDecimal("1.10")).build();
+        HotelChain paris = hotel("Paris", new Money(BigDecimal.valueOf(80), EUR));
+        HotelChain boston = hotel("Boston", usd(85), usd(95));
+        CheapestRoomIndex index = CheapestRoomIndex.build(List.of(paris, boston), rates, USD);
+        
+        // Act
+        SearchResult result = index.cheapestAvailable(START, END, 3);
+        
+        // Assert
+        assertEquals(List.of("Boston", "Paris", "Boston"),
+            result.offers().stream().map(RoomOffer::hotelName).toList());
+        assertEquals(new Money(new BigDecimal("88.00"), USD), result.offers().get(1).nightlyPrice());
+        assertEquals(EUR, result.offers().get(1).roomType().getCost().currency());
+    }
+    
+    @Test
+    void cheapestAvailable_FewerThanKAvailable_ShouldReturnAll() {
+        // Arrange
+        HotelChain only = hotel("Only", usd(100), usd(120));
+        CheapestRoomIndex index = CheapestRoomIndex.build(List.of(only));
+        
+        // Act
+        SearchResult result = index.cheapestAvailable(START, END, 5);
+        
+        // Assert
+        assertEquals(2, result.offers().size());
+        assertEquals(2, result.candidatesChecked());
+    }
+    
+    @Test
+    void cheapestAvailable_InvalidK_ShouldThrowException() {
+        CheapestRoomIndex index = CheapestRoomIndex.build(List.of(hotel("Only", usd(100))));
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> index.cheapestAvailable(START, END, 0)
+        );
+        assertEquals("Result size must be a positive integer", exception.getMessage());
+    }
+    
+    @Test
+    void cheapestAvailable_LargeCatalog_ShouldMatchFullSortAndCheckFewCandidates() {
+        // Arrange - 1,000 hotels with 3 room types each, a tenth of them sold out
+        Random random = new Random(46);
+        List<HotelChain> hotels = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            hotels.add(hotel("Hotel " + i, usd(50 + random.nextInt(500)), usd(50 + random.nextInt(500)),
+                usd(50 + random.nextInt(500))));
+        }
+        for (HotelChain hotelChain : hotels) {
+            if (random.nextInt(10) == 0) {
+                sellOut(hotelChain, hotelChain.getHotel().getRooms().get(0).getRoomType());
+            }
+        }
+        CheapestRoomIndex index = CheapestRoomIndex.build(hotels);
+        
+        // Act
+        SearchResult result = index.cheapestAvailable(START, END, 10);
+        
+        // Assert - same prices as checking every pair and sorting; rooms come in pairs per type
+        List<BigDecimal> expected = new ArrayList<>();
+        for (HotelChain hotelChain : hotels) {
+            List<Room> rooms = hotelChain.getHotel().getRooms();
+            for (int i = 0; i < rooms.size(); i += 2) {
+                RoomType roomType = rooms.get(i).getRoomType();
+                if (hotelChain.countAvailableRooms(roomType, START, END) > 0) {
+                    expected.add(roomType.getCost().amount().setScale(2));
+                }
+            }
+        }
+        expected.sort(Comparator.naturalOrder());
+        List<BigDecimal> actual = result.offers().stream()
+            .map(offer -> offer.nightlyPrice().amount()).toList();
+        assertEquals(expected.subList(0, 10), actual);
+        assertEquals(3_000, index.size());
+        assertTrue(result.candidatesChecked() < 100, "Checked " + result.candidatesChecked() + " candidates");
+    }
+    
+    @Test
+    void cheapestAvailable_EqualRoomTypeInstances_ShouldListTheTypeOnce() {
+        // Arrange - two rooms built with separate but equal room types
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Harbor");
+        hotelChain.setHotel(hotel);
+        hotel.addRoom(new Room("101", new RoomType(RoomKind.values()[0], usd(70))));
+        hotel.addRoom(new Room("102", new RoomType(RoomKind.values()[0], usd(70))));
+        CheapestRoomIndex index = CheapestRoomIndex.build(List.of(hotelChain));
+        
+        // Act
+        SearchResult result = index.cheapestAvailable(START, END, 5);
+        
+        // Assert
+        assertEquals(1, result.offers().size());
+        assertEquals(2, result.offers().get(0).availableRooms());
+        assertEquals(1, result.candidatesChecked());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.hotel;
+
+import com.hotel.currency.*;
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.storage.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyConverterTest {
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    
+    private FxRateTable rates;
+    private CurrencyConverter converter;
+    
+    @BeforeEach
+    void setUp() {
+        rates = FxRateTable.builder(1, USD)
+            .rate(EUR, new BigDecimal("1.10"))
+            .rate(JPY, new BigDecimal("0.0067"))
+            .build();
+        converter = new CurrencyConverter(rates);
+    }
+    
+    private static Money money(String amount, Currency currency) {
+        return new Money(new BigDecimal(amount), currency);
+    }
+    
+    @Test
+    void convert_EuroToDollar_ShouldApplyRate() {
+        assertEquals(money("110.00", USD), converter.convert(money("100.00", EUR), USD));
+    }
+    
+    @Test
+    void convert_AcrossFractionDigits_ShouldRoundToTargetMinorUnit() {
+        // Yen has no minor unit; 10.00 USD is 1492.54 yen
+        assertEquals(money("6.70", USD), converter.convert(money("1000", JPY), USD));
+        assertEquals(money("1493", JPY), converter.convert(money("10.00", USD), JPY));
+    }
+    
+    @Test
+    void convertMinor_ProductBeyondLongRange_ShouldStayExact() {
+        // Arrange
+        long amount = Long.MAX_VALUE / 1000;
+        int from = rates.indexOf(EUR);
+        int to = rates.indexOf(USD);
+        
+        // Act
+        long converted = rates.convertMinor(amount, from, to);
+        
+        // Assert
+        long expected = BigDecimal.valueOf(amount).multiply(new BigDecimal("1.10"))
+            .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        assertEquals(expected, converted);
+    }
+    
+    @Test
+    void convertMinor_ProductWithinHalfUnitOfLongMax_ShouldNotWrap() {
+        // Arrange - a factor of 1,000,000 puts the product 775,807 below Long.MAX_VALUE
+        FxRateTable table = FxRateTable.builder(1, USD).rate(EUR, new BigDecimal("0.001")).build();
+        long amount = Long.MAX_VALUE / 1_000_000;
+        
+        // Act
+        long converted = table.convertMinor(amount, table.indexOf(EUR), table.indexOf(USD));
+        
+        // Assert
+        assertEquals(9_223_372_037L, converted);
+    }
+    
+    @Test
+    void convertMinor_AcrossSlowPathBoundary_ShouldUseSameRate() {
+        // Arrange - the first amount fits the 64-bit product and its double does not
+        long amount = 6_000_000_000L;
+        int from = rates.indexOf(USD);
+        int to = rates.indexOf(JPY);
+        
+        // Act
+        long single = rates.convertMinor(amount, from, to);
+        long doubled = rates.convertMinor(2 * amount, from, to);
+        
+        // Assert
+        assertEquals(2 * single, doubled);
+    }
+    
+    @Test
+    void convert_UnknownCurrency_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> converter.convert(money("10.00", Currency.getInstance("CHF")), USD)
+        );
+        assertEquals("No exchange rate for CHF", exception.getMessage());
+    }
+    
+    @Test
+    void publish_NewerVersion_ShouldSwapTable() {
+        // Arrange
+        FxRateTable newer = FxRateTable.builder(2, USD).rate(EUR, new BigDecimal("1.20")).build();
+        FxRateTable stale = FxRateTable.builder(2, USD).rate(EUR, new BigDecimal("0.50")).build();
+        
+        // Act
+        boolean published = converter.publish(newer);
+        boolean stalePublished = converter.publish(stale);
+        
+        // Assert
+        assertTrue(published);
+        assertFalse(stalePublished);
+        assertSame(newer, converter.current());
+        assertEquals(money("120.00", USD), converter.convert(money("100.00", EUR), USD));
+    }
+    
+    @Test
+    void revenue_HotelsPricedInDifferentCurrencies_ShouldTotalInAnyBase() {
+        // Arrange
+        HotelChain paris = chain("Paris", money("100.00", EUR));
+        RoomType parisRooms = paris.getHotel().getRooms().get(0).getRoomType();
+        paris.makeReservation(parisRooms, day(1), day(3), new HowMany(1));
+        Reservation cancelled = paris.makeReservation(parisRooms, day(5), day(6), new HowMany(1));
+        paris.cancelReservation(cancelled.getNumber());
+        
+        HotelChain newYork = chain("New York", money("200.00", USD));
+        RoomType newYorkRooms = newYork.getHotel().getRooms().get(0).getRoomType();
+        newYork.makeReservation(newYorkRooms, day(1), day(1), new HowMany(1));
+        
+        // Act
+        RevenueReport inDollars = converter.revenue(List.of(paris, newYork), USD);
+        RevenueReport inEuros = converter.revenue(List.of(paris, newYork), EUR);
+        
+        // Assert - three nights in Paris, one in New York, the cancelled stay left out
+        assertEquals(money("330.00", USD), inDollars.getByHotel().get("Paris"));
+        assertEquals(money("200.00", USD), inDollars.getByHotel().get("New York"));
+        assertEquals(money("530.00", USD), inDollars.getTotal());
+        assertEquals(2, inDollars.getStays());
+        assertEquals(1, inDollars.getRateVersion());
+        
+        assertEquals(money("300.00", EUR), inEuros.getByHotel().get("Paris"));
+        assertEquals(money("181.82", EUR), inEuros.getByHotel().get("New York"));
+        assertEquals(money("481.82", EUR), inEuros.getTotal());
+    }
+    
+    private static BookingDate day(int offset) {
+        return new BookingDate(LocalDate.now().plusDays(offset));
+    }
+    
+    private static HotelChain chain(String hotelName, Money nightlyRate) {
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel(hotelName);
+        hotelChain.setHotel(hotel);
+        RoomType roomType = new RoomType(RoomKind.SINGLE, nightlyRate);
+        hotel.addRoom(new Room("101", roomType));
+        hotel.addRoom(new Room("102", roomType));
+        return hotelChain;
+    }
+    
+    @Test
+    void revenue_OffHeapArchive_ShouldCountRecordsWithoutRebuildingReservations() {
+        // Arrange
+        HotelChain paris = chain("Paris", money("100.00", EUR));
+        Room room = paris.getHotel().getRooms().get(0);
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        for (int i = 0; i < 10_000; i++) {
+            ReservationStatus status = i % 2 == 0 ? ReservationStatus.CHECKED_OUT : ReservationStatus.NO_SHOW;
+            store.append(new Reservation(day(-9), day(-9), day(-7), "RES_" + i, room, room.getRoomType(),
+                                         new HowMany(1), null, status));
+        }
+        paris.setArchiveStore(store);
+        converter.revenue(List.of(paris), USD);
+        
+        // Act
+        long before = allocatedBytes();
+        RevenueReport report = converter.revenue(List.of(paris), USD);
+        long allocated = allocatedBytes() - before;
+        
+        // Assert - 5,000 checked-out stays of three nights at 110 dollars
+        assertEquals(5_000, report.getStays());
+        assertEquals(money("1650000.00", USD), report.getTotal());
+        assertTrue(allocated < 256 * 1024, "allocated " + allocated + " bytes");
+    }
+    
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupReservationTest {
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private RoomType singleType;
+    private RoomType doubleType;
+    private BookingDate startDate;
+    private BookingDate endDate;
+    
+    // Counts how often the chain asks about individual rooms
+    private static class CountingAllocator implements RoomAllocationStrategy {
+        private final FirstFitAllocator delegate = new FirstFitAllocator();
+        private int allocateCalls;
+        private int isFreeCalls;
+        
+        @Override
+        public Room allocate(Hotel hotel, RoomType roomType, BookingDate startDate, BookingDate endDate) {
+            allocateCalls++;
+            return delegate.allocate(hotel, roomType, startDate, endDate);
+        }
+        
+        @Override
+        public boolean isFree(Hotel hotel, Room room, BookingDate startDate, BookingDate endDate) {
+            isFreeCalls++;
+            return delegate.isFree(hotel, room, startDate, endDate);
+        }
+        
+        @Override
+        public boolean isFree(Hotel hotel, Room room, int startDay, int endDay) {
+            return delegate.isFree(hotel, room, startDay, endDay);
+        }
+        
+        @Override public void booked(Reservation reservation) { delegate.booked(reservation); }
+        @Override public void released(Reservation reservation) { delegate.released(reservation); }
+        @Override public int nextBookedDay(Room room, int fromDay) { return delegate.nextBookedDay(room, fromDay); }
+        @Override public RoomAllocationStrategy emptyCopy() { return new CountingAllocator(); }
+    }
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        singleType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        doubleType = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.valueOf(150), Currency.getInstance("USD")));
+        for (int i = 0; i < 60; i++) {
+            hotel.addRoom(new Room(String.valueOf(100 + i), singleType));
+        }
+        for (int i = 0; i < 5; i++) {
+            hotel.addRoom(new Room(String.valueOf(200 + i), doubleType));
+        }
+        startDate = new BookingDate(LocalDate.now().plusDays(1));
+        endDate = new BookingDate(LocalDate.now().plusDays(3));
+    }
+    
+    private static Map<RoomType, HowMany> rooms(RoomType type, int count, RoomType other, int otherCount) {
+        Map<RoomType, HowMany> rooms = new LinkedHashMap<>();
+        rooms.put(type, new HowMany(count));
+        if (other != null) rooms.put(other, new HowMany(otherCount));
+        return rooms;
+    }
+    
+    @Test
+    void makeGroupReservation_FortyRooms_ShouldBookAdjacentBlock() {
+        // Arrange - room 102 is taken, so the block has to start after it
+        hotelChain.makeReservation(singleType, startDate, endDate, new HowMany(1));
+        hotelChain.makeReservation(singleType, startDate, endDate, new HowMany(1));
+        hotelChain.makeReservation(singleType, startDate, endDate, new HowMany(1));
+        hotelChain.cancelReservation(hotelChain.getReservations().get(0).getNumber());
+        hotelChain.cancelReservation(hotelChain.getReservations().get(0).getNumber());
+        
+        // Act
+        GroupReservation group = hotelChain.makeGroupReservation(
+            rooms(singleType, 40, doubleType, 2), startDate, endDate);
+        
+        // Assert
+        assertEquals(42, group.getRoomCount());
+        assertEquals(43, hotelChain.getReservations().size());
+        List<Reservation> reservations = group.getReservations();
+        for (int i = 0; i < 40; i++) {
+            assertEquals(String.valueOf(103 + i), reservations.get(i).getRoom().getRoomNumber());
+            assertEquals(1, reservations.get(i).getHowMany().getNumber());
+        }
+        assertEquals("200", reservations.get(40).getRoom().getRoomNumber());
+        assertEquals("201", reservations.get(41).getRoom().getRoomNumber());
+    }
+    
+    @Test
+    void makeGroupReservation_NoContiguousRun_ShouldUseScatteredRooms() {
+        // Arrange - every other double room is taken
+        for (int i = 0; i < 5; i++) {
+            hotelChain.makeReservation(doubleType, startDate, endDate, new HowMany(1));
+        }
+        List<Reservation> doubles = hotelChain.getReservations();
+        hotelChain.cancelReservation(doubles.get(1).getNumber());
+        hotelChain.cancelReservation(doubles.get(3).getNumber());
+        
+        // Act
+        GroupReservation group = hotelChain.makeGroupReservation(rooms(doubleType, 2, null, 0), startDate, endDate);
+        
+        // Assert
+        assertEquals("201", group.getReservations().get(0).getRoom().getRoomNumber());
+        assertEquals("203", group.getReservations().get(1).getRoom().getRoomNumber());
+    }
+    
+    @Test
+    void makeGroupReservation_OneTypeShort_ShouldBookNothing() {
+        // Act
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> hotelChain.makeGroupReservation(rooms(singleType, 10, doubleType, 6), startDate, endDate)
+        );
+        
+        // Assert
+        assertEquals("Not enough rooms of type: DOUBLE", exception.getMessage());
+        assertTrue(hotelChain.getReservations().isEmpty());
+        assertEquals(60, hotelChain.countAvailableRooms(singleType, startDate, endDate));
+    }
+    
+    @Test
+    void makeGroupReservation_FortyRooms_ShouldCheckEachRoomOnce() {
+        // Arrange
+        CountingAllocator allocator = new CountingAllocator();
+        hotelChain.setAllocationStrategy(allocator);
+        
+        // Act
+        hotelChain.makeGroupReservation(rooms(singleType, 40, null, 0), startDate, endDate);
+        
+        // Assert - one walk over the rooms rather than forty separate allocations
+        assertEquals(0, allocator.allocateCalls);
+        assertEquals(40, allocator.isFreeCalls);
+    }
+    
+    @Test
+    void makeGroupReservation_EmptyRequest_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> hotelChain.makeGroupReservation(Map.of(), startDate, endDate)
+        );
+        assertEquals("Group rooms cannot be null or empty", exception.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,318 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.housekeeping.*;
+import com.hotel.storage.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelRegistryTest {
+    private InMemoryHotelRepository repository;
+    private RoomType roomType;
+    private MutableClock clock;
+    
+    // Test clock that only moves when told to
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-06-03T10:00:00Z");
+        
+        void advance(Duration duration) { now = now.plus(duration); }
+        
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+    
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryHotelRepository();
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        clock = new MutableClock();
+    }
+    
+    private void storeHotels(int hotels, int rooms, int reservations) {
+        for (int h = 0; h < hotels; h++) {
+            HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+            Hotel hotel = new Hotel("Hotel " + h);
+            hotelChain.setHotel(hotel);
+            for (int r = 0; r < rooms; r++) {
+                hotel.addRoom(new Room(String.valueOf(100 + r), roomType));
+            }
+            for (int i = 0; i < reservations; i++) {
+                LocalDate start = LocalDate.now().plusDays(1 + i / rooms * 3);
+                hotelChain.makeReservation(roomType, new BookingDate(start), new BookingDate(start.plusDays(1)),
+                    new HowMany(1));
+            }
+            repository.save(hotelChain);
+        }
+    }
+    
+    @Test
+    void acquire_FirstAccess_ShouldHydrateFromRepository() {
+        // Arrange
+        storeHotels(3, 4, 6);
+        HotelRegistry registry = new HotelRegistry(repository, 10, clock);
+        
+        // Act
+        HotelChain hotelChain = registry.acquire("Hotel 1");
+        HotelChain again = registry.acquire("Hotel 1");
+        
+        // Assert
+        assertSame(hotelChain, again);
+        assertEquals(1, repository.getLoadCount());
+        assertEquals(4, hotelChain.getHotel().getRoomCount());
+        assertEquals(6, hotelChain.getReservations().size());
+        assertFalse(registry.isResident("Hotel 0"));
+        assertNull(registry.acquire("Missing"));
+    }
+    
+    @Test
+    void acquire_OverResidentLimit_ShouldSaveAndEvictLeastRecentlyUsed() {
+        // Arrange
+        storeHotels(3, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 2, clock);
+        HotelChain first = registry.acquire("Hotel 0");
+        Reservation reservation = first.makeReservation(roomType,
+            new BookingDate(LocalDate.now().plusDays(1)), new BookingDate(LocalDate.now().plusDays(2)), new HowMany(1));
+        registry.release("Hotel 0");
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        
+        // Act
+        registry.withHotel("Hotel 2", hotelChain -> null);
+        HotelChain reloaded = registry.acquire("Hotel 0");
+        
+        // Assert - the change made before eviction survives the round trip
+        assertNotSame(first, reloaded);
+        assertEquals(2, registry.getResidentCount());
+        assertEquals(2, registry.getEvictions());
+        assertEquals(1, reloaded.getReservations().size());
+        assertEquals(reservation.getNumber(), reloaded.getReservations().get(0).getNumber());
+        assertSame(reloaded.getHotel().findRoomByNumber(reservation.getRoom().getRoomNumber()),
+            reloaded.getReservations().get(0).getRoom());
+    }
+    
+    @Test
+    void evictIdle_UntouchedHotels_ShouldBeDropped() {
+        // Arrange
+        storeHotels(3, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 10, clock);
+        registry.withHotel("Hotel 0", hotelChain -> null);
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        clock.advance(Duration.ofMinutes(30));
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        
+        // Act
+        int evicted = registry.evictIdle(Duration.ofMinutes(10));
+        
+        // Assert
+        assertEquals(1, evicted);
+        assertFalse(registry.isResident("Hotel 0"));
+        assertTrue(registry.isResident("Hotel 1"));
+    }
+    
+    @Test
+    void startup_FourHundredHotels_LazyShouldBeatEager() {
+        // Arrange
+        storeHotels(400, 50, 100);
+        
+        // Act - eager hydrates everything, lazy only the few hot hotels this node serves
+        long began = System.nanoTime();
+        HotelRegistry eager = new HotelRegistry(repository, 400, clock);
+        int eagerLoaded = eager.loadAll();
+        long eagerNanos = System.nanoTime() - began;
+        
+        long loadsBefore = repository.getLoadCount();
+        began = System.nanoTime();
+        HotelRegistry lazy = new HotelRegistry(repository, 400, clock);
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(lazy.acquire("Hotel " + i * 7));
+        }
+        long lazyNanos = System.nanoTime() - began;
+        
+        // Assert
+        assertEquals(400, eagerLoaded);
+        assertEquals(5, repository.getLoadCount() - loadsBefore);
+        assertEquals(5, lazy.getResidentCount());
+        assertTrue(lazyNanos < eagerNanos);
+    }
+    
+    @Test
+    void acquire_OverResidentLimit_ShouldNotEvictLeasedHotels() {
+        // Arrange
+        storeHotels(3, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 1, clock);
+        HotelChain held = registry.acquire("Hotel 0");
+        
+        // Act
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        registry.withHotel("Hotel 2", hotelChain -> null);
+        
+        // Assert - the held chain stays the resident one until released
+        assertTrue(registry.isResident("Hotel 0"));
+        assertSame(held, registry.acquire("Hotel 0"));
+        registry.release("Hotel 0");
+        registry.release("Hotel 0");
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        assertFalse(registry.isResident("Hotel 0"));
+        assertEquals(1, registry.getResidentCount());
+    }
+    
+    @Test
+    void release_NotLeased_ShouldThrowException() {
+        // Arrange
+        storeHotels(1, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 2, clock);
+        registry.withHotel("Hotel 0", hotelChain -> null);
+        
+        // Act & Assert
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> registry.release("Hotel 0")
+        );
+        assertEquals("Hotel is not leased: Hotel 0", exception.getMessage());
+    }
+    
+    @Test
+    void evict_ThenAcquire_ShouldKeepDateHousekeepingArchiveWaitlistAndPayers() {
+        // Arrange
+        storeHotels(2, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 1, clock);
+        BookingDate businessDate = new BookingDate(LocalDate.of(2026, 7, 1));
+        BookingDate start = new BookingDate(LocalDate.now().plusDays(5));
+        BookingDate end = new BookingDate(LocalDate.now().plusDays(6));
+        String[] numbers = new String[2];
+        registry.withHotel("Hotel 0", hotelChain -> {
+            hotelChain.setArchiveStore(new OffHeapReservationStore());
+            Reservation archived = hotelChain.makeReservation(roomType, hotelChain.getBusinessDate(),
+                new BookingDate(hotelChain.getBusinessDate().localDate().plusDays(1)), new HowMany(1));
+            hotelChain.cancelReservation(archived.getNumber());
+            new NightAuditJob(hotelChain).run();
+            hotelChain.getBusinessDateService().setBusinessDate(hotelChain.getHotel(), businessDate);
+            
+            Reservation live = hotelChain.makeReservation(roomType, start, end, new HowMany(1));
+            hotelChain.makeReservation(roomType, start, end, new HowMany(1));
+            hotelChain.assignPayer(live.getNumber(), new CreditCardId("1234567890123456", "12/25", "123"));
+            hotelChain.joinWaitlist(roomType, start, end, new HowMany(1), 2);
+            
+            Room dirty = hotelChain.getHotel().findRoomByNumber("100");
+            Room clean = hotelChain.getHotel().findRoomByNumber("101");
+            dirty.transitionHousekeeping(HousekeepingStatus.DIRTY);
+            clean.transitionHousekeeping(HousekeepingStatus.DIRTY);
+            clean.transitionHousekeeping(HousekeepingStatus.CLEAN);
+            numbers[0] = archived.getNumber();
+            numbers[1] = live.getNumber();
+            return null;
+        });
+        
+        // Act
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        HotelChain reloaded = registry.acquire("Hotel 0");
+        
+        // Assert
+        assertEquals(2, registry.getEvictions());
+        assertEquals(businessDate, reloaded.getBusinessDate());
+        assertNotNull(reloaded.getArchiveStore());
+        assertTrue(reloaded.getArchiveStore().find(numbers[0]) >= 0);
+        assertEquals(1, reloaded.getArchivedReservations().size());
+        assertEquals(HousekeepingStatus.DIRTY, reloaded.getHotel().findRoomByNumber("100").getHousekeepingStatus());
+        assertEquals(HousekeepingStatus.CLEAN, reloaded.getHotel().findRoomByNumber("101").getHousekeepingStatus());
+        assertEquals(1, reloaded.getWaitlist().size(roomType));
+        assertEquals(2, reloaded.getWaitlistEntries().get(0).getPriority());
+        assertEquals("1234567890123456", reloaded.getPayer(numbers[1]).getCreditCardDetails().cardNumber());
+    }
+    
+    @Test
+    void evict_ThenAcquire_RoomsAwaitingCleaning_ShouldBeQueuedWithScheduler() {
+        // Arrange
+        storeHotels(2, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 1, clock);
+        registry.withHotel("Hotel 0", hotelChain -> {
+            Room dirty = hotelChain.getHotel().findRoomByNumber("100");
+            Room clean = hotelChain.getHotel().findRoomByNumber("101");
+            dirty.transitionHousekeeping(HousekeepingStatus.DIRTY);
+            clean.transitionHousekeeping(HousekeepingStatus.DIRTY);
+            clean.transitionHousekeeping(HousekeepingStatus.CLEAN);
+            return null;
+        });
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        HotelChain reloaded = registry.acquire("Hotel 0");
+        HousekeepingScheduler scheduler = new HousekeepingScheduler();
+        
+        // Act
+        reloaded.setHousekeeping(scheduler);
+        HousekeepingTask first = scheduler.poll("1");
+        HousekeepingTask second = scheduler.poll("1");
+        
+        // Assert
+        assertEquals(0, scheduler.pending());
+        HousekeepingTask clean = first.getKind() == TaskKind.CLEAN ? first : second;
+        HousekeepingTask inspect = clean == first ? second : first;
+        assertEquals("100", clean.getRoom().getRoomNumber());
+        assertEquals(TaskKind.INSPECT, inspect.getKind());
+        assertEquals(TransitionResult.APPLIED, scheduler.complete(clean));
+        assertEquals(TransitionResult.APPLIED, scheduler.complete(scheduler.poll("1")));
+        assertEquals(TransitionResult.APPLIED, scheduler.complete(inspect));
+        assertTrue(reloaded.getHotel().findRoomByNumber("100").isReadyForArrival());
+        assertTrue(reloaded.getHotel().findRoomByNumber("101").isReadyForArrival());
+    }
+    
+    @Test
+    void evict_ThenAcquire_RetriedIdempotencyKey_ShouldReturnOriginalReservation() {
+        // Arrange
+        storeHotels(2, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 1, clock);
+        BookingDate start = new BookingDate(LocalDate.now().plusDays(5));
+        BookingDate end = new BookingDate(LocalDate.now().plusDays(6));
+        String number = registry.withHotel("Hotel 0", hotelChain ->
+            hotelChain.makeReservation("client-42", roomType, start, end, new HowMany(1)).getNumber());
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        HotelChain reloaded = registry.acquire("Hotel 0");
+        
+        // Act
+        Reservation retried = reloaded.makeReservation("client-42", roomType, start, end, new HowMany(1));
+        
+        // Assert
+        assertEquals(number, retried.getNumber());
+        assertSame(reloaded.getReservations().get(0), retried);
+        assertEquals(1, reloaded.getReservations().size());
+        assertEquals(1, reloaded.getIdempotencyCache().getHits());
+    }
+    
+    @Test
+    void evict_ThenAcquire_BestFitChain_ShouldKeepBestFit() {
+        // Arrange
+        storeHotels(2, 2, 0);
+        HotelRegistry registry = new HotelRegistry(repository, 1, clock);
+        BookingDate start = new BookingDate(LocalDate.now().plusDays(5));
+        BookingDate end = new BookingDate(LocalDate.now().plusDays(6));
+        RoomAllocationStrategy original = registry.withHotel("Hotel 0", hotelChain -> {
+            hotelChain.setAllocationStrategy(new BestFitAllocator());
+            hotelChain.makeReservation(roomType, start, end, new HowMany(1));
+            return hotelChain.getAllocationStrategy();
+        });
+        registry.withHotel("Hotel 1", hotelChain -> null);
+        
+        // Act
+        HotelChain reloaded = registry.acquire("Hotel 0");
+        
+        // Assert
+        RoomAllocationStrategy restored = reloaded.getAllocationStrategy();
+        assertInstanceOf(BestFitAllocator.class, restored);
+        assertNotSame(original, restored);
+        Room booked = reloaded.getReservations().get(0).getRoom();
+        assertFalse(restored.isFree(reloaded.getHotel(), booked, start, end));
+        assertEquals(1, reloaded.countAvailableRooms(roomType, start, end));
+    }
+}
\ No newline at end of file
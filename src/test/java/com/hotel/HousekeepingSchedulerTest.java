@@ -0,0 +1,246 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.housekeeping.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HousekeepingSchedulerTest {
+    private static final LocalDate BUSINESS_DAY = LocalDate.of(2026, 6, 3);
+    
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private HousekeepingScheduler scheduler;
+    private RoomType roomType;
+    private Room room;
+    private HowMany howMany;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(BUSINESS_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        roomType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        room = new Room("101", roomType);
+        hotel.addRoom(room);
+        howMany = new HowMany(1);
+        scheduler = new HousekeepingScheduler();
+        hotelChain.setHousekeeping(scheduler);
+    }
+    
+    private BookingDate day(int offset) {
+        return new BookingDate(BUSINESS_DAY.plusDays(offset));
+    }
+    
+    private Reservation stayTonight() {
+        Reservation reservation = hotelChain.makeReservation(roomType, day(0), day(0), howMany);
+        reservation.assignGuest(new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country")));
+        return reservation;
+    }
+    
+    @Test
+    void checkOutGuest_WithScheduler_ShouldMakeRoomDirtyAndQueueClean() {
+        // Arrange
+        Reservation stay = stayTonight();
+        Reservation next = hotelChain.makeReservation(roomType, day(1), day(2), howMany);
+        assertTrue(hotelChain.checkInGuest(stay.getNumber()));
+        
+        // Act
+        assertTrue(hotelChain.checkOutGuest(stay.getNumber()));
+        HousekeepingTask task = scheduler.poll("1");
+        
+        // Assert
+        assertEquals(HousekeepingStatus.DIRTY, room.getHousekeepingStatus());
+        assertFalse(hotel.getAvailableRooms().contains(room));
+        assertEquals(TaskKind.CLEAN, task.getKind());
+        assertSame(room, task.getRoom());
+        assertEquals(next.getStartDate().localDate().toEpochDay(), task.getArrivalDay());
+    }
+    
+    @Test
+    void checkOutGuest_LaterStaysOnOtherRooms_ShouldUseThisRoomsNextArrival() {
+        // Arrange - a second room takes the earlier arrival
+        Room other = new Room("102", roomType);
+        hotel.addRoom(other);
+        Reservation stay = stayTonight();
+        Reservation later = hotelChain.makeReservation(roomType, day(4), day(5), howMany);
+        Reservation sooner = hotelChain.makeReservation(roomType, day(1), day(4), howMany);
+        assertSame(room, later.getRoom());
+        assertSame(other, sooner.getRoom());
+        hotelChain.checkInGuest(stay.getNumber());
+        
+        // Act
+        hotelChain.checkOutGuest(stay.getNumber());
+        
+        // Assert
+        assertEquals(later.getStartDate().epochDay(), scheduler.poll("1").getArrivalDay());
+    }
+    
+    @Test
+    void roomVacated_AlreadyDirty_ShouldNotQueueAnotherClean() {
+        // Arrange
+        scheduler.roomVacated(room, 5);
+        
+        // Act
+        HousekeepingTask duplicate = scheduler.roomVacated(room, 5);
+        
+        // Assert
+        assertNull(duplicate);
+        assertEquals(1, scheduler.pending());
+    }
+    
+    @Test
+    void checkInGuest_RoomNotInspected_ShouldBeRejectedUntilTurnedAround() {
+        // Arrange
+        Reservation stay = stayTonight();
+        hotelChain.checkInGuest(stay.getNumber());
+        hotelChain.checkOutGuest(stay.getNumber());
+        Reservation next = stayTonight();
+        
+        // Act & Assert - dirty, then cleaned but not yet inspected
+        assertEquals(TransitionResult.REJECTED, hotelChain.tryCheckInGuest(next.getNumber()));
+        assertEquals(TransitionResult.APPLIED, scheduler.complete(scheduler.poll("1")));
+        assertEquals(HousekeepingStatus.CLEAN, room.getHousekeepingStatus());
+        assertEquals(TransitionResult.REJECTED, hotelChain.tryCheckInGuest(next.getNumber()));
+        
+        HousekeepingTask inspection = scheduler.poll("1");
+        assertEquals(TaskKind.INSPECT, inspection.getKind());
+        assertEquals(TransitionResult.APPLIED, scheduler.complete(inspection));
+        assertEquals(TransitionResult.APPLIED, hotelChain.tryCheckInGuest(next.getNumber()));
+        assertEquals(0, scheduler.pending());
+    }
+    
+    @Test
+    void failInspection_CleanRoom_ShouldQueueAnotherClean() {
+        // Arrange
+        scheduler.roomVacated(room, 5);
+        scheduler.complete(scheduler.poll("1"));
+        
+        // Act
+        TransitionResult result = scheduler.failInspection(scheduler.poll("1"));
+        
+        // Assert
+        assertEquals(TransitionResult.APPLIED, result);
+        assertEquals(HousekeepingStatus.DIRTY, room.getHousekeepingStatus());
+        assertEquals(TaskKind.CLEAN, scheduler.poll("1").getKind());
+    }
+    
+    @Test
+    void checkOutGuest_WithoutScheduler_ShouldLeaveRoomReady() {
+        // Arrange
+        hotelChain.setHousekeeping(null);
+        Reservation stay = stayTonight();
+        hotelChain.checkInGuest(stay.getNumber());
+        
+        // Act
+        hotelChain.checkOutGuest(stay.getNumber());
+        
+        // Assert
+        assertEquals(HousekeepingStatus.INSPECTED, room.getHousekeepingStatus());
+        assertTrue(room.isReadyForArrival());
+    }
+    
+    @Test
+    void poll_SameZone_ShouldReturnSoonestArrivalFirst() {
+        // Arrange
+        Room late = new Room("102", roomType);
+        Room soon = new Room("103", roomType);
+        Room middle = new Room("104", roomType);
+        scheduler.roomVacated(late, 30);
+        scheduler.roomVacated(soon, 10);
+        scheduler.roomVacated(middle, 20);
+        
+        // Act & Assert
+        assertSame(soon, scheduler.poll("1").getRoom());
+        assertSame(middle, scheduler.poll("1").getRoom());
+        assertSame(late, scheduler.poll("1").getRoom());
+        assertNull(scheduler.poll("1"));
+        assertEquals(0, scheduler.getSteals());
+    }
+    
+    @Test
+    void poll_EmptyZone_ShouldStealMostUrgentTaskElsewhere() {
+        // Arrange
+        Room secondFloor = new Room("201", roomType);
+        Room twelfthFloor = new Room("1204", roomType);
+        scheduler.roomVacated(secondFloor, 5);
+        scheduler.roomVacated(twelfthFloor, 3);
+        
+        // Act
+        HousekeepingTask stolen = scheduler.poll("1");
+        
+        // Assert
+        assertSame(twelfthFloor, stolen.getRoom());
+        assertEquals("12", stolen.getZone());
+        assertEquals(1, scheduler.getSteals());
+        assertEquals(1, scheduler.pending("2"));
+        assertEquals(0, scheduler.pending("12"));
+    }
+    
+    @Test
+    void poll_ConcurrentAttendants_ShouldTurnEveryRoomAroundExactlyOnce() throws InterruptedException {
+        // Arrange - 20 floors of 100 rooms, but attendants only on the first 8
+        Random random = new Random(43);
+        List<Room> rooms = new ArrayList<>();
+        for (int floor = 1; floor <= 20; floor++) {
+            for (int number = 0; number < 100; number++) {
+                Room vacated = new Room(String.valueOf(floor * 100 + number), roomType);
+                rooms.add(vacated);
+                scheduler.roomVacated(vacated, random.nextInt(365));
+            }
+        }
+        Map<Room, AtomicInteger> completions = new ConcurrentHashMap<>();
+        AtomicInteger remaining = new AtomicInteger(rooms.size() * 2);
+        
+        // Act
+        List<Thread> attendants = new ArrayList<>();
+        for (int floor = 1; floor <= 8; floor++) {
+            String zone = String.valueOf(floor);
+            Thread attendant = new Thread(() -> {
+                while (remaining.get() > 0) {
+                    HousekeepingTask task = scheduler.poll(zone);
+                    if (task == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    assertEquals(TransitionResult.APPLIED, scheduler.complete(task));
+                    completions.computeIfAbsent(task.getRoom(), key -> new AtomicInteger()).incrementAndGet();
+                    remaining.decrementAndGet();
+                }
+            });
+            attendants.add(attendant);
+            attendant.start();
+        }
+        for (Thread attendant : attendants) {
+            attendant.join();
+        }
+        
+        // Assert
+        assertEquals(0, scheduler.pending());
+        assertEquals(rooms.size() * 2, scheduler.getDispatched());
+        for (Room turned : rooms) {
+            assertEquals(HousekeepingStatus.INSPECTED, turned.getHousekeepingStatus());
+            assertEquals(2, completions.get(turned).get());
+        }
+        assertTrue(scheduler.getSteals() > 0);
+        assertTrue(scheduler.getAverageDispatchMicros() < 1_000,
+            "Average dispatch took " + scheduler.getAverageDispatchMicros() + " us");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+    private HotelChain hotelChain;
+    private RoomType roomType;
+    private BookingDate startDate;
+    private BookingDate endDate;
+    private HowMany howMany;
+    private MutableClock clock;
+    
+    // Test clock that only moves when told to
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-06-03T10:00:00Z");
+        
+        void advance(Duration duration) { now = now.plus(duration); }
+        
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        hotel.addRoom(new Room("101", roomType));
+        hotel.addRoom(new Room("102", roomType));
+        
+        startDate = new BookingDate(LocalDate.now().plusDays(1));
+        endDate = new BookingDate(LocalDate.now().plusDays(3));
+        howMany = new HowMany(1);
+        clock = new MutableClock();
+    }
+    
+    @Test
+    void makeReservation_RetriedWithSameKey_ShouldReturnOriginal() {
+        // Act
+        Reservation first = hotelChain.makeReservation("key-1", roomType, startDate, endDate, howMany);
+        Reservation retry = hotelChain.makeReservation("key-1", roomType, startDate, endDate, howMany);
+        
+        // Assert
+        assertSame(first, retry);
+        assertEquals(1, hotelChain.getReservations().size());
+        assertEquals(1, hotelChain.getIdempotencyCache().getHits());
+    }
+    
+    @Test
+    void makeReservation_KeyReusedForDifferentStay_ShouldThrowException() {
+        hotelChain.makeReservation("key-1", roomType, startDate, endDate, howMany);
+        
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> hotelChain.makeReservation("key-1", roomType, startDate, startDate, howMany)
+        );
+        assertEquals("Idempotency key was already used for a different request", exception.getMessage());
+    }
+    
+    @Test
+    void makeReservation_FailedAttempt_ShouldNotBeRemembered() {
+        // Arrange - fill both rooms so the keyed attempt fails
+        hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        Reservation blocker = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        assertThrows(IllegalStateException.class,
+            () -> hotelChain.makeReservation("key-1", roomType, startDate, endDate, howMany));
+        
+        // Act
+        hotelChain.cancelReservation(blocker.getNumber());
+        Reservation retry = hotelChain.makeReservation("key-1", roomType, startDate, endDate, howMany);
+        
+        // Assert
+        assertNotNull(retry);
+        assertEquals(2, hotelChain.getReservations().size());
+    }
+    
+    @Test
+    void getOrCreate_AfterTimeToLive_ShouldBookAgain() {
+        // Arrange
+        hotelChain.setIdempotencyCache(new IdempotencyCache(100, Duration.ofMinutes(10), clock));
+        Reservation first = hotelChain.makeReservation("key-1", roomType, startDate, endDate, howMany);
+        
+        // Act
+        clock.advance(Duration.ofMinutes(11));
+        Reservation later = hotelChain.makeReservation("key-1", roomType, startDate, endDate, howMany);
+        
+        // Assert
+        assertNotSame(first, later);
+        assertEquals(2, hotelChain.getReservations().size());
+    }
+    
+    @Test
+    void getOrCreate_OverCapacity_ShouldEvictOldestKeys() {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(3, Duration.ofHours(1), clock);
+        Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        
+        // Act
+        for (int i = 0; i < 10; i++) {
+            cache.getOrCreate("key-" + i, () -> reservation);
+        }
+        
+        // Assert
+        assertEquals(3, cache.size());
+        assertNull(cache.get("key-0"));
+        assertSame(reservation, cache.get("key-9"));
+    }
+    
+    @Test
+    void getOrCreate_ConcurrentIdenticalKeys_ShouldBookOnce() throws InterruptedException {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1), clock);
+        AtomicInteger bookings = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Reservation> results = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                results.add(cache.getOrCreate("same-key", () -> {
+                    bookings.incrementAndGet();
+                    return new Reservation(new BookingDate(LocalDate.now()), startDate, endDate,
+                        "RES_" + System.nanoTime(), new Room("999", roomType), roomType, howMany);
+                }));
+            });
+            callers.add(caller);
+            caller.start();
+        }
+        
+        // Act
+        start.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        
+        // Assert
+        assertEquals(1, bookings.get());
+        assertEquals(8, results.size());
+        for (Reservation result : results) {
+            assertSame(results.get(0), result);
+        }
+    }
+    
+    @Test
+    void getOrCreate_EmptyKey_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> hotelChain.makeReservation(" ", roomType, startDate, endDate, howMany)
+        );
+        assertEquals("Idempotency key cannot be null or empty", exception.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModifyReservationTest {
+    private static final LocalDate BUSINESS_DAY = LocalDate.of(2026, 6, 3);
+    
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private RoomType singleType;
+    private RoomType doubleType;
+    private HowMany howMany;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(BUSINESS_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        singleType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        doubleType = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.valueOf(150), Currency.getInstance("USD")));
+        hotel.addRoom(new Room("101", singleType));
+        howMany = new HowMany(1);
+    }
+    
+    private BookingDate day(int offset) {
+        return new BookingDate(BUSINESS_DAY.plusDays(offset));
+    }
+    
+    @Test
+    void modifyReservation_ExtendByOneNight_ShouldKeepRoomAndNumber() {
+        // Arrange
+        Reservation reservation = hotelChain.makeReservation(singleType, day(1), day(2), howMany);
+        long version = reservation.getVersion();
+        
+        // Act
+        TransitionResult result = hotelChain.tryModifyReservation(reservation.getNumber(), day(1), day(3), singleType);
+        
+        // Assert
+        assertEquals(TransitionResult.APPLIED, result);
+        assertEquals(day(3), reservation.getEndDate());
+        assertEquals("101", reservation.getRoom().getRoomNumber());
+        assertEquals(version + 1, reservation.getVersion());
+        assertEquals(1, hotelChain.getReservations().size());
+        assertEquals(0, hotelChain.countAvailableRooms(singleType, day(3), day(3)));
+    }
+    
+    @Test
+    void modifyReservation_RoomTakenOnAddedNight_ShouldMoveToFreeRoom() {
+        // Arrange
+        hotel.addRoom(new Room("102", singleType));
+        Reservation reservation = hotelChain.makeReservation(singleType, day(1), day(2), howMany);
+        hotelChain.makeReservation(singleType, day(3), day(4), howMany);
+        
+        // Act
+        boolean modified = hotelChain.modifyReservation(reservation.getNumber(), day(1), day(3), singleType);
+        
+        // Assert
+        assertTrue(modified);
+        assertEquals("102", reservation.getRoom().getRoomNumber());
+    }
+    
+    @Test
+    void modifyReservation_NoCapacityOnAddedNight_ShouldLeaveStayUnchanged() {
+        // Arrange
+        Reservation reservation = hotelChain.makeReservation(singleType, day(1), day(2), howMany);
+        hotelChain.makeReservation(singleType, day(3), day(4), howMany);
+        
+        // Act
+        TransitionResult result = hotelChain.tryModifyReservation(reservation.getNumber(), day(1), day(3), singleType);
+        
+        // Assert
+        assertEquals(TransitionResult.CONFLICT, result);
+        assertEquals(day(2), reservation.getEndDate());
+        assertEquals(0, reservation.getVersion());
+    }
+    
+    @Test
+    void modifyReservation_Shorten_ShouldReleaseNightsToWaitlist() {
+        // Arrange
+        Reservation reservation = hotelChain.makeReservation(singleType, day(1), day(5), howMany);
+        WaitlistEntry entry = hotelChain.joinWaitlist(singleType, day(4), day(5), howMany, 0);
+        
+        // Act
+        boolean modified = hotelChain.modifyReservation(reservation.getNumber(), day(1), day(3), singleType);
+        
+        // Assert
+        assertTrue(modified);
+        assertTrue(entry.isPromoted());
+        assertEquals("101", entry.getReservation().getRoom().getRoomNumber());
+    }
+    
+    @Test
+    void modifyReservation_ChangeRoomType_ShouldFreeOldType() {
+        // Arrange
+        hotel.addRoom(new Room("201", doubleType));
+        Reservation reservation = hotelChain.makeReservation(singleType, day(1), day(2), howMany);
+        
+        // Act
+        boolean modified = hotelChain.modifyReservation(reservation.getNumber(), day(1), day(2), doubleType);
+        
+        // Assert
+        assertTrue(modified);
+        assertEquals(doubleType, reservation.getRoomType());
+        assertEquals("201", reservation.getRoom().getRoomNumber());
+        assertEquals(1, hotelChain.countAvailableRooms(singleType, day(1), day(2)));
+        assertEquals(0, hotelChain.countAvailableRooms(doubleType, day(1), day(2)));
+    }
+    
+    @Test
+    void modifyReservation_StartAlreadyPassed_ShouldStillExtend() {
+        // Arrange - cancelling is no longer allowed once the start date has passed
+        Reservation reservation = hotelChain.makeReservation(singleType, day(-1), day(1), howMany);
+        assertFalse(hotelChain.cancelReservation(reservation.getNumber()));
+        
+        // Act
+        boolean modified = hotelChain.modifyReservation(reservation.getNumber(), day(-1), day(2), singleType);
+        
+        // Assert
+        assertTrue(modified);
+        assertEquals(day(2), reservation.getEndDate());
+    }
+    
+    @Test
+    void modifyReservation_CheckedInGuest_ShouldOnlyMoveDeparture() {
+        // Arrange
+        hotel.addRoom(new Room("201", doubleType));
+        Reservation reservation = hotelChain.makeReservation(singleType, day(0), day(1), howMany);
+        reservation.assignGuest(new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country")));
+        assertTrue(hotelChain.checkInGuest(reservation.getNumber()));
+        
+        // Act
+        TransitionResult extended = hotelChain.tryModifyReservation(reservation.getNumber(), day(0), day(3), singleType);
+        TransitionResult moved = hotelChain.tryModifyReservation(reservation.getNumber(), day(0), day(3), doubleType);
+        
+        // Assert
+        assertEquals(TransitionResult.APPLIED, extended);
+        assertEquals(TransitionResult.REJECTED, moved);
+        assertEquals(day(3), reservation.getEndDate());
+        assertEquals(ReservationStatus.CHECKED_IN, reservation.getStatus());
+    }
+    
+    @Test
+    void modifyReservation_WithCache_ShouldOnlyInvalidateChangedNights() {
+        // Arrange
+        AvailabilityCache cache = new AvailabilityCache(100);
+        hotelChain.setAvailabilityCache(cache);
+        Reservation reservation = hotelChain.makeReservation(singleType, day(1), day(2), howMany);
+        hotelChain.countAvailableRooms(singleType, day(10), day(12));
+        long hitsBefore = cache.getStats().hits();
+        
+        // Act
+        hotelChain.modifyReservation(reservation.getNumber(), day(1), day(3), singleType);
+        hotelChain.countAvailableRooms(singleType, day(10), day(12));
+        
+        // Assert - the untouched window is still served from the cache
+        assertEquals(hitsBefore + 1, cache.getStats().hits());
+    }
+    
+    @Test
+    void modifyReservation_UnknownNumber_ShouldReturnNotFound() {
+        assertEquals(TransitionResult.NOT_FOUND,
+            hotelChain.tryModifyReservation("RES_1", day(1), day(2), singleType));
+    }
+}
\ No newline at end of file
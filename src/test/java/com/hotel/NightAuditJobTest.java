@@ -0,0 +1,161 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NightAuditJobTest {
+    private static final LocalDate BUSINESS_DAY = LocalDate.of(2026, 6, 3);
+    
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private RoomType roomType;
+    private HowMany howMany;
+    private Guest guest;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(BUSINESS_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        hotel.addRoom(new Room("101", roomType));
+        hotel.addRoom(new Room("102", roomType));
+        
+        howMany = new HowMany(1);
+        guest = new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country"));
+    }
+    
+    private BookingDate day(int offset) {
+        return new BookingDate(BUSINESS_DAY.plusDays(offset));
+    }
+    
+    @Test
+    void getBusinessDate_NoAuditYet_ShouldFollowHotelClock() {
+        assertEquals(day(0), hotelChain.getBusinessDate());
+    }
+    
+    @Test
+    void run_ArrivalNeverCheckedIn_ShouldMarkNoShowAndArchive() {
+        // Arrange
+        Reservation reservation = hotelChain.makeReservation(roomType, day(0), day(2), howMany);
+        
+        // Act
+        NightAuditReport report = new NightAuditJob(hotelChain).run();
+        
+        // Assert
+        assertEquals(1, report.noShows());
+        assertEquals(1, report.archived());
+        assertEquals(ReservationStatus.NO_SHOW, reservation.getStatus());
+        assertTrue(hotelChain.getReservations().isEmpty());
+        assertEquals(List.of(reservation), hotelChain.getArchivedReservations());
+    }
+    
+    @Test
+    void run_GuestOverstaying_ShouldAutoCheckOutAndVacateRoom() {
+        // Arrange
+        Reservation reservation = hotelChain.makeReservation(roomType, day(0), day(0), howMany);
+        reservation.assignGuest(guest);
+        assertTrue(hotelChain.checkInGuest(reservation.getNumber()));
+        
+        // Act
+        NightAuditReport report = new NightAuditJob(hotelChain).run();
+        
+        // Assert
+        assertEquals(1, report.autoCheckOuts());
+        assertEquals(ReservationStatus.CHECKED_OUT, reservation.getStatus());
+        assertFalse(reservation.getRoom().isOccupied());
+        assertEquals(1, hotelChain.getArchivedReservations().size());
+    }
+    
+    @Test
+    void run_FutureReservation_ShouldStayActiveAndBecomeCheckInable() {
+        // Arrange
+        Reservation reservation = hotelChain.makeReservation(roomType, day(1), day(3), howMany);
+        reservation.assignGuest(guest);
+        assertFalse(hotelChain.checkInGuest(reservation.getNumber()));
+        
+        // Act
+        NightAuditReport report = new NightAuditJob(hotelChain).run();
+        
+        // Assert
+        assertEquals(day(0), report.closedDate());
+        assertEquals(day(1), report.newBusinessDate());
+        assertEquals(day(1), hotelChain.getBusinessDate());
+        assertEquals(0, report.archived());
+        assertTrue(hotelChain.checkInGuest(reservation.getNumber()));
+    }
+    
+    @Test
+    void run_LargeProperty_ShouldCloseDayInOneBatch() {
+        // Arrange - 100k reservations over 1,000 rooms, every tenth arriving today
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Room room = new Room("R" + i, roomType);
+            rooms.add(room);
+            hotel.addRoom(room);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int offset = i % 10 == 0 ? 0 : 1 + i % 30;
+            hotelChain.restoreReservation(new Reservation(day(-5), day(offset), day(offset + 2),
+                "RES_" + i, rooms.get(i % rooms.size()), roomType, howMany));
+        }
+        
+        // Act
+        NightAuditReport report = new NightAuditJob(hotelChain).run();
+        
+        // Assert
+        assertEquals(10_000, report.noShows());
+        assertEquals(90_000, hotelChain.getReservations().size());
+        assertTrue(report.durationNanos() < TimeUnit.SECONDS.toNanos(5),
+            "Night audit took " + TimeUnit.NANOSECONDS.toMillis(report.durationNanos()) + " ms");
+    }
+    
+    @Test
+    void run_WaitlistEntryStartingOnClosedDay_ShouldExpireInsteadOfPromoting() {
+        // Arrange - both rooms become no-shows and free up tonight
+        hotelChain.makeReservation(roomType, day(0), day(2), howMany);
+        hotelChain.makeReservation(roomType, day(0), day(2), howMany);
+        WaitlistEntry stale = hotelChain.joinWaitlist(roomType, day(0), day(1), howMany, 10);
+        WaitlistEntry upcoming = hotelChain.joinWaitlist(roomType, day(1), day(2), howMany, 1);
+        List<WaitlistEntry> expired = new ArrayList<>();
+        hotelChain.setWaitlistListener(new WaitlistListener() {
+            @Override
+            public void onPromoted(WaitlistEntry entry) {
+            }
+            
+            @Override
+            public void onExpired(WaitlistEntry entry) {
+                expired.add(entry);
+            }
+        });
+        
+        // Act
+        NightAuditReport report = new NightAuditJob(hotelChain).run();
+        
+        // Assert
+        assertEquals(day(1), report.newBusinessDate());
+        assertEquals(1, report.expiredWaitlistEntries());
+        assertEquals(List.of(stale), expired);
+        assertFalse(stale.isPromoted());
+        assertTrue(upcoming.isPromoted());
+        assertEquals(day(1), upcoming.getReservation().getStartDate());
+        assertTrue(hotelChain.getWaitlistEntries().isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.storage.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapReservationStoreTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 6, 3);
+    
+    private RoomType roomType;
+    private Room room;
+    private Guest guest;
+    
+    @BeforeEach
+    void setUp() {
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        room = new Room("101", roomType);
+        guest = new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country"));
+    }
+    
+    private Reservation reservation(long id, int offset) {
+        return reservation(id, offset, guest);
+    }
+    
+    private Reservation reservation(long id, int offset, Guest guest) {
+        Reservation reservation = new Reservation(new BookingDate(DAY), new BookingDate(DAY.plusDays(offset)),
+            new BookingDate(DAY.plusDays(offset + 2)), "RES_" + id, room, roomType, new HowMany(1));
+        reservation.assignGuest(guest);
+        return reservation;
+    }
+    
+    // Every reservation gets its own guest, as in a real history
+    private List<Reservation> distinctGuestReservations(int count) {
+        List<Reservation> reservations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Guest distinct = new Guest(new Name("Guest" + i, "Doe"), new Address(i + " St", "City", "12345", "Country"));
+            reservations.add(reservation(i, i % 60, distinct));
+        }
+        return reservations;
+    }
+    
+    private static long retainedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+    
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    @Test
+    void append_ThenView_ShouldRoundTripEveryField() {
+        // Arrange
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        Reservation original = reservation(42, 3);
+        original.transitionTo(ReservationStatus.CANCELLED);
+        
+        // Act
+        int record = store.append(original);
+        ReservationView view = store.view(record);
+        Reservation restored = view.toReservation();
+        
+        // Assert
+        assertEquals("RES_42", view.getNumber());
+        assertEquals(original.getStartDate(), view.getStartDate());
+        assertEquals(original.getEndDate(), view.getEndDate());
+        assertSame(room, view.getRoom());
+        assertEquals(guest.getGuestId(), view.getGuest().getGuestId());
+        assertEquals(guest.getName(), view.getGuest().getName());
+        assertEquals(guest.getAddressDetails(), view.getGuest().getAddressDetails());
+        assertEquals(roomType, view.getRoomType());
+        assertEquals(ReservationStatus.CANCELLED, view.getStatus());
+        assertEquals(original.getNumber(), restored.getNumber());
+        assertEquals(original.getReservationDate(), restored.getReservationDate());
+        assertEquals(ReservationStatus.CANCELLED, restored.getStatus());
+        assertEquals(guest.getGuestId(), restored.getGuest().getGuestId());
+    }
+    
+    @Test
+    void find_ManyRecords_ShouldLocateByNumber() {
+        // Arrange - enough records to grow the off-heap index several times
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        for (int i = 0; i < 5_000; i++) {
+            store.append(reservation(1_000_000L + i * 7L, i % 30));
+        }
+        
+        // Act & Assert
+        assertEquals(5_000, store.size());
+        assertEquals(1234, store.find("RES_" + (1_000_000L + 1234 * 7L)));
+        assertEquals(-1, store.find("RES_1"));
+        assertEquals(-1, store.find("BOOKING_1"));
+    }
+    
+    @Test
+    void append_DuplicateOrMalformedNumber_ShouldThrowException() {
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        store.append(reservation(7, 0));
+        
+        assertThrows(IllegalArgumentException.class, () -> store.append(reservation(7, 1)));
+        Reservation malformed = new Reservation(new BookingDate(DAY), new BookingDate(DAY),
+            new BookingDate(DAY.plusDays(1)), "RES_12a", room, roomType, new HowMany(1));
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> store.append(malformed)
+        );
+        assertEquals("Reservation number must be RES_ followed by digits", exception.getMessage());
+    }
+    
+    @Test
+    void append_DistinctGuests_ShouldRestoreEachGuest() {
+        // Arrange
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        List<Reservation> reservations = distinctGuestReservations(3_000);
+        
+        // Act
+        for (Reservation reservation : reservations) {
+            store.append(reservation);
+        }
+        store.append(reservation(5_000, 1, reservations.get(7).getGuest()));
+        
+        // Assert
+        for (int record = 0; record < reservations.size(); record++) {
+            Guest expected = reservations.get(record).getGuest();
+            Guest restored = store.view(record).getGuest();
+            assertEquals(expected.getGuestId(), restored.getGuestId());
+            assertEquals(expected.getName(), restored.getName());
+            assertEquals(expected.getAddressDetails(), restored.getAddressDetails());
+        }
+        assertEquals(reservations.get(7).getGuest().getName(), store.view(3_000).getGuest().getName());
+    }
+    
+    @Test
+    void append_ManyDistinctGuests_ShouldRetainFarLessHeapThanReservationObjects() {
+        // Arrange
+        int count = 100_000;
+        long baseline = retainedHeap();
+        
+        // Act - the appended reservations and their guests are garbage once stored
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        for (Reservation reservation : distinctGuestReservations(count)) {
+            store.append(reservation);
+        }
+        long storeHeap = retainedHeap() - baseline;
+        
+        List<Reservation> reservations = distinctGuestReservations(count);
+        long objectHeap = retainedHeap() - baseline - storeHeap;
+        
+        long[] nights = new long[1];
+        long before = allocatedBytes();
+        store.scan(view -> nights[0] += view.getEndDay() - view.getStartDay());
+        long scanBytes = allocatedBytes() - before;
+        
+        // Assert
+        assertEquals(count, store.size());
+        assertEquals(count, reservations.size());
+        assertEquals(2L * count, nights[0]);
+        assertTrue(storeHeap * 10 < objectHeap,
+            "store retained " + storeHeap + " heap bytes, objects " + objectHeap);
+        assertTrue(scanBytes < 64 * 1024, "scan allocated " + scanBytes + " heap bytes");
+    }
+    
+    @Test
+    void nightAudit_WithArchiveStore_ShouldArchiveOffHeap() {
+        // Arrange
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        hotel.addRoom(room);
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        hotelChain.setArchiveStore(store);
+        Reservation reservation = hotelChain.makeReservation(roomType,
+            new BookingDate(DAY), new BookingDate(DAY.plusDays(1)), new HowMany(1));
+        
+        // Act
+        new NightAuditJob(hotelChain).run();
+        
+        // Assert
+        List<Reservation> archived = hotelChain.getArchivedReservations();
+        assertEquals(1, archived.size());
+        assertEquals(reservation.getNumber(), archived.get(0).getNumber());
+        int record = store.find(reservation.getNumber());
+        assertEquals(ReservationStatus.NO_SHOW, store.view(record).getStatus());
+    }
+    
+    @Test
+    void nightAudit_RecordStoreCannotHold_ShouldKeepItOnHeapArchive() {
+        // Arrange - a restored stay whose number the fixed-width record can't encode
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        hotel.addRoom(room);
+        hotel.addRoom(new Room("102", roomType));
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        hotelChain.setArchiveStore(store);
+        Reservation legacy = new Reservation(new BookingDate(DAY), new BookingDate(DAY),
+            new BookingDate(DAY.plusDays(1)), "LEGACY-7", room, roomType, new HowMany(1));
+        hotelChain.restoreReservation(legacy);
+        Reservation current = hotelChain.makeReservation(roomType,
+            new BookingDate(DAY), new BookingDate(DAY.plusDays(1)), new HowMany(1));
+        
+        // Act
+        NightAuditReport report = new NightAuditJob(hotelChain).run();
+        
+        // Assert
+        assertEquals(2, report.archived());
+        assertTrue(hotelChain.getReservations().isEmpty());
+        assertEquals(1, store.size());
+        assertTrue(store.find(current.getNumber()) >= 0);
+        List<String> archived = hotelChain.getArchivedReservations().stream().map(Reservation::getNumber).toList();
+        assertEquals(2, archived.size());
+        assertTrue(archived.containsAll(List.of("LEGACY-7", current.getNumber())));
+    }
+    
+    @Test
+    void append_RoomTypeOrdinalPastShortRange_ShouldThrowAndLeaveStoreUnchanged() {
+        // Arrange
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        int storable = Short.MAX_VALUE + 1;
+        for (int i = 0; i < storable; i++) {
+            RoomType type = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(i), Currency.getInstance("USD")));
+            store.append(new Reservation(new BookingDate(DAY), new BookingDate(DAY), new BookingDate(DAY),
+                                         "RES_" + i, room, type, new HowMany(1)));
+        }
+        RoomType oneTooMany = new RoomType(RoomKind.SINGLE,
+            new Money(BigDecimal.valueOf(storable), Currency.getInstance("USD")));
+        Reservation rejected = new Reservation(new BookingDate(DAY), new BookingDate(DAY), new BookingDate(DAY),
+                                               "RES_" + storable, room, oneTooMany, new HowMany(1));
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> store.append(rejected));
+        assertEquals("Too many room types for stored record", exception.getMessage());
+        assertEquals(storable, store.size());
+        assertEquals(-1, store.find(rejected.getNumber()));
+        assertEquals(storable - 1, store.view(storable - 1).getRoomType().getCost().amount().intValue());
+    }
+    
+    @Test
+    void scan_WhileAnotherThreadAppends_ShouldSeeConsistentRecords() throws InterruptedException {
+        // Arrange
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        List<Reservation> reservations = distinctGuestReservations(150_000);
+        Thread writer = new Thread(() -> reservations.forEach(store::append));
+        
+        // Act - appends grow chunks and rehash both tables while scans run
+        writer.start();
+        int lastSeen = 0;
+        boolean ordered = true;
+        while (writer.isAlive()) {
+            int[] seen = {0, 0};
+            store.scan(view -> {
+                if (view.getId() == seen[0] && view.getGuest() != null) seen[1]++;
+                seen[0]++;
+            });
+            ordered &= seen[1] == seen[0] && seen[0] >= lastSeen;
+            lastSeen = seen[0];
+        }
+        writer.join();
+        
+        // Assert - every scan saw a growing prefix of fully written records
+        assertTrue(ordered);
+        assertEquals(150_000, store.size());
+        assertEquals("Guest149999", store.view(store.find("RES_149999")).getGuest().getName().firstName());
+    }
+}
\ No newline at end of file
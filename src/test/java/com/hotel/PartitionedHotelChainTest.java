@@ -0,0 +1,181 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.partition.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedHotelChainTest {
+    private static final int HOTELS = 40;
+    
+    private PartitionedHotelChain router;
+    private RoomType roomType;
+    private BookingDate startDate;
+    private BookingDate endDate;
+    private HowMany howMany;
+    
+    @BeforeEach
+    void setUp() {
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.DOUBLE, cost);
+        startDate = new BookingDate(LocalDate.now().plusDays(3));
+        endDate = new BookingDate(LocalDate.now().plusDays(6));
+        howMany = new HowMany(1);
+        
+        router = new PartitionedHotelChain();
+        for (int n = 0; n < 4; n++) {
+            router.addNode(new InProcessPartitionNode("node-" + n));
+        }
+        for (int h = 0; h < HOTELS; h++) {
+            router.addHotel(createHotelChain("Hotel " + h, 2));
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+    
+    private HotelChain createHotelChain(String hotelName, int rooms) {
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel(hotelName);
+        for (int i = 0; i < rooms; i++) {
+            hotel.addRoom(new Room(String.valueOf(101 + i), roomType));
+        }
+        hotelChain.setHotel(hotel);
+        return hotelChain;
+    }
+    
+    @Test
+    void addHotel_ManyHotels_ShouldSpreadOverEveryNode() {
+        // Act
+        Map<String, Integer> hotelsPerNode = new HashMap<>();
+        for (int h = 0; h < HOTELS; h++) {
+            hotelsPerNode.merge(router.ownerOf("Hotel " + h), 1, Integer::sum);
+        }
+        
+        // Assert
+        assertEquals(4, hotelsPerNode.size());
+        assertEquals(HOTELS, router.getHotelCount());
+    }
+    
+    @Test
+    void makeReservation_RoutedToOwner_ShouldBeCancellableThroughRouter() {
+        // Act
+        Reservation reservation = router.makeReservation("Hotel 7", roomType, startDate, endDate, howMany);
+        
+        // Assert
+        assertNotNull(reservation);
+        assertTrue(router.cancelReservation(reservation.getNumber()));
+        assertFalse(router.cancelReservation(reservation.getNumber()));
+    }
+    
+    @Test
+    void makeReservation_SoldOut_ShouldRethrowDomainException() {
+        // Arrange
+        router.makeReservation("Hotel 3", roomType, startDate, endDate, howMany);
+        router.makeReservation("Hotel 3", roomType, startDate, endDate, howMany);
+        
+        // Act & Assert
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> router.makeReservation("Hotel 3", roomType, startDate, endDate, howMany)
+        );
+        assertTrue(exception.getMessage().contains("Cannot make reservation"));
+    }
+    
+    @Test
+    void searchAvailability_AcrossPartitions_ShouldMergeEveryHotelWithRooms() {
+        // Arrange - sell out one hotel
+        router.makeReservation("Hotel 11", roomType, startDate, endDate, howMany);
+        router.makeReservation("Hotel 11", roomType, startDate, endDate, howMany);
+        
+        // Act
+        List<AvailabilityResult> results = router.searchAvailability(roomType, startDate, endDate);
+        
+        // Assert
+        assertEquals(HOTELS - 1, results.size());
+        assertTrue(results.stream().noneMatch(result -> result.hotelName().equals("Hotel 11")));
+        assertTrue(results.stream().allMatch(result -> result.availableRooms() == 2));
+    }
+    
+    @Test
+    void addNode_Rebalance_ShouldMoveSomeHotelsAndKeepTheirState() {
+        // Arrange
+        Map<String, String> reservationsByHotel = new HashMap<>();
+        for (int h = 0; h < HOTELS; h++) {
+            reservationsByHotel.put("Hotel " + h,
+                router.makeReservation("Hotel " + h, roomType, startDate, endDate, howMany).getNumber());
+        }
+        
+        // Act
+        int moved = router.addNode(new InProcessPartitionNode("node-4"));
+        
+        // Assert - a new node takes roughly its share, not the whole portfolio
+        assertTrue(moved > 0 && moved < HOTELS / 2, "Moved " + moved + " hotels");
+        for (Map.Entry<String, String> entry : reservationsByHotel.entrySet()) {
+            assertTrue(router.cancelReservation(entry.getValue()), entry.getKey());
+        }
+    }
+    
+    @Test
+    void removeNode_HostedHotels_ShouldMoveToRemainingNodes() {
+        // Act
+        router.removeNode("node-0");
+        
+        // Assert
+        assertEquals(3, router.getNodeCount());
+        for (int h = 0; h < HOTELS; h++) {
+            assertNotEquals("node-0", router.ownerOf("Hotel " + h));
+        }
+        assertEquals(HOTELS, router.searchAvailability(roomType, startDate, endDate).size());
+    }
+    
+    @Test
+    void cancelReservation_WaitlistPromotion_ShouldResolveHotelFromNodes() {
+        // Arrange - the promoted booking is made by the hotel itself, never by the router
+        HotelChain hotelChain = createHotelChain("Promo Hotel", 1);
+        router.addHotel(hotelChain);
+        Reservation booked = router.makeReservation("Promo Hotel", roomType, startDate, endDate, howMany);
+        hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 0);
+        assertTrue(router.cancelReservation(booked.getNumber()));
+        Reservation promoted = hotelChain.getReservations().stream()
+            .filter(reservation -> reservation.getStatus().holdsInventory())
+            .findFirst().orElseThrow();
+        
+        // Act
+        boolean cancelled = router.cancelReservation(promoted.getNumber());
+        
+        // Assert
+        assertTrue(cancelled);
+        assertEquals(0, router.getRoutedReservationCount());
+    }
+    
+    @Test
+    void cancelReservation_ArchivedOnNode_ShouldDropRoute() {
+        // Arrange
+        HotelChain hotelChain = createHotelChain("Archive Hotel", 1);
+        router.addHotel(hotelChain);
+        Reservation reservation = router.makeReservation("Archive Hotel", roomType, startDate, endDate, howMany);
+        hotelChain.cancelReservation(reservation.getNumber());
+        new NightAuditJob(hotelChain).run();
+        
+        // Act
+        boolean cancelled = router.cancelReservation(reservation.getNumber());
+        
+        // Assert
+        assertFalse(cancelled);
+        assertEquals(0, router.getRoutedReservationCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.hotel;
+
+import com.hotel.analytics.*;
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.storage.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationColumnsTest {
+    private RoomType singleType;
+    private RoomType doubleType;
+    
+    @BeforeEach
+    void setUp() {
+        singleType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        doubleType = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.valueOf(150), Currency.getInstance("USD")));
+    }
+    
+    @Test
+    void snapshot_LiveHotelChain_ShouldCaptureReservations() {
+        // Arrange
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        hotel.addRoom(new Room("101", singleType));
+        hotel.addRoom(new Room("201", doubleType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation single = hotelChain.makeReservation(singleType,
+            new BookingDate(start), new BookingDate(start.plusDays(2)), new HowMany(1));
+        Reservation cancelled = hotelChain.makeReservation(doubleType,
+            new BookingDate(start), new BookingDate(start.plusDays(4)), new HowMany(1));
+        hotelChain.makeReservation(doubleType,
+            new BookingDate(start.plusDays(5)), new BookingDate(start.plusDays(5)), new HowMany(1));
+        hotelChain.cancelReservation(cancelled.getNumber());
+        
+        // Act
+        ReservationColumns columns = ReservationColumns.snapshot(hotelChain);
+        
+        // Assert
+        assertEquals(2, columns.size());
+        assertEquals(single.getNumber(), "RES_" + columns.idAt(0));
+        assertEquals(start.toEpochDay(), columns.startDayAt(0));
+        assertEquals(singleType, columns.roomTypeAt(0));
+        assertEquals(4, columns.roomNights());
+        assertEquals(2, columns.countByStatus()[ReservationStatus.BOOKED.ordinal()]);
+    }
+    
+    @Test
+    void filters_Chained_ShouldMatchRowByRowEvaluation() {
+        // Arrange
+        ReservationColumns.Builder builder = ReservationColumns.builder(0);
+        ReservationStatus[] statuses = ReservationStatus.values();
+        for (int i = 0; i < 1_000; i++) {
+            builder.add(i, i % 50, i % 50 + i % 7, i % 3 == 0 ? doubleType : singleType, statuses[i % statuses.length]);
+        }
+        ReservationColumns columns = builder.build();
+        
+        // Act
+        ReservationColumns.Selection selection = columns.withStatus(
+            columns.withRoomType(columns.overlapping(null, 10, 20), singleType), ReservationStatus.BOOKED);
+        
+        // Assert
+        int expected = 0;
+        long expectedNights = 0;
+        for (int i = 0; i < 1_000; i++) {
+            int start = i % 50;
+            int end = start + i % 7;
+            if (start <= 20 && end >= 10 && i % 3 != 0 && i % statuses.length == 0) {
+                assertEquals(i, selection.rowAt(expected++));
+                expectedNights += end - start + 1;
+            }
+        }
+        assertEquals(expected, selection.size());
+        assertEquals(expectedNights, columns.roomNights(selection));
+        assertEquals(expectedNights, columns.roomNightsByRoomType(selection)[columns.roomTypeOrdinal(singleType)]);
+        assertEquals(0, columns.roomNightsByRoomType(selection)[columns.roomTypeOrdinal(doubleType)]);
+    }
+    
+    @Test
+    void add_StartAfterEnd_ShouldThrowException() {
+        ReservationColumns.Builder builder = ReservationColumns.builder(1);
+        
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> builder.add(1, 5, 4, singleType, ReservationStatus.BOOKED)
+        );
+        assertEquals("Start date must be before end date", exception.getMessage());
+    }
+    
+    @Test
+    void scan_TenMillionRows_ShouldFinishInMilliseconds() {
+        // Arrange
+        int rows = 10_000_000;
+        ReservationColumns.Builder builder = ReservationColumns.builder(rows);
+        for (int i = 0; i < rows; i++) {
+            int start = 20_000 + (i * 31) % 365;
+            builder.add(i, start, start + i % 14, (i & 1) == 0 ? singleType : doubleType, ReservationStatus.BOOKED);
+        }
+        ReservationColumns columns = builder.build();
+        
+        // Act - warm up, then time the best of a few runs
+        long best = Long.MAX_VALUE;
+        int count = 0;
+        for (int run = 0; run < 10; run++) {
+            long began = System.nanoTime();
+            count = columns.countOverlapping(20_100, 20_130);
+            best = Math.min(best, System.nanoTime() - began);
+        }
+        
+        // Assert
+        assertTrue(count > 0 && count < rows);
+        assertTrue(best < 200_000_000L, "best scan took " + best / 1_000_000 + " ms");
+    }
+    
+    @Test
+    void snapshot_OffHeapArchive_ShouldReadRecordsWithoutRebuildingReservations() {
+        // Arrange
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        Room single = new Room("101", singleType);
+        Room twin = new Room("201", doubleType);
+        hotel.addRoom(single);
+        hotel.addRoom(twin);
+        OffHeapReservationStore store = new OffHeapReservationStore();
+        BookingDate day = new BookingDate(LocalDate.of(2026, 6, 3));
+        BookingDate twoNightsLater = new BookingDate(LocalDate.of(2026, 6, 5));
+        for (int i = 0; i < 20_000; i++) {
+            boolean even = i % 2 == 0;
+            store.append(new Reservation(day, day, twoNightsLater, "RES_" + i, even ? single : twin,
+                                         even ? singleType : doubleType, new HowMany(1), null,
+                                         ReservationStatus.CHECKED_OUT));
+        }
+        hotelChain.setArchiveStore(store);
+        LocalDate start = LocalDate.now().plusDays(1);
+        hotelChain.makeReservation(singleType, new BookingDate(start), new BookingDate(start), new HowMany(1));
+        ReservationColumns.snapshot(hotelChain);
+        
+        // Act
+        long before = allocatedBytes();
+        ReservationColumns columns = ReservationColumns.snapshot(hotelChain);
+        long allocated = allocatedBytes() - before;
+        
+        // Assert - the columns themselves are about 42 bytes a row; a heap Reservation is far more
+        assertEquals(20_001, columns.size());
+        assertEquals(20_000, columns.countByStatus()[ReservationStatus.CHECKED_OUT.ordinal()]);
+        assertEquals(60_001, columns.roomNights());
+        assertEquals(2, columns.getRoomTypes().size());
+        assertEquals(19_999, columns.idAt(20_000));
+        assertEquals(doubleType, columns.roomTypeAt(20_000));
+        assertTrue(allocated < 20_000 * 64L, "allocated " + allocated + " bytes");
+    }
+    
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.events.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationEventBusTest {
+    
+    private static Stream<WaitStrategy> waitStrategies() {
+        return Stream.of(new BusySpinWaitStrategy(), new YieldingWaitStrategy(), new BlockingWaitStrategy());
+    }
+    
+    @ParameterizedTest
+    @MethodSource("waitStrategies")
+    void publish_MultipleConsumers_ShouldDeliverEveryEventInOrder(WaitStrategy waitStrategy) {
+        // Arrange
+        List<Long> first = Collections.synchronizedList(new ArrayList<>());
+        List<Long> second = Collections.synchronizedList(new ArrayList<>());
+        ReservationEventBus bus = new ReservationEventBus(8, waitStrategy);
+        bus.addHandler((event, sequence, endOfBatch) -> first.add(event.getSequence()));
+        bus.addHandler((event, sequence, endOfBatch) -> second.add(sequence));
+        bus.start();
+        
+        // Act - more events than slots forces the buffer to wrap
+        for (int i = 0; i < 100; i++) {
+            bus.publish(ReservationEventType.MADE, null);
+        }
+        bus.close();
+        
+        // Assert
+        assertEquals(100, first.size());
+        assertEquals(first, second);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, first.get(i));
+        }
+    }
+    
+    @Test
+    void publish_ConcurrentProducers_ShouldNotLoseEvents() throws InterruptedException {
+        // Arrange
+        AtomicLong received = new AtomicLong();
+        AtomicLong batches = new AtomicLong();
+        ReservationEventBus bus = new ReservationEventBus(64, new YieldingWaitStrategy());
+        bus.addHandler((event, sequence, endOfBatch) -> {
+            received.incrementAndGet();
+            if (endOfBatch) batches.incrementAndGet();
+        });
+        bus.start();
+        
+        // Act
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    bus.publish(ReservationEventType.CANCELLED, null);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        bus.close();
+        
+        // Assert
+        assertEquals(40_000, received.get());
+        assertEquals(39_999, bus.getCursor());
+        assertTrue(batches.get() <= received.get());
+    }
+    
+    @Test
+    void createRingBuffer_SizeNotPowerOfTwo_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new ReservationEventBus(10, new BusySpinWaitStrategy())
+        );
+        assertEquals("Buffer size must be a power of 2", exception.getMessage());
+    }
+    
+    @Test
+    void addHandler_AfterStart_ShouldThrowException() {
+        ReservationEventBus bus = new ReservationEventBus(8, new BusySpinWaitStrategy());
+        bus.start();
+        
+        assertThrows(IllegalStateException.class,
+            () -> bus.addHandler((event, sequence, endOfBatch) -> { }));
+        bus.close();
+    }
+    
+    @Test
+    void hotelChain_LifecycleOperations_ShouldPublishTypedEvents() {
+        // Arrange
+        List<ReservationEventType> types = Collections.synchronizedList(new ArrayList<>());
+        ReservationEventBus bus = new ReservationEventBus(16, new BlockingWaitStrategy());
+        bus.addHandler((event, sequence, endOfBatch) -> types.add(event.getType()));
+        bus.start();
+        
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setEventBus(bus);
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        RoomType roomType = new RoomType(RoomKind.SINGLE, cost);
+        hotel.addRoom(new Room("101", roomType));
+        
+        // Act
+        Reservation reservation = hotelChain.makeReservation(roomType,
+            new BookingDate(LocalDate.now().plusDays(1)),
+            new BookingDate(LocalDate.now().plusDays(2)), new HowMany(1));
+        hotelChain.cancelReservation(reservation.getNumber());
+        bus.close();
+        
+        // Assert
+        assertEquals(List.of(ReservationEventType.MADE, ReservationEventType.CANCELLED), types);
+    }
+    
+    @Test
+    void publish_HandlerThrows_ShouldReportFailureAndKeepConsuming() {
+        // Arrange
+        List<Long> failed = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong delivered = new AtomicLong();
+        ReservationEventBus bus = new ReservationEventBus(8, new BlockingWaitStrategy());
+        bus.setExceptionHandler((failure, sequence, event) -> failed.add(sequence));
+        bus.addHandler((event, sequence, endOfBatch) -> {
+            if (sequence % 3 == 0) throw new IllegalStateException("Handler failed");
+        });
+        bus.addHandler((event, sequence, endOfBatch) -> delivered.incrementAndGet());
+        bus.start();
+        
+        // Act - many more events than slots, so a stalled consumer would block publishing
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 100; i++) {
+                bus.publish(ReservationEventType.MADE, null);
+            }
+            bus.close();
+        });
+        
+        // Assert
+        assertEquals(100, delivered.get());
+        assertEquals(34, failed.size());
+        assertEquals(0L, failed.get(0));
+        assertEquals(99L, failed.get(33));
+    }
+    
+    @Test
+    void setExceptionHandler_AfterStart_ShouldThrowException() {
+        ReservationEventBus bus = new ReservationEventBus(8, new BusySpinWaitStrategy());
+        bus.start();
+        
+        assertThrows(IllegalStateException.class,
+            () -> bus.setExceptionHandler((failure, sequence, event) -> { }));
+        bus.close();
+    }
+    
+    @Test
+    void publish_MoreThanBufferSizeAfterClose_ShouldDropWithoutBlocking() {
+        // Arrange
+        AtomicLong received = new AtomicLong();
+        ReservationEventBus bus = new ReservationEventBus(8, new BlockingWaitStrategy());
+        bus.addHandler((event, sequence, endOfBatch) -> received.incrementAndGet());
+        bus.start();
+        bus.publish(ReservationEventType.MADE, null);
+        bus.close();
+        
+        // Act - nothing consumes any more, so a gated ring would park on the ninth
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 3 * bus.getBufferSize(); i++) {
+                bus.publish(ReservationEventType.CANCELLED, null);
+            }
+        });
+        
+        // Assert
+        assertTrue(bus.isClosed());
+        assertEquals(1, received.get());
+        assertEquals(0, bus.getCursor());
+    }
+}
\ No newline at end of file
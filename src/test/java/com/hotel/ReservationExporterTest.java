@@ -0,0 +1,231 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.events.*;
+import com.hotel.export.*;
+import com.hotel.readmodel.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+class ReservationExporterTest {
+    private static final LocalDate TODAY = LocalDate.now();
+    
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private ReservationEventBus bus;
+    private ReservationReadModel readModel;
+    private RoomType roomType;
+    private HowMany howMany;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotel = new Hotel("Inn \"Sea\", Bay");
+        hotelChain.setHotel(hotel);
+        Money cost = new Money(new BigDecimal("89.50"), Currency.getInstance("EUR"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        for (int i = 0; i < 50; i++) {
+            hotel.addRoom(new Room(String.valueOf(100 + i), roomType));
+        }
+        howMany = new HowMany(1);
+        bus = new ReservationEventBus(1024, new BlockingWaitStrategy());
+        hotelChain.setEventBus(bus);
+        readModel = ReservationReadModel.attach(hotelChain, bus, new BookingDate(TODAY), 60);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+    
+    private Reservation book(int firstDay, int lastDay) {
+        return hotelChain.makeReservation(roomType, new BookingDate(TODAY.plusDays(firstDay)),
+                                          new BookingDate(TODAY.plusDays(lastDay)), howMany);
+    }
+    
+    private String export(ReservationExporter exporter, ExportCall call) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        call.run(exporter, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+    
+    private interface ExportCall {
+        void run(ReservationExporter exporter, WritableByteChannel channel) throws IOException;
+    }
+    
+    @Test
+    void exportAll_Csv_ShouldWriteHeaderAndQuotedRows() throws IOException {
+        // Arrange
+        Reservation reservation = book(1, 3);
+        reservation.assignGuest(new Guest(new Name("Zoë", "O\"Neil"), new Address("1 St", "City", "12345", "Country")));
+        // The read model sees what events carry, so the guest change needs one of its own
+        bus.publish(ReservationEventType.MODIFIED, reservation);
+        bus.start();
+        bus.drain();
+        ReservationExporter exporter = new ReservationExporter(ExportFormat.CSV, 4096);
+        
+        // Act
+        String csv = export(exporter, (e, channel) -> e.exportAll(readModel.getSnapshot(), channel));
+        
+        // Assert
+        List<String> lines = csv.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("number,hotel,room_number,"));
+        assertEquals(reservation.getNumber() + ",\"Inn \"\"Sea\"\", Bay\"," + reservation.getRoom().getRoomNumber()
+            + ",SINGLE,89.50,EUR," + TODAY.plusDays(1) + "," + TODAY.plusDays(3) + ",3,BOOKED,"
+            + reservation.getGuest().getGuestId() + ",Zoë,\"O\"\"Neil\",1", lines.get(1));
+    }
+    
+    @Test
+    void exportAll_Json_ShouldEscapeValuesAndWriteNulls() throws IOException {
+        // Arrange
+        Reservation reservation = book(2, 2);
+        bus.start();
+        bus.drain();
+        ReservationExporter exporter = new ReservationExporter(ExportFormat.JSON, 4096);
+        
+        // Act
+        String json = export(exporter, (e, channel) -> e.exportAll(readModel.getSnapshot(), channel));
+        
+        // Assert
+        assertEquals("{\"number\":\"" + reservation.getNumber() + "\",\"hotel\":\"Inn \\\"Sea\\\", Bay\","
+            + "\"roomNumber\":\"" + reservation.getRoom().getRoomNumber() + "\",\"roomKind\":\"SINGLE\","
+            + "\"nightlyRate\":89.50,\"currency\":\"EUR\",\"startDate\":\"" + TODAY.plusDays(2) + "\","
+            + "\"endDate\":\"" + TODAY.plusDays(2) + "\",\"nights\":1,\"status\":\"BOOKED\",\"guestId\":null,"
+            + "\"guestFirstName\":null,\"guestLastName\":null,\"sequence\":0}\n", json);
+    }
+    
+    @Test
+    void exportStays_DateRange_ShouldWriteOverlappingStaysOnly() throws IOException {
+        // Arrange
+        Reservation early = book(1, 2);
+        Reservation late = book(10, 12);
+        bus.start();
+        bus.drain();
+        ReservationExporter exporter = new ReservationExporter(ExportFormat.CSV, 4096);
+        
+        // Act
+        ExportResult[] result = new ExportResult[1];
+        String csv = export(exporter, (e, channel) -> result[0] = e.exportStays(readModel.getSnapshot(),
+            new BookingDate(TODAY.plusDays(12)), new BookingDate(TODAY.plusDays(20)), channel));
+        
+        // Assert
+        assertEquals(1, result[0].rows());
+        assertEquals(csv.getBytes(StandardCharsets.UTF_8).length, result[0].bytes());
+        assertTrue(csv.contains(late.getNumber()));
+        assertFalse(csv.contains(early.getNumber()));
+    }
+    
+    @Test
+    void exportChangedSince_PreviousSequence_ShouldWriteOnlyChangedReservations() throws IOException {
+        // Arrange
+        Reservation kept = book(1, 2);
+        Reservation cancelled = book(3, 4);
+        bus.start();
+        bus.drain();
+        ReservationExporter exporter = new ReservationExporter(ExportFormat.JSON, 4096);
+        ExportResult[] full = new ExportResult[1];
+        export(exporter, (e, channel) -> full[0] = e.exportAll(readModel.getSnapshot(), channel));
+        
+        // Act
+        hotelChain.cancelReservation(cancelled.getNumber());
+        bus.drain();
+        ExportResult[] increment = new ExportResult[1];
+        String json = export(exporter, (e, channel) ->
+            increment[0] = e.exportChangedSince(readModel.getSnapshot(), full[0].sequence(), channel));
+        
+        // Assert
+        assertEquals(2, full[0].rows());
+        assertEquals(1, increment[0].rows());
+        assertTrue(json.contains("\"number\":\"" + cancelled.getNumber() + "\""));
+        assertTrue(json.contains("\"status\":\"CANCELLED\""));
+        assertFalse(json.contains(kept.getNumber()));
+        assertTrue(increment[0].sequence() > full[0].sequence());
+    }
+    
+    @Test
+    void exportAll_SmallBuffer_ShouldMatchLargeBufferOutput() throws IOException {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            book(1 + i % 5, 2 + i % 5);
+        }
+        bus.start();
+        bus.drain();
+        ReadModelSnapshot snapshot = readModel.getSnapshot();
+        
+        // Act
+        String small = export(new ReservationExporter(ExportFormat.CSV, 64), (e, channel) -> e.exportAll(snapshot, channel));
+        String large = export(new ReservationExporter(ExportFormat.CSV, 1 << 16), (e, channel) -> e.exportAll(snapshot, channel));
+        
+        // Assert
+        assertEquals(large, small);
+        assertEquals(21, small.lines().count());
+    }
+    
+    @Test
+    void exportAll_ManyRows_ShouldNotAllocatePerRow() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        
+        // Arrange - every room booked for 20 one-night stays
+        for (int night = 1; night <= 20; night++) {
+            for (int room = 0; room < 50; room++) {
+                book(night, night);
+            }
+        }
+        bus.start();
+        bus.drain();
+        ReadModelSnapshot snapshot = readModel.getSnapshot();
+        ReservationExporter exporter = new ReservationExporter(ExportFormat.JSON, 8192);
+        WritableByteChannel discard = new WritableByteChannel() {
+            public int write(ByteBuffer source) {
+                int written = source.remaining();
+                source.position(source.limit());
+                return written;
+            }
+            public boolean isOpen() { return true; }
+            public void close() { }
+        };
+        for (int i = 0; i < 20; i++) {
+            exporter.exportAll(snapshot, discard);
+        }
+        
+        // Act
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        ExportResult result = exporter.exportAll(snapshot, discard);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        
+        // Assert - a few iterators per export, nothing per row
+        assertEquals(1000, result.rows());
+        assertTrue(allocated < 16 * 1024, "export of 1000 rows allocated " + allocated + " bytes");
+    }
+    
+    @Test
+    void createExporter_TinyBuffer_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new ReservationExporter(ExportFormat.CSV, 16)
+        );
+        assertEquals("Buffer size must be at least 64 bytes", exception.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.events.*;
+import com.hotel.readmodel.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationReadModelTest {
+    private static final LocalDate TODAY = LocalDate.now();
+    
+    private HotelChain hotelChain;
+    private ReservationEventBus bus;
+    private RoomType roomType;
+    private HowMany howMany;
+    private BookingDate startDate;
+    private BookingDate endDate;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        hotel.addRoom(new Room("101", roomType));
+        hotel.addRoom(new Room("102", roomType));
+        howMany = new HowMany(1);
+        startDate = new BookingDate(TODAY.plusDays(1));
+        endDate = new BookingDate(TODAY.plusDays(3));
+        bus = new ReservationEventBus(64, new BlockingWaitStrategy());
+        hotelChain.setEventBus(bus);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+    
+    private ReservationReadModel attachAndStart() {
+        ReservationReadModel readModel = ReservationReadModel.attach(hotelChain, bus, new BookingDate(TODAY), 30);
+        bus.start();
+        return readModel;
+    }
+    
+    @Test
+    void makeReservation_AfterDrain_ShouldProjectReservationAndAvailability() {
+        // Arrange
+        ReservationReadModel readModel = attachAndStart();
+        
+        // Act
+        Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        bus.drain();
+        
+        // Assert
+        ReadModelSnapshot snapshot = readModel.getSnapshot();
+        ReservationProjection projection = snapshot.getReservation(reservation.getNumber());
+        assertNotNull(projection);
+        assertEquals("Test Hotel", projection.hotelName());
+        assertEquals(reservation.getRoom().getRoomNumber(), projection.roomNumber());
+        assertEquals(startDate, projection.startDate());
+        assertEquals(endDate, projection.endDate());
+        assertEquals(ReservationStatus.BOOKED, projection.status());
+        assertEquals(1, snapshot.availableRooms(roomType, startDate, endDate));
+        assertEquals(2, snapshot.availableRooms(roomType, new BookingDate(TODAY.plusDays(4)),
+                                                new BookingDate(TODAY.plusDays(5))));
+        assertEquals(0, readModel.getLagEvents());
+    }
+    
+    @Test
+    void cancelReservation_AfterDrain_ShouldReleaseNights() {
+        // Arrange
+        ReservationReadModel readModel = attachAndStart();
+        Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        
+        // Act
+        hotelChain.cancelReservation(reservation.getNumber());
+        bus.drain();
+        
+        // Assert
+        ReadModelSnapshot snapshot = readModel.getSnapshot();
+        assertEquals(ReservationStatus.CANCELLED, snapshot.getReservation(reservation.getNumber()).status());
+        assertEquals(2, snapshot.availableRooms(roomType, startDate, endDate));
+        assertArrayEquals(new int[30], snapshot.bookedNights(roomType));
+    }
+    
+    @Test
+    void getSnapshot_LaterEvents_ShouldLeaveEarlierSnapshotUnchanged() {
+        // Arrange
+        ReservationReadModel readModel = attachAndStart();
+        Reservation first = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        bus.drain();
+        ReadModelSnapshot before = readModel.getSnapshot();
+        
+        // Act
+        Reservation second = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        hotelChain.cancelReservation(first.getNumber());
+        bus.drain();
+        
+        // Assert
+        assertEquals(1, before.size());
+        assertEquals(ReservationStatus.BOOKED, before.getReservation(first.getNumber()).status());
+        assertNull(before.getReservation(second.getNumber()));
+        assertEquals(1, before.availableRooms(roomType, startDate, endDate));
+        ReadModelSnapshot after = readModel.getSnapshot();
+        assertEquals(2, after.size());
+        assertTrue(after.getSequence() > before.getSequence());
+        assertEquals(1, after.availableRooms(roomType, startDate, endDate));
+    }
+    
+    @Test
+    void attach_ExistingReservations_ShouldSeedSnapshot() {
+        // Arrange
+        hotelChain.setEventBus(null);
+        Reservation existing = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        hotelChain.setEventBus(bus);
+        
+        // Act
+        ReservationReadModel readModel = attachAndStart();
+        
+        // Assert
+        assertEquals(ReservationStatus.BOOKED, readModel.getSnapshot().getReservation(existing.getNumber()).status());
+        assertEquals(1, readModel.getSnapshot().availableRooms(roomType, startDate, endDate));
+    }
+    
+    @Test
+    void getSnapshot_ConcurrentWrites_ShouldStaySelfConsistent() throws InterruptedException {
+        // Arrange
+        ReservationReadModel readModel = attachAndStart();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> inconsistency = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                ReadModelSnapshot snapshot = readModel.getSnapshot();
+                long held = snapshot.getReservations().stream().filter(ReservationProjection::holdsInventory).count();
+                int[] booked = snapshot.bookedNights(roomType);
+                if (booked[1] != held) {
+                    inconsistency.set(held + " held but " + booked[1] + " booked at " + snapshot.getSequence());
+                }
+            }
+        });
+        reader.start();
+        
+        // Act - every stay covers night 1 of the window, so it counts what is held
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+            if (reservation != null) numbers.add(reservation.getNumber());
+            if (numbers.size() == 2) {
+                hotelChain.cancelReservation(numbers.remove(0));
+            }
+        }
+        bus.drain();
+        writing.set(false);
+        reader.join();
+        
+        // Assert
+        assertNull(inconsistency.get());
+        assertEquals(0, readModel.getLagEvents());
+        assertEquals(bus.getCursor(), readModel.getAppliedSequence());
+        assertTrue(readModel.getBatches() > 0);
+        assertTrue(readModel.getMaxLagNanos() >= readModel.getLastLagNanos());
+    }
+    
+    @Test
+    void availableRooms_StayOutsideWindow_ShouldThrowException() {
+        // Arrange
+        ReservationReadModel readModel = attachAndStart();
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> readModel.getSnapshot().availableRooms(roomType, startDate, new BookingDate(TODAY.plusDays(30)))
+        );
+        assertEquals("Stay is outside the read model window", exception.getMessage());
+    }
+    
+    @Test
+    void attach_StartedBus_ShouldThrowException() {
+        // Arrange
+        bus.start();
+        
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> ReservationReadModel.attach(hotelChain, bus, new BookingDate(TODAY), 30));
+    }
+    
+    @Test
+    void onEvent_ReservationChangedAfterPublish_ShouldProjectPublishedState() {
+        // Arrange - the bus is not consuming yet, so the event waits in its slot
+        ReservationReadModel readModel = ReservationReadModel.attach(hotelChain, bus, new BookingDate(TODAY), 30);
+        Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        hotelChain.setEventBus(null);
+        hotelChain.cancelReservation(reservation.getNumber());
+        
+        // Act
+        bus.start();
+        bus.drain();
+        
+        // Assert
+        ReadModelSnapshot snapshot = readModel.getSnapshot();
+        assertEquals(ReservationStatus.BOOKED, snapshot.getReservation(reservation.getNumber()).status());
+        assertEquals(1, snapshot.availableRooms(roomType, startDate, endDate));
+    }
+    
+    @Test
+    void getSnapshot_ManyReservations_ShouldFindEachAndKeepEarlierVersions() {
+        // Arrange
+        for (int i = 0; i < 500; i++) {
+            hotelChain.getHotel().addRoom(new Room("R" + i, roomType));
+        }
+        ReservationReadModel readModel = attachAndStart();
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            numbers.add(hotelChain.makeReservation(roomType, startDate, endDate, howMany).getNumber());
+        }
+        bus.drain();
+        ReadModelSnapshot before = readModel.getSnapshot();
+        
+        // Act
+        for (int i = 0; i < 250; i++) {
+            numbers.add(hotelChain.makeReservation(roomType, startDate, endDate, howMany).getNumber());
+        }
+        hotelChain.cancelReservation(numbers.get(0));
+        bus.drain();
+        
+        // Assert
+        ReadModelSnapshot after = readModel.getSnapshot();
+        assertEquals(250, before.size());
+        assertEquals(500, after.size());
+        assertEquals(500, after.getReservations().size());
+        for (int i = 0; i < numbers.size(); i++) {
+            assertEquals(numbers.get(i), after.getReservation(numbers.get(i)).number());
+            assertEquals(i < 250, before.getReservation(numbers.get(i)) != null);
+        }
+        assertEquals(ReservationStatus.BOOKED, before.getReservation(numbers.get(0)).status());
+        assertEquals(ReservationStatus.CANCELLED, after.getReservation(numbers.get(0)).status());
+        assertEquals(3, after.availableRooms(roomType, startDate, endDate));
+    }
+}
\ No newline at end of file
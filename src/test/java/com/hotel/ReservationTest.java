@@ -110,6 +110,55 @@ class ReservationTest {
         assertEquals("Guest cannot be null", exception.getMessage());
     }
     
+    @Test
+    void transitionTo_BookedToCheckedIn_ShouldApplyAndBumpVersion() {
+        // Arrange
+        Reservation reservation = new Reservation(
+            reservationDate, startDate, endDate, "RES123", room, roomType, howMany
+        );
+        
+        // Act
+        TransitionResult result = reservation.transitionTo(ReservationStatus.CHECKED_IN);
+        
+        // Assert
+        assertEquals(TransitionResult.APPLIED, result);
+        assertEquals(ReservationStatus.CHECKED_IN, reservation.getStatus());
+        assertEquals(1, reservation.getVersion());
+    }
+    
+    @Test
+    void transitionTo_CancelledToCheckedIn_ShouldBeRejected() {
+        // Arrange
+        Reservation reservation = new Reservation(
+            reservationDate, startDate, endDate, "RES123", room, roomType, howMany
+        );
+        reservation.transitionTo(ReservationStatus.CANCELLED);
+        
+        // Act
+        TransitionResult result = reservation.transitionTo(ReservationStatus.CHECKED_IN);
+        
+        // Assert
+        assertEquals(TransitionResult.REJECTED, result);
+        assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
+    }
+    
+    @Test
+    void transitionTo_StaleVersion_ShouldReportConflict() {
+        // Arrange
+        Reservation reservation = new Reservation(
+            reservationDate, startDate, endDate, "RES123", room, roomType, howMany
+        );
+        long observedVersion = reservation.getVersion();
+        reservation.transitionTo(ReservationStatus.CHECKED_IN);
+        
+        // Act
+        TransitionResult result = reservation.transitionTo(ReservationStatus.CHECKED_OUT, observedVersion);
+        
+        // Assert
+        assertEquals(TransitionResult.CONFLICT, result);
+        assertEquals(ReservationStatus.CHECKED_IN, reservation.getStatus());
+    }
+    
     @Test
     void reservation_IsStateHolder_NoBusinessLogic() {
         // Arrange
@@ -0,0 +1,140 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomAllocationTest {
+    private static final LocalDate BUSINESS_DAY = LocalDate.of(2026, 6, 1);
+    private static final int[] STAY_LENGTHS = {1, 1, 2, 2, 2, 3, 3, 4, 5, 7};
+    
+    private final RoomType roomType = new RoomType(RoomKind.SINGLE,
+        new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+    private final HowMany howMany = new HowMany(1);
+    
+    private HotelChain createChain(RoomAllocationStrategy strategy, int rooms) {
+        HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(BUSINESS_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        Hotel hotel = new Hotel("Test Hotel");
+        for (int i = 0; i < rooms; i++) {
+            hotel.addRoom(new Room(String.valueOf(101 + i), roomType));
+        }
+        hotelChain.setHotel(hotel);
+        hotelChain.setAllocationStrategy(strategy);
+        return hotelChain;
+    }
+    
+    private BookingDate day(int offset) {
+        return new BookingDate(BUSINESS_DAY.plusDays(offset));
+    }
+    
+    private Reservation book(HotelChain hotelChain, int from, int to) {
+        return hotelChain.makeReservation(roomType, day(from), day(to), howMany);
+    }
+    
+    @Test
+    void makeReservation_OverlappingStays_ShouldNeverShareARoom() {
+        // Arrange
+        HotelChain hotelChain = createChain(new FirstFitAllocator(), 2);
+        
+        // Act
+        Reservation first = book(hotelChain, 1, 3);
+        Reservation second = book(hotelChain, 2, 4);
+        
+        // Assert
+        assertNotSame(first.getRoom(), second.getRoom());
+    }
+    
+    @Test
+    void makeReservation_BestFit_ShouldPickTightestGap() {
+        // Arrange - room 101 is free on days 3-8, room 102 only on days 3-5
+        HotelChain hotelChain = createChain(new BestFitAllocator(), 2);
+        Reservation a1 = book(hotelChain, 1, 2);
+        Reservation b1 = book(hotelChain, 1, 2);
+        Reservation a2 = book(hotelChain, 9, 10);
+        Reservation b2 = book(hotelChain, 6, 10);
+        assertSame(a1.getRoom(), a2.getRoom());
+        assertSame(b1.getRoom(), b2.getRoom());
+        
+        // Act
+        Reservation stay = book(hotelChain, 3, 5);
+        
+        // Assert
+        assertSame(b1.getRoom(), stay.getRoom());
+    }
+    
+    @Test
+    void cancelReservation_BestFit_ShouldMergeFreedNightsBackIntoGap() {
+        // Arrange
+        HotelChain hotelChain = createChain(new BestFitAllocator(), 1);
+        book(hotelChain, 1, 2);
+        Reservation middle = book(hotelChain, 3, 5);
+        book(hotelChain, 6, 8);
+        
+        // Act
+        assertTrue(hotelChain.cancelReservation(middle.getNumber()));
+        Reservation replacement = book(hotelChain, 3, 5);
+        
+        // Assert
+        assertSame(middle.getRoom(), replacement.getRoom());
+        assertThrows(IllegalStateException.class, () -> book(hotelChain, 4, 4));
+    }
+    
+    @Test
+    void simulation_BestFit_ShouldSellMoreNightsThanFirstFit() {
+        long firstFitNights = 0;
+        long bestFitNights = 0;
+        for (long seed = 1; seed <= 5; seed++) {
+            firstFitNights += simulate(new FirstFitAllocator(), seed);
+            bestFitNights += simulate(new BestFitAllocator(), seed);
+        }
+        
+        assertTrue(bestFitNights > firstFitNights,
+            "Best fit sold " + bestFitNights + " nights, first fit " + firstFitNights);
+    }
+    
+    // Replays the same random booking stream and returns the nights sold
+    private long simulate(RoomAllocationStrategy strategy, long seed) {
+        HotelChain hotelChain = createChain(strategy, 20);
+        Random random = new Random(seed);
+        long nightsSold = 0;
+        for (int i = 0; i < 700; i++) {
+            int length = STAY_LENGTHS[random.nextInt(STAY_LENGTHS.length)];
+            int from = 1 + random.nextInt(60);
+            try {
+                book(hotelChain, from, from + length - 1);
+                nightsSold += length;
+            } catch (IllegalStateException rejected) {
+                // Sold out or no single room free for the whole stay
+            }
+        }
+        return nightsSold;
+    }
+    
+    @Test
+    void makeReservation_SharedBestFit_ShouldOnlyAllocateOwnHotelsRooms() {
+        // Arrange - one allocator serves two chains; the first chain's room is free exactly on days 3-5
+        BestFitAllocator allocator = new BestFitAllocator();
+        HotelChain first = createChain(allocator, 1);
+        HotelChain second = createChain(allocator, 1);
+        book(first, 1, 2);
+        book(first, 6, 10);
+        
+        // Act
+        Reservation stay = book(second, 3, 5);
+        
+        // Assert
+        assertSame(second.getHotel().getRooms().get(0), stay.getRoom());
+        assertSame(first.getHotel().getRooms().get(0), book(first, 3, 5).getRoom());
+    }
+}
\ No newline at end of file
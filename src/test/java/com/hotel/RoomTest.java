@@ -129,4 +129,44 @@ class RoomTest {
         assertFalse(room.isOccupied());
         assertNull(room.getOccupiedBy());
     }
+    
+    @Test
+    void tryOccupy_OccupiedRoom_ShouldReportConflict() {
+        // Arrange
+        Room room = new Room("101", roomType);
+        Guest guest1 = new Guest(new Name("John", "Doe"), 
+                                new Address("123 St", "City", "12345", "Country"));
+        Guest guest2 = new Guest(new Name("Jane", "Smith"), 
+                                new Address("456 St", "City", "12345", "Country"));
+        room.tryOccupy(guest1);
+        
+        // Act
+        TransitionResult result = room.tryOccupy(guest2);
+        
+        // Assert
+        assertEquals(TransitionResult.CONFLICT, result);
+        assertEquals(guest1, room.getOccupiedBy());
+        assertEquals(1, room.getVersion());
+    }
+    
+    @Test
+    void tryVacate_OtherGuest_ShouldReportConflict() {
+        // Arrange
+        Room room = new Room("101", roomType);
+        Guest guest1 = new Guest(new Name("John", "Doe"), 
+                                new Address("123 St", "City", "12345", "Country"));
+        Guest guest2 = new Guest(new Name("Jane", "Smith"), 
+                                new Address("456 St", "City", "12345", "Country"));
+        room.tryOccupy(guest1);
+        
+        // Act
+        TransitionResult wrongGuest = room.tryVacate(guest2);
+        TransitionResult rightGuest = room.tryVacate(guest1);
+        
+        // Assert
+        assertEquals(TransitionResult.CONFLICT, wrongGuest);
+        assertEquals(TransitionResult.APPLIED, rightGuest);
+        assertFalse(room.isOccupied());
+        assertEquals(2, room.getVersion());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,364 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import com.hotel.payments.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettlementPipelineTest {
+    private static final LocalDate BUSINESS_DAY = LocalDate.of(2026, 6, 3);
+    private static final CreditCardId CARD = new CreditCardId("1234567890123456", "12/25", "123");
+    private static final CreditCardId OTHER_CARD = new CreditCardId("9876543210987654", "01/27", "456");
+    
+    private HotelChain hotelChain;
+    private RoomType roomType;
+    private HowMany howMany;
+    private SettlementPipeline pipeline;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        hotelChain.setBusinessDateService(new BusinessDateService(
+            Clock.fixed(BUSINESS_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        roomType = new RoomType(RoomKind.SINGLE, new Money(BigDecimal.valueOf(100), Currency.getInstance("USD")));
+        hotel.addRoom(new Room("101", roomType));
+        hotel.addRoom(new Room("102", roomType));
+        hotel.addRoom(new Room("103", roomType));
+        howMany = new HowMany(1);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) pipeline.close();
+    }
+    
+    private BookingDate day(int offset) {
+        return new BookingDate(BUSINESS_DAY.plusDays(offset));
+    }
+    
+    private PaymentRequest request(String key) {
+        return new PaymentRequest(key, PaymentKind.AUTHORIZE, "RES_1", new ReservePayer(CARD),
+            new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+    }
+    
+    private static PaymentResult await(CompletableFuture<PaymentResult> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+    
+    // Waits for an answer the chain records on the payer once the gateway replies
+    private static PaymentResult awaitRecorded(Supplier<PaymentResult> recorded) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (recorded.get() == null && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return recorded.get();
+    }
+    
+    private Reservation checkedIn(CreditCardId card) {
+        Reservation reservation = hotelChain.makeReservation(roomType, day(0), day(0), howMany);
+        reservation.assignGuest(new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country")));
+        hotelChain.assignPayer(reservation.getNumber(), card);
+        hotelChain.checkInGuest(reservation.getNumber());
+        return reservation;
+    }
+    
+    @Test
+    void assignPayer_TwoReservations_ShouldLinkEachToItsOwnCard() {
+        // Arrange
+        Reservation first = hotelChain.makeReservation(roomType, day(1), day(2), howMany);
+        Reservation second = hotelChain.makeReservation(roomType, day(1), day(2), howMany);
+        
+        // Act
+        ReservePayer firstPayer = hotelChain.assignPayer(first.getNumber(), CARD);
+        ReservePayer secondPayer = hotelChain.assignPayer(second.getNumber(), OTHER_CARD);
+        
+        // Assert
+        assertSame(firstPayer, hotelChain.getPayer(first.getNumber()));
+        assertSame(secondPayer, hotelChain.getPayer(second.getNumber()));
+        assertEquals(OTHER_CARD, hotelChain.getPayer(second.getNumber()).getCreditCardDetails());
+        assertEquals(2, hotelChain.getPayerRegistry().size());
+        assertNull(hotelChain.getReservePayer());
+        assertNull(hotelChain.assignPayer("RES_0", CARD));
+    }
+    
+    @Test
+    void checkOutGuest_SlowGateway_ShouldNotWaitForCapture() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway(Duration.ofMillis(500));
+        pipeline = new SettlementPipeline(gateway, 10, 2, 3, Duration.ofMillis(5));
+        hotelChain.setSettlementPipeline(pipeline);
+        Reservation reservation = hotelChain.makeReservation(roomType, day(0), day(0), howMany);
+        reservation.assignGuest(new Guest(new Name("John", "Doe"), new Address("123 St", "City", "12345", "Country")));
+        ReservePayer payer = hotelChain.assignPayer(reservation.getNumber(), CARD);
+        hotelChain.checkInGuest(reservation.getNumber());
+        
+        // Act
+        long started = System.nanoTime();
+        boolean checkedOut = hotelChain.checkOutGuest(reservation.getNumber());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        
+        // Assert
+        assertTrue(checkedOut);
+        assertTrue(elapsedMillis < 250, "Check-out took " + elapsedMillis + " ms");
+        PaymentResult authorization = await(pipeline.resultOf("AUTH_" + reservation.getNumber()));
+        PaymentResult capture = awaitRecorded(payer::getCapture);
+        assertTrue(authorization.isApproved());
+        assertTrue(capture.isApproved());
+        assertEquals(PaymentKind.CAPTURE, capture.request().kind());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(capture.request().amount().amount()));
+    }
+    
+    @Test
+    void submit_ManyRequests_ShouldBatchWithinConcurrencyLimit() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway(Duration.ofMillis(20));
+        pipeline = new SettlementPipeline(gateway, 10, 2, 3, Duration.ofMillis(5));
+        
+        // Act
+        List<CompletableFuture<PaymentResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(pipeline.submit(request("AUTH_" + i)));
+        }
+        
+        // Assert
+        for (CompletableFuture<PaymentResult> future : futures) {
+            assertTrue(await(future).isApproved());
+        }
+        assertEquals(100, gateway.getCharges());
+        assertTrue(gateway.getBatches() <= 20, "Sent " + gateway.getBatches() + " batches");
+        assertTrue(gateway.getMaxActiveBatches() <= 2);
+    }
+    
+    @Test
+    void submit_GatewayOutage_ShouldRetryUntilApproved() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        gateway.failNextBatches(2);
+        pipeline = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5));
+        
+        // Act
+        PaymentResult result = await(pipeline.submit(request("AUTH_RETRY")));
+        
+        // Assert
+        assertEquals(PaymentStatus.APPROVED, result.status());
+        assertEquals(3, result.attempts());
+        assertEquals(2, pipeline.getRetries());
+        assertEquals(1, gateway.getCharges());
+    }
+    
+    @Test
+    void submit_AttemptsExhausted_ShouldFail() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        gateway.failNextBatches(5);
+        pipeline = new SettlementPipeline(gateway, 1, 1, 2, Duration.ofMillis(5));
+        
+        // Act
+        PaymentResult result = await(pipeline.submit(request("AUTH_DOWN")));
+        
+        // Assert
+        assertEquals(PaymentStatus.FAILED, result.status());
+        assertEquals(2, result.attempts());
+        assertEquals(0, gateway.getCharges());
+    }
+    
+    @Test
+    void submit_DeclinedCard_ShouldNotRetry() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        gateway.declineCard(CARD.cardNumber());
+        pipeline = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5));
+        
+        // Act
+        PaymentResult result = await(pipeline.submit(request("AUTH_DECLINED")));
+        
+        // Assert
+        assertEquals(PaymentStatus.DECLINED, result.status());
+        assertEquals(0, pipeline.getRetries());
+    }
+    
+    @Test
+    void submit_SameKeyTwice_ShouldChargeOnce() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        pipeline = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5));
+        
+        // Act
+        CompletableFuture<PaymentResult> first = pipeline.submit(request("CAPTURE_1"));
+        CompletableFuture<PaymentResult> second = pipeline.submit(request("CAPTURE_1"));
+        PaymentResult original = await(first);
+        try (SettlementPipeline restarted = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5))) {
+            PaymentResult resent = await(restarted.submit(request("CAPTURE_1")));
+            assertEquals(original.reference(), resent.reference());
+        }
+        
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, pipeline.getDuplicates());
+        assertEquals(1, gateway.getCharges());
+    }
+    
+    @Test
+    void close_QueuedRequests_ShouldSendThemBeforeStopping() throws Exception {
+        // Arrange - long linger and a large batch keep the request queued
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        SettlementPipeline lingering = new SettlementPipeline(gateway, 100, 1, 3, Duration.ofSeconds(10));
+        CompletableFuture<PaymentResult> future = lingering.submit(request("AUTH_QUEUED"));
+        assertEquals(1, lingering.queued());
+        
+        // Act
+        lingering.close();
+        
+        // Assert
+        assertTrue(await(future).isApproved());
+        assertEquals(0, lingering.queued());
+    }
+    
+    @Test
+    void submit_AfterFailure_ShouldSendKeyAgain() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        gateway.failNextBatches(2);
+        pipeline = new SettlementPipeline(gateway, 1, 1, 2, Duration.ofMillis(5));
+        assertEquals(PaymentStatus.FAILED, await(pipeline.submit(request("AUTH_AGAIN"))).status());
+        
+        // Act
+        PaymentResult retried = await(pipeline.submit(request("AUTH_AGAIN")));
+        
+        // Assert
+        assertEquals(PaymentStatus.APPROVED, retried.status());
+        assertEquals(0, pipeline.getDuplicates());
+        assertEquals(1, gateway.getCharges());
+    }
+    
+    @Test
+    void submit_SettledKeysOverLimit_ShouldForgetOldestButStillDeduplicateRecent() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        gateway.declineCard(OTHER_CARD.cardNumber());
+        pipeline = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5), 2, Duration.ofHours(1),
+            Clock.systemUTC());
+        
+        // Act
+        for (int i = 0; i < 5; i++) {
+            await(pipeline.submit(request("AUTH_" + i)));
+        }
+        PaymentRequest declined = new PaymentRequest("AUTH_DECLINED", PaymentKind.AUTHORIZE, "RES_2",
+            new ReservePayer(OTHER_CARD), new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+        await(pipeline.submit(declined));
+        PaymentResult again = await(pipeline.submit(declined));
+        
+        // Assert
+        assertEquals(2, pipeline.tracked());
+        assertNull(pipeline.resultOf("AUTH_0"));
+        assertEquals(PaymentStatus.DECLINED, again.status());
+        assertEquals(1, pipeline.getDuplicates());
+    }
+    
+    @Test
+    void flush_SettledKeyPastRetention_ShouldBeForgotten() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        pipeline = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5), 100, Duration.ofMillis(1),
+            Clock.systemUTC());
+        await(pipeline.submit(request("AUTH_OLD")));
+        TimeUnit.MILLISECONDS.sleep(5);
+        
+        // Act
+        pipeline.flush();
+        
+        // Assert
+        assertNull(pipeline.resultOf("AUTH_OLD"));
+        assertEquals(0, pipeline.tracked());
+    }
+    
+    @Test
+    void checkOutGuest_DeclinedAuthorization_ShouldNotCapture() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        gateway.declineCard(CARD.cardNumber());
+        pipeline = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5));
+        hotelChain.setSettlementPipeline(pipeline);
+        Reservation reservation = checkedIn(CARD);
+        ReservePayer payer = hotelChain.getPayer(reservation.getNumber());
+        
+        // Act
+        hotelChain.checkOutGuest(reservation.getNumber());
+        
+        // Assert
+        assertEquals(PaymentStatus.DECLINED, awaitRecorded(payer::getAuthorization).status());
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertNull(pipeline.resultOf("CAPTURE_" + reservation.getNumber()));
+        assertNull(payer.getCapture());
+        assertEquals(0, gateway.getCharges());
+    }
+    
+    @Test
+    void cancelReservation_AfterAuthorization_ShouldVoidHoldAndReleasePayer() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        pipeline = new SettlementPipeline(gateway, 1, 1, 3, Duration.ofMillis(5));
+        hotelChain.setSettlementPipeline(pipeline);
+        Reservation reservation = hotelChain.makeReservation(roomType, day(1), day(2), howMany);
+        ReservePayer payer = hotelChain.assignPayer(reservation.getNumber(), CARD);
+        assertTrue(awaitRecorded(payer::getAuthorization).isApproved());
+        
+        // Act
+        boolean cancelled = hotelChain.cancelReservation(reservation.getNumber());
+        
+        // Assert
+        assertTrue(cancelled);
+        PaymentResult voided = awaitRecorded(payer::getVoid);
+        assertTrue(voided.isApproved());
+        assertEquals(PaymentKind.VOID, voided.request().kind());
+        assertEquals(1, gateway.getVoids());
+        assertNull(pipeline.resultOf("CAPTURE_" + reservation.getNumber()));
+        assertNull(hotelChain.getPayer(reservation.getNumber()));
+        assertEquals(0, hotelChain.getPayerRegistry().size());
+    }
+    
+    @Test
+    void retryFailedCaptures_CaptureFailed_ShouldResendAndReleasePayer() throws Exception {
+        // Arrange
+        StubPaymentGateway gateway = new StubPaymentGateway();
+        pipeline = new SettlementPipeline(gateway, 1, 1, 1, Duration.ofMillis(5));
+        hotelChain.setSettlementPipeline(pipeline);
+        Reservation reservation = checkedIn(CARD);
+        ReservePayer payer = hotelChain.getPayer(reservation.getNumber());
+        assertTrue(awaitRecorded(payer::getAuthorization).isApproved());
+        gateway.failNextBatches(1);
+        hotelChain.checkOutGuest(reservation.getNumber());
+        assertEquals(PaymentStatus.FAILED, awaitRecorded(payer::getCapture).status());
+        
+        // Act
+        int retried = hotelChain.retryFailedCaptures();
+        
+        // Assert
+        assertEquals(1, retried);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (hotelChain.getPayerRegistry().size() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertTrue(payer.getCapture().isApproved());
+        assertEquals(0, hotelChain.getPayerRegistry().size());
+        assertEquals(2, gateway.getCharges());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateTransitionStressTest {
+    private static final int THREADS = 8;
+    
+    @Test
+    void roomTransitions_ConcurrentTerminals_ShouldLoseNoUpdates() throws Exception {
+        // Arrange
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        Room room = new Room("101", new RoomType(RoomKind.SINGLE, cost));
+        AtomicLong applied = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        
+        // Act - every terminal races to occupy and then vacate the same room
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Guest guest = new Guest(new Name("Guest", "No" + t),
+                                    new Address("1 St", "City", "12345", "Country"));
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    if (room.tryOccupy(guest) == TransitionResult.APPLIED) {
+                        applied.incrementAndGet();
+                        assertEquals(guest, room.getOccupiedBy());
+                        assertEquals(TransitionResult.APPLIED, room.tryVacate(guest));
+                        applied.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        // Assert - every applied transition is reflected in the version
+        assertTrue(applied.get() > 0);
+        assertEquals(applied.get(), room.getVersion());
+        assertFalse(room.isOccupied());
+    }
+    
+    @Test
+    void checkInGuest_ConcurrentTerminals_ShouldHaveExactlyOneWinner() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 200; round++) {
+                // Arrange
+                HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+                Hotel hotel = new Hotel("Test Hotel");
+                hotelChain.setHotel(hotel);
+                Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+                RoomType roomType = new RoomType(RoomKind.SINGLE, cost);
+                hotel.addRoom(new Room("101", roomType));
+                Reservation reservation = hotelChain.makeReservation(roomType,
+                    new BookingDate(LocalDate.now()), new BookingDate(LocalDate.now().plusDays(1)),
+                    new HowMany(1));
+                reservation.assignGuest(new Guest(new Name("John", "Doe"),
+                                                  new Address("1 St", "City", "12345", "Country")));
+                
+                AtomicInteger winners = new AtomicInteger();
+                AtomicInteger conflicts = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                
+                // Act
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        TransitionResult result = hotelChain.tryCheckInGuest(reservation.getNumber());
+                        if (result == TransitionResult.APPLIED) winners.incrementAndGet();
+                        if (result == TransitionResult.CONFLICT) conflicts.incrementAndGet();
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                
+                // Assert
+                assertEquals(1, winners.get());
+                assertEquals(THREADS - 1, conflicts.get());
+                assertEquals(ReservationStatus.CHECKED_IN, reservation.getStatus());
+                assertEquals(1, reservation.getVersion());
+                assertEquals(1, reservation.getRoom().getVersion());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void checkOutGuest_ConcurrentTerminals_ShouldHaveExactlyOneWinnerAndReleaseOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 200; round++) {
+                // Arrange
+                HotelChain hotelChain = new HotelChain(new Name("Test", "Chain"));
+                Hotel hotel = new Hotel("Test Hotel");
+                hotelChain.setHotel(hotel);
+                Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+                RoomType roomType = new RoomType(RoomKind.SINGLE, cost);
+                hotel.addRoom(new Room("101", roomType));
+                BookingDate startDate = new BookingDate(LocalDate.now());
+                BookingDate endDate = new BookingDate(LocalDate.now().plusDays(1));
+                Reservation reservation = hotelChain.makeReservation(roomType, startDate, endDate, new HowMany(1));
+                reservation.assignGuest(new Guest(new Name("John", "Doe"),
+                                                  new Address("1 St", "City", "12345", "Country")));
+                hotelChain.checkInGuest(reservation.getNumber());
+                hotelChain.getBusinessDateService().setBusinessDate(hotel, endDate);
+                
+                AtomicInteger winners = new AtomicInteger();
+                AtomicInteger losers = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                
+                // Act
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        TransitionResult result = hotelChain.tryCheckOutGuest(reservation.getNumber());
+                        if (result == TransitionResult.APPLIED) winners.incrementAndGet();
+                        if (result == TransitionResult.CONFLICT || result == TransitionResult.REJECTED) {
+                            losers.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                
+                // Assert
+                assertEquals(1, winners.get());
+                assertEquals(THREADS - 1, losers.get());
+                assertEquals(ReservationStatus.CHECKED_OUT, reservation.getStatus());
+                assertFalse(reservation.getRoom().isOccupied());
+                assertTrue(hotelChain.getAllocationStrategy().isFree(hotel, reservation.getRoom(), startDate, endDate));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.hotel;
+
+import com.hotel.domain.*;
+import com.hotel.domain.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistTest {
+    private HotelChain hotelChain;
+    private RoomType roomType;
+    private HowMany howMany;
+    private BookingDate startDate;
+    private BookingDate endDate;
+    
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain(new Name("Test", "Chain"));
+        Hotel hotel = new Hotel("Test Hotel");
+        hotelChain.setHotel(hotel);
+        
+        Money cost = new Money(BigDecimal.valueOf(100), Currency.getInstance("USD"));
+        roomType = new RoomType(RoomKind.SINGLE, cost);
+        hotel.addRoom(new Room("101", roomType));
+        
+        howMany = new HowMany(1);
+        startDate = new BookingDate(LocalDate.now().plusDays(1));
+        endDate = new BookingDate(LocalDate.now().plusDays(3));
+    }
+    
+    @Test
+    void joinWaitlist_ValidParameters_ShouldQueueEntry() {
+        // Act
+        WaitlistEntry entry = hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 0);
+        
+        // Assert
+        assertFalse(entry.isPromoted());
+        assertEquals(1, hotelChain.getWaitlist().size(roomType));
+    }
+    
+    @Test
+    void joinWaitlist_NullRoomType_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> hotelChain.joinWaitlist(null, startDate, endDate, howMany, 0)
+        );
+        assertEquals("Room type cannot be null", exception.getMessage());
+    }
+    
+    @Test
+    void cancelReservation_WithWaitingEntries_ShouldPromoteHighestPriority() {
+        // Arrange
+        Reservation original = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        WaitlistEntry low = hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 1);
+        WaitlistEntry high = hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 5);
+        
+        // Act
+        boolean cancelled = hotelChain.cancelReservation(original.getNumber());
+        
+        // Assert
+        assertTrue(cancelled);
+        assertTrue(high.isPromoted());
+        assertFalse(low.isPromoted());
+        assertEquals(1, hotelChain.getReservations().size());
+        assertEquals(high.getReservation(), hotelChain.getReservations().get(0));
+        assertEquals(1, hotelChain.getWaitlist().size(roomType));
+    }
+    
+    @Test
+    void cancelReservation_SamePriority_ShouldPromoteFirstCome() {
+        // Arrange
+        Reservation original = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        WaitlistEntry first = hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 2);
+        WaitlistEntry second = hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 2);
+        
+        // Act
+        hotelChain.cancelReservation(original.getNumber());
+        
+        // Assert
+        assertTrue(first.isPromoted());
+        assertFalse(second.isPromoted());
+    }
+    
+    @Test
+    void cancelReservation_WithListener_ShouldNotifyPromotion() {
+        // Arrange
+        List<WaitlistEntry> promoted = new ArrayList<>();
+        hotelChain.setWaitlistListener(promoted::add);
+        Reservation original = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        WaitlistEntry entry = hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 0);
+        
+        // Act
+        hotelChain.cancelReservation(original.getNumber());
+        
+        // Assert
+        assertEquals(List.of(entry), promoted);
+        assertNotEquals(original.getNumber(), entry.getReservation().getNumber());
+    }
+    
+    @Test
+    void cancelReservation_OtherRoomTypeWaiting_ShouldNotPromote() {
+        // Arrange
+        Money cost = new Money(BigDecimal.valueOf(150), Currency.getInstance("USD"));
+        RoomType doubleType = new RoomType(RoomKind.DOUBLE, cost);
+        Reservation original = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        WaitlistEntry entry = hotelChain.joinWaitlist(doubleType, startDate, endDate, howMany, 0);
+        
+        // Act
+        hotelChain.cancelReservation(original.getNumber());
+        
+        // Assert
+        assertFalse(entry.isPromoted());
+        assertEquals(1, hotelChain.getWaitlist().size(doubleType));
+    }
+    
+    @Test
+    void leaveWaitlist_QueuedEntry_ShouldNotBePromoted() {
+        // Arrange
+        Reservation original = hotelChain.makeReservation(roomType, startDate, endDate, howMany);
+        WaitlistEntry entry = hotelChain.joinWaitlist(roomType, startDate, endDate, howMany, 0);
+        
+        // Act
+        boolean removed = hotelChain.leaveWaitlist(entry);
+        hotelChain.cancelReservation(original.getNumber());
+        
+        // Assert
+        assertTrue(removed);
+        assertFalse(entry.isPromoted());
+        assertEquals(0, hotelChain.getWaitlist().size());
+    }
+    
+    @Test
+    void cancelReservation_BestEntryUnplaceable_ShouldPromoteNextEntry() {
+        // Arrange - two rooms whose free nights only add up for the long stay
+        hotelChain.getHotel().addRoom(new Room("102", roomType));
+        BookingDate day1 = new BookingDate(LocalDate.now().plusDays(1));
+        BookingDate day2 = new BookingDate(LocalDate.now().plusDays(2));
+        BookingDate day3 = new BookingDate(LocalDate.now().plusDays(3));
+        BookingDate day4 = new BookingDate(LocalDate.now().plusDays(4));
+        Reservation freed = hotelChain.makeReservation(roomType, day1, day2, howMany);
+        hotelChain.makeReservation(roomType, day1, day2, howMany);
+        hotelChain.makeReservation(roomType, day3, day4, howMany);
+        WaitlistEntry longStay = hotelChain.joinWaitlist(roomType, day1, day4, howMany, 5);
+        WaitlistEntry oneNight = hotelChain.joinWaitlist(roomType, day1, day1, howMany, 1);
+        
+        // Act
+        hotelChain.cancelReservation(freed.getNumber());
+        
+        // Assert
+        assertFalse(longStay.isPromoted());
+        assertTrue(oneNight.isPromoted());
+        assertEquals(1, hotelChain.getWaitlist().size(roomType));
+    }
+    
+    @Test
+    void pollBestMatch_EntryOutsideFreedNights_ShouldNotBeOffered() {
+        // Arrange
+        Waitlist waitlist = new Waitlist();
+        BookingDate late = new BookingDate(LocalDate.now().plusDays(10));
+        WaitlistEntry entry = new WaitlistEntry(roomType, late, late, howMany, 0, waitlist.nextSequence());
+        waitlist.add(entry);
+        
+        // Act
+        WaitlistEntry missed = waitlist.pollBestMatch(roomType, startDate.epochDay(), endDate.epochDay(), e -> true);
+        WaitlistEntry matched = waitlist.pollBestMatch(roomType, late.epochDay(), late.epochDay(), e -> true);
+        
+        // Assert
+        assertNull(missed);
+        assertSame(entry, matched);
+        assertEquals(0, waitlist.size());
+    }
+}
\ No newline at end of file